@@ -0,0 +1,183 @@
+package com.model.domain;
+
+import com.google.common.base.MoreObjects;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan of reading columns of {@link ReportTable} from data items of one class.
+ * <p>
+ * Getters of a class are found once and cached globally:
+ * declared fields of a class or read methods of the interface of a proxy class (@Repository projections).
+ * The plan maps every header alias name to a precompiled getter and a {@link CellConverter},
+ * so a row is read by a loop over the getters without reflection lookups
+ */
+public final class AccessorPlan {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, ColumnAccessor>> CLASS_ACCESSORS =
+        new ClassValue<Map<String, ColumnAccessor>>() {
+            @Override
+            protected Map<String, ColumnAccessor> computeValue(Class<?> type) {
+                return collectAccessors(type);
+            }
+        };
+
+    private final Class<?> type;
+    private final MethodHandle[] getters;
+    private final CellConverter[] cellConverters;
+
+    private AccessorPlan(Class<?> type, MethodHandle[] getters, CellConverter[] cellConverters) {
+        this.type = type;
+        this.getters = getters;
+        this.cellConverters = cellConverters;
+    }
+
+    /**
+     * Creates the plan of reading columns from data items of the class
+     *
+     * @param type       class of data items
+     * @param aliasNames column names, columns without a getter of the same name are empty
+     * @return plan
+     */
+    public static AccessorPlan create(Class<?> type, List<String> aliasNames) {
+        final Map<String, ColumnAccessor> accessors = CLASS_ACCESSORS.get(type);
+        final int columnCount = aliasNames.size();
+        final MethodHandle[] getters = new MethodHandle[columnCount];
+        final CellConverter[] cellConverters = new CellConverter[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            final ColumnAccessor accessor = accessors.get(aliasNames.get(i));
+            if (accessor != null) {
+                getters[i] = accessor.getter;
+                cellConverters[i] = accessor.cellConverter;
+            }
+        }
+        return new AccessorPlan(type, getters, cellConverters);
+    }
+
+    /**
+     * Reads the column value of the data item
+     *
+     * @param item   data item of the plan class
+     * @param column column index
+     * @return value or null if the column has no getter
+     * @throws Throwable if the getter fails
+     */
+    public Object getValue(Object item, int column) throws Throwable {
+        final MethodHandle getter = getters[column];
+        return getter != null ? (Object) getter.invokeExact(item) : null;
+    }
+
+    /**
+     * Converts the data item to a table row
+     *
+     * @param item data item of the plan class
+     * @return table row with a cell for every column
+     * @throws Throwable if a getter or a cell converter fails
+     */
+    public TableRow toTableRow(Object item) throws Throwable {
+        final TableRow tableRow = TableRow.create();
+        for (int i = 0; i < getters.length; i++) {
+            final MethodHandle getter = getters[i];
+            if (getter == null) {
+                tableRow.addPart(TableCell.create(""));
+                continue;
+            }
+            tableRow.addPart(cellConverters[i].convert((Object) getter.invokeExact(item)));
+        }
+        return tableRow;
+    }
+
+    public int getColumnCount() {
+        return getters.length;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("type", type)
+            .add("columnCount", getters.length)
+            .toString();
+    }
+
+    private static Map<String, ColumnAccessor> collectAccessors(Class<?> type) {
+        final Map<String, ColumnAccessor> accessors = new LinkedHashMap<>();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0) {
+                final Class<?> baseInterface = type.getInterfaces()[0];
+                for (final PropertyDescriptor pd : Introspector.getBeanInfo(baseInterface).getPropertyDescriptors()) {
+                    final Method readMethod = pd.getReadMethod();
+                    if (readMethod != null) {
+                        readMethod.setAccessible(true);
+                        accessors.put(
+                            pd.getName(),
+                            new ColumnAccessor(
+                                lookup.unreflect(readMethod).asType(GETTER_TYPE),
+                                CellConverter.forClass(pd.getPropertyType())
+                            )
+                        );
+                    }
+                }
+            } else {
+                for (final Field field : type.getDeclaredFields()) {
+                    final MethodHandle getter = unreflectGetter(lookup, field);
+                    if (getter != null) {
+                        accessors.put(field.getName(), new ColumnAccessor(getter, CellConverter.forClass(field.getType())));
+                    }
+                }
+            }
+        } catch (IntrospectionException | IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Can't read properties of class %s", type.getName()), e);
+        }
+        return Collections.unmodifiableMap(accessors);
+    }
+
+    /**
+     * Creates the getter of the field
+     *
+     * @param lookup lookup of getters
+     * @param field  declared field
+     * @return getter of type (Object)Object or null if the field isn't accessible, e.g. a field of a JDK class
+     * @throws IllegalAccessException if the getter can't be created
+     */
+    private static MethodHandle unreflectGetter(MethodHandles.Lookup lookup, Field field)
+        throws IllegalAccessException {
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        final MethodHandle getter = lookup.unreflectGetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            return MethodHandles.dropArguments(getter, 0, Object.class).asType(GETTER_TYPE);
+        }
+        return getter.asType(GETTER_TYPE);
+    }
+
+    /**
+     * Getter of a column and the converter of its values
+     */
+    private static final class ColumnAccessor {
+        private final MethodHandle getter;
+        private final CellConverter cellConverter;
+
+        ColumnAccessor(MethodHandle getter, CellConverter cellConverter) {
+            this.getter = getter;
+            this.cellConverter = cellConverter;
+        }
+    }
+}
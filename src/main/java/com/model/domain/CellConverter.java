@@ -0,0 +1,125 @@
+package com.model.domain;
+
+import com.model.utils.PictureUtils;
+
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Converter of column values of {@link ReportTable} and {@link com.model.domain.db.QueryTable} to table cells.
+ * <p>
+ * The converter is chosen once per column from the declared field type or the JDBC column type,
+ * so only columns, which can hold binary data, are probed for pictures
+ */
+public enum CellConverter {
+    /**
+     * Values are converted to text, e.g. strings, numbers, dates,
+     * numbers, booleans and dates are kept as typed values of the cells
+     */
+    TEXT {
+        @Override
+        public TableCell convert(Object value) {
+            final TableCell tableCell = TableCell.create(value != null ? String.valueOf(value) : "");
+            return isTypedValue(value) ? tableCell.setValue(value) : tableCell;
+        }
+    },
+    /**
+     * Binary values (byte[], {@link Blob}) are converted to pictures if they are pictures, other values to text
+     */
+    BINARY {
+        @Override
+        public TableCell convert(Object value) throws SQLException {
+            final byte[] data;
+            if (value instanceof byte[]) {
+                data = (byte[]) value;
+            } else if (value instanceof Blob) {
+                final Blob blob = (Blob) value;
+                data = blob.getBytes(1, (int) blob.length());
+            } else {
+                return TEXT.convert(value);
+            }
+            if (PictureUtils.getFormat(data) != null) {
+                return TableCell.create(data);
+            }
+            return TEXT.convert(value);
+        }
+    },
+    /**
+     * Column type doesn't tell the kind of values (Object, Serializable, JDBC OTHER),
+     * every value is checked whether it's binary
+     */
+    OBJECT {
+        @Override
+        public TableCell convert(Object value) throws SQLException {
+            if (value instanceof byte[] || value instanceof Blob) {
+                return BINARY.convert(value);
+            }
+            return TEXT.convert(value);
+        }
+    };
+
+    /**
+     * Converts the column value to a table cell
+     *
+     * @param value column value, may be null
+     * @return table cell
+     * @throws SQLException if a Blob can't be read
+     */
+    public abstract TableCell convert(Object value) throws SQLException;
+
+    /**
+     * Checks whether the value has a native cell type in spreadsheets
+     *
+     * @param value column value
+     * @return true for numbers, booleans, dates and date-times
+     */
+    public static boolean isTypedValue(Object value) {
+        return value instanceof Number
+            || value instanceof Boolean
+            || value instanceof LocalDate
+            || value instanceof LocalDateTime
+            || value instanceof Date && !(value instanceof Time);
+    }
+
+    /**
+     * Chooses the converter by the declared type of a field or a property
+     *
+     * @param type declared type
+     * @return converter
+     */
+    public static CellConverter forClass(Class<?> type) {
+        if (type == byte[].class || Blob.class.isAssignableFrom(type)) {
+            return BINARY;
+        }
+        if (type.isAssignableFrom(byte[].class)) {
+            return OBJECT;
+        }
+        return TEXT;
+    }
+
+    /**
+     * Chooses the converter by the JDBC column type
+     *
+     * @param sqlType {@link Types} constant
+     * @return converter
+     */
+    public static CellConverter forSqlType(int sqlType) {
+        switch (sqlType) {
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return BINARY;
+            case Types.OTHER:
+            case Types.JAVA_OBJECT:
+                return OBJECT;
+            default:
+                return TEXT;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.model.domain;
+
+import com.google.common.base.MoreObjects;
+import org.apache.commons.io.IOUtils;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.font.TextAttribute;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the embedded font resources, see {@link free_fonts} folder.
+ * Fonts and alphabets are read and parsed lazily on the first request and then kept for reuse,
+ * the shared registry {@link FontRegistry#getInstance()} loads them once per JVM.
+ * The registry is thread-safe, loaded fonts, attributes and locales are unmodifiable.
+ */
+public class FontRegistry {
+    private static final String FONTS_ALPHABETS = "alphabets";
+    private static final String FONTS_ALPHABETS_EXT = ".properties";
+    private static final String FONTS_LOCALE_REGEXP = "(.+)(?=(=))";
+
+    private static final String FONTS_LOCATION = "free_fonts/";
+    private static final String FONTS_EXT = ".ttf";
+    private static final ClassLoader loader = FontRegistry.class.getClassLoader();
+
+    private static final FontRegistry sharedRegistry = new FontRegistry();
+
+    /**
+     * Alphabets of locales by language tag
+     */
+    private final ConcurrentMap<String, String> alphabets = new ConcurrentHashMap<>();
+
+    private final ResourceBundleMessageSource alphabetSource = new ResourceBundleMessageSource();
+
+    /**
+     * Parsed fonts with their attributes by font file name
+     */
+    private Map<String, Map.Entry<Font, Map<TextAttribute, Object>>> fonts;
+
+    /**
+     * Raw font files by font file name
+     */
+    private Map<String, byte[]> fontBytes;
+
+    /**
+     * Language locales which have an alphabet
+     */
+    private Set<Locale> localeSet;
+
+    protected FontRegistry() {
+        alphabetSource.setBasename(FONTS_LOCATION + FONTS_ALPHABETS);
+        alphabetSource.setUseCodeAsDefaultMessage(true);
+        alphabetSource.setDefaultEncoding("UTF-8");
+    }
+
+    /**
+     * Creates a registry, which isn't shared with other font services
+     *
+     * @return FontRegistry
+     */
+    public static FontRegistry create() {
+        return new FontRegistry();
+    }
+
+    /**
+     * Returns the registry shared by all font services of the JVM
+     *
+     * @return FontRegistry
+     */
+    public static FontRegistry getInstance() {
+        return sharedRegistry;
+    }
+
+    /**
+     * Returns characters of the locale alphabet or the language tag itself if the alphabet is unknown
+     *
+     * @param locale language tag
+     * @return alphabet string
+     */
+    public String alphabet(String locale) {
+        return alphabets.computeIfAbsent(
+            locale,
+            tag -> alphabetSource.getMessage(tag, null, Locale.forLanguageTag(tag))
+        );
+    }
+
+    /**
+     * Returns locales read from the alphabets resource file
+     *
+     * @return unmodifiable set of locales
+     * @throws IllegalArgumentException if it can't open resource file
+     */
+    public synchronized Set<Locale> getLocaleSet() throws IllegalArgumentException {
+        if (localeSet == null) {
+            localeSet = Collections.unmodifiableSet(loadLocales());
+        }
+        return localeSet;
+    }
+
+    /**
+     * Returns fonts of the internal resources with their attributes,
+     * TextAttribute.FAMILY is the font class name taken from the file name, see {@link FontService#initializeFonts()}
+     *
+     * @return unmodifiable map (font_file, (font, its_attributes))
+     * @throws IOException              the font resource could not be read
+     * @throws FontFormatException      invalid font entry format
+     * @throws IllegalArgumentException the font resource is not {@code TRUETYPE_FONT} or {@code TYPE1_FONT}.
+     */
+    public synchronized Map<String, Map.Entry<Font, Map<TextAttribute, Object>>> getFonts()
+        throws FontFormatException, IOException, IllegalArgumentException {
+        if (fonts == null) {
+            loadFonts();
+        }
+        return fonts;
+    }
+
+    /**
+     * Returns a copy of the font file content
+     *
+     * @param fontName font file name
+     * @return font file bytes
+     * @throws IOException              the font resource could not be read
+     * @throws FontFormatException      invalid font entry format
+     * @throws IllegalArgumentException if there is no such font in resources
+     */
+    public byte[] getFontBytes(String fontName) throws FontFormatException, IOException, IllegalArgumentException {
+        getFonts();
+        final byte[] bytes = fontBytes.get(fontName);
+        if (bytes == null) {
+            throw new IllegalArgumentException(
+                String.format("Can't find font %s in resources", fontName)
+            );
+        }
+        return bytes.clone();
+    }
+
+    private Set<Locale> loadLocales() {
+        final Set<Locale> locales = new HashSet<>();
+        final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(loader);
+        final String alphabetProps = FONTS_LOCATION + FONTS_ALPHABETS + FONTS_ALPHABETS_EXT;
+        final Resource resource = resolver.getResource(alphabetProps);
+        try (InputStream is = resource.getInputStream()) {
+            final String text = IOUtils.toString(is, StandardCharsets.UTF_8);
+            final Pattern pattern = Pattern.compile(FONTS_LOCALE_REGEXP);
+            final Matcher matcher = pattern.matcher(text);
+            while (matcher.find()) {
+                locales.add(Locale.forLanguageTag(matcher.group()));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Can't read resource %s", alphabetProps), e);
+        }
+        return locales;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadFonts() throws FontFormatException, IOException {
+        final Map<String, Map.Entry<Font, Map<TextAttribute, Object>>> loadedFonts = new LinkedHashMap<>();
+        final Map<String, byte[]> loadedBytes = new HashMap<>();
+        final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(loader);
+        final Resource[] resources =
+            resolver.getResources(FONTS_LOCATION + "*" + FONTS_EXT);
+        for (final Resource fontRes : resources) {
+            final String fontName = fontRes.getFilename();
+            if (!StringUtils.hasText(fontName)) {
+                continue;
+            }
+            final String[] attrs = fontName.split("_");
+            if (attrs.length < 2) {
+                throw new IllegalStateException("Font name should contain font-family name imprisoned \"_\"");
+            }
+            final byte[] bytes;
+            try (InputStream fontStream = fontRes.getInputStream()) {
+                bytes = IOUtils.toByteArray(fontStream);
+            }
+            final Font font = Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(bytes));
+            final Map<TextAttribute, Object> attributeObjectMap = (Map<TextAttribute, Object>) font.getAttributes();
+            attributeObjectMap.replace(TextAttribute.FAMILY, attrs[1]);
+
+            loadedFonts.put(
+                fontName,
+                new AbstractMap.SimpleImmutableEntry<>(font, Collections.unmodifiableMap(attributeObjectMap))
+            );
+            loadedBytes.put(fontName, bytes);
+        }
+        fontBytes = loadedBytes;
+        fonts = Collections.unmodifiableMap(loadedFonts);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("fonts", fonts == null ? null : fonts.keySet())
+            .add("localeSet", localeSet)
+            .toString();
+    }
+}
@@ -6,22 +6,14 @@ import com.model.domain.style.FontFamilyStyle;
 import com.model.domain.style.TextStyle;
 import com.model.utils.MapBuilder;
 import com.model.utils.StringMetricUtils;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.support.ResourceBundleMessageSource;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.util.StringUtils;
 
 import java.awt.*;
 import java.awt.font.TextAttribute;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * The class contains basic methods for getting a font resource according to the specified parameters.
@@ -31,13 +23,6 @@ import java.util.regex.Pattern;
 
 public class FontService {
     private static final Logger log = LoggerFactory.getLogger(FontService.class);
-    private static final String FONTS_ALPHABETS = "alphabets";
-    private static final String FONTS_ALPHABETS_EXT = ".properties";
-    private static final String FONTS_LOCALE_REGEXP = "(.+)(?=(=))";
-
-    private static final String FONTS_LOCATION = "free_fonts/";
-    private static final String FONTS_EXT = ".ttf";
-    private static final ClassLoader loader = FontService.class.getClassLoader();
     private static final Map<FontFamilyStyle, String> fontFamilyPdfMap = new MapBuilder<FontFamilyStyle, String>()
         .put(FontFamilyStyle.SERIF, "Serif")
         .put(FontFamilyStyle.SANS_SERIF, "SansSerif")
@@ -59,6 +44,11 @@ public class FontService {
      */
     protected Set<Locale> localeSet = new HashSet<>();
 
+    /**
+     * Source of parsed fonts and alphabets, shared by all font services by default
+     */
+    protected FontRegistry fontRegistry = FontRegistry.getInstance();
+
     public static FontService create() {
         return new FontService();
     }
@@ -68,32 +58,16 @@ public class FontService {
     }
 
     public String alphabet(String locale) {
-        final ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
-        messageSource.setBasename(FONTS_LOCATION + FONTS_ALPHABETS);
-        messageSource.setUseCodeAsDefaultMessage(true);
-        messageSource.setDefaultEncoding("UTF-8");
-        return messageSource.getMessage(locale, null, Locale.forLanguageTag(locale));
+        return fontRegistry.alphabet(locale);
     }
 
     /**
-     * Reads available locales from resource file
+     * Reads available locales from {@link FontService#fontRegistry}
      *
      * @throws IllegalArgumentException if it can't open resource file
      */
     public void initializeLocales() throws IllegalArgumentException {
-        final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(loader);
-        final String alphabetProps = FONTS_LOCATION + FONTS_ALPHABETS + FONTS_ALPHABETS_EXT;
-        final Resource resource = resolver.getResource(alphabetProps);
-        try (InputStream is = resource.getInputStream()) {
-            final String text = IOUtils.toString(is, StandardCharsets.UTF_8);
-            final Pattern pattern = Pattern.compile(FONTS_LOCALE_REGEXP);
-            final Matcher matcher = pattern.matcher(text);
-            while (matcher.find()) {
-                localeSet.add(Locale.forLanguageTag(matcher.group()));
-            }
-        } catch (IOException e) {
-            throw new IllegalArgumentException(String.format("Can't read resource %s", alphabetProps), e);
-        }
+        localeSet.addAll(fontRegistry.getLocaleSet());
     }
 
     /**
@@ -101,67 +75,48 @@ public class FontService {
      * P.S.: since the TextAttribute.FAMILY property of the font file is the name of the font,
      * not the name of the font class as it should be (see.{@link TextAttribute#FAMILY}),
      * therefore the name of the font class is added to the .ttf file names of the resource
-     * imprisoned "_", which is stored in TextAttribute.FAMILY
+     * imprisoned "_", which is stored in TextAttribute.FAMILY.
+     * Fonts are parsed once by {@link FontService#fontRegistry} and shared between font services
      *
      * @return FontService
      * @throws IOException              the font resource could not be read
      * @throws FontFormatException      invalid font entry format
      * @throws IllegalArgumentException the font resource is not {@code TRUETYPE_FONT} or {@code TYPE1_FONT}.
      */
-    @SuppressWarnings("unchecked")
     public FontService initializeFonts() throws FontFormatException, IOException, IllegalArgumentException {
         initializeLocales();
-        final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(loader);
-        final Resource[] resources =
-            resolver.getResources(FONTS_LOCATION + "*" + FONTS_EXT);
-        for (final Resource fontRes : resources) {
-            try (InputStream fontStream = fontRes.getInputStream()) {
-                final Font font = Font.createFont(Font.TRUETYPE_FONT, fontStream);
-                final Map<TextAttribute, Object> attributeObjectMap = (Map<TextAttribute, Object>) font.getAttributes();
-                final String fontName = fontRes.getFilename();
-                if (!StringUtils.hasText(fontName)) {
-                    continue;
-                }
-                final String[] attrs = fontName.split("_");
-
-                if (attrs.length < 2) {
-                    throw new IllegalStateException("Font name should contain font-family name imprisoned \"_\"");
-                } else {
-                    attributeObjectMap.replace(TextAttribute.FAMILY, attrs[1]);
-                }
-
-                fonts.put(fontName, new AbstractMap.SimpleEntry<>(font, attributeObjectMap));
-            }
-        }
+        fonts.putAll(fontRegistry.getFonts());
         return this;
     }
 
+    /**
+     * Returns a copy of the font file content
+     *
+     * @param fontName font file name, key of {@link FontService#fonts}
+     * @return font file bytes
+     * @throws IOException              the font resource could not be read
+     * @throws FontFormatException      invalid font entry format
+     * @throws IllegalArgumentException if there is no such font in resources
+     */
+    public byte[] getFontBytes(String fontName) throws FontFormatException, IOException, IllegalArgumentException {
+        return fontRegistry.getFontBytes(fontName);
+    }
+
     public boolean checkAvailableFontsLocale(Locale locale) {
         final String tag = locale.toLanguageTag();
         return !alphabet(tag).equals(tag);
     }
 
     /**
-     * Returns one of embedded *.ttf fonts as a java.awt.Font, see {@link free_fonts} folder
-     * <p>
-     * Font styles (like Bold/Italic/Underline) can be obtained using software methods
-     * (for instance, see {@link com.itextpdf.layout.element.AbstractElement#setBold or setItalic or setUnderline})
-     * or directly from a stylized font-file.
-     * <p>
-     * If a stylized font-file is used, then you must specify the font-file name in
-     * TextStyle#fontNameResource and set {@link TextStyle.useTtfFontAttributes} to true
-     * and must not set the corresponding parameter(s) in {@link TextStyle},
-     * they will be taken from font-file automatically
+     * Returns the file name of one of embedded *.ttf fonts matching the text style,
+     * see {@link FontService#getFontResource(TextStyle, Locale)}
      *
      * @param textStyle The text style of the element for which the matching font is being searched
      * @param locale    provided to check: font glyphs can be displayed, and they can cover alphabet of locale
-     * @return {@link PdfFont}
-     * @throws FontFormatException invalid font entry format
-     * @throws IOException         error reading font resource
+     * @return font file name, key of {@link FontService#fonts}
+     * @throws IllegalArgumentException if there is no matching font or it can't display the locale alphabet
      */
-    @SuppressWarnings("unchecked")
-    public Font getFontResource(TextStyle textStyle, Locale locale) throws IOException, FontFormatException {
-//        log.info("Calling getFont() for present locale {}", locale);
+    public String getFontResourceName(TextStyle textStyle, Locale locale) throws IllegalArgumentException {
         final Boolean useTtfFontAttributes = textStyle.isUseTtfFontAttributes();
         final Optional<Map.Entry<String, Map.Entry<Font, Map<TextAttribute, Object>>>> fontFileWithAttributes =
             fonts
@@ -193,50 +148,66 @@ public class FontService {
         log.debug("Selected font with attributes {}", fontFileWithAttributes);
         if (fontFileWithAttributes.isPresent()) {
             final String fontName = fontFileWithAttributes.get().getKey();
-            final String fontPathName = FONTS_LOCATION + fontName;
-            try (InputStream fontStream = loader.getResourceAsStream(fontPathName)) {
-                if (fontStream == null) {
-                    throw new IllegalArgumentException(
-                        String.format("Font file \"%s\" can't be opened", fontPathName)
-                    );
-                }
-                checkCanDisplayFont(fontName, locale);
-                if (useTtfFontAttributes != null && useTtfFontAttributes) {
-                    return Font.createFont(Font.TRUETYPE_FONT, fontStream);
-                }
-                final Map<TextAttribute, Object> attr = new MapBuilder<TextAttribute, Object>()
-                    .put(TextAttribute.WEIGHT, TextAttribute.WEIGHT_REGULAR)
-                    .put(TextAttribute.POSTURE, TextAttribute.POSTURE_REGULAR)
-                    .put(TextAttribute.UNDERLINE, -1)
-                    .put(TextAttribute.SIZE, 12)
-                    .put(TextAttribute.FOREGROUND, Color.BLACK)
-                    .build();
-                if (Boolean.TRUE.equals(textStyle.isBold())) {
-                    attr.put(TextAttribute.WEIGHT, TextAttribute.WEIGHT_BOLD);
-                }
-                if (Boolean.TRUE.equals(textStyle.isItalic())) {
-                    attr.put(TextAttribute.POSTURE, TextAttribute.POSTURE_OBLIQUE);
-                }
-                if (textStyle.getUnderline() != null && textStyle.getUnderline() != 0) {
-                    attr.put(TextAttribute.UNDERLINE, TextAttribute.UNDERLINE_ON);
-                }
-                if (textStyle.getFontSize() != null) {
-                    attr.put(TextAttribute.SIZE, textStyle.getFontSize());
-                }
-                if (textStyle.getColor() != null) {
-                    attr.put(
-                        TextAttribute.FOREGROUND,
-                        Color.decode("0x" + textStyle.getColor().buildColorString())
-                    );
-                }
-                return Font.createFont(Font.TRUETYPE_FONT, fontStream).deriveFont(attr);
-            }
+            checkCanDisplayFont(fontName, locale);
+            return fontName;
         }
         throw new IllegalArgumentException(
             String.format("Can't find valid font with attributes: %s for locale %s", textStyle, locale)
         );
     }
 
+    /**
+     * Returns one of embedded *.ttf fonts as a java.awt.Font, see {@link free_fonts} folder
+     * <p>
+     * Font styles (like Bold/Italic/Underline) can be obtained using software methods
+     * (for instance, see {@link com.itextpdf.layout.element.AbstractElement#setBold or setItalic or setUnderline})
+     * or directly from a stylized font-file.
+     * <p>
+     * If a stylized font-file is used, then you must specify the font-file name in
+     * TextStyle#fontNameResource and set {@link TextStyle.useTtfFontAttributes} to true
+     * and must not set the corresponding parameter(s) in {@link TextStyle},
+     * they will be taken from font-file automatically
+     *
+     * @param textStyle The text style of the element for which the matching font is being searched
+     * @param locale    provided to check: font glyphs can be displayed, and they can cover alphabet of locale
+     * @return {@link PdfFont}
+     * @throws FontFormatException invalid font entry format
+     * @throws IOException         error reading font resource
+     */
+    public Font getFontResource(TextStyle textStyle, Locale locale) throws IOException, FontFormatException {
+        final Font font = fonts.get(getFontResourceName(textStyle, locale)).getKey();
+        final Boolean useTtfFontAttributes = textStyle.isUseTtfFontAttributes();
+        if (useTtfFontAttributes != null && useTtfFontAttributes) {
+            return font;
+        }
+        final Map<TextAttribute, Object> attr = new MapBuilder<TextAttribute, Object>()
+            .put(TextAttribute.WEIGHT, TextAttribute.WEIGHT_REGULAR)
+            .put(TextAttribute.POSTURE, TextAttribute.POSTURE_REGULAR)
+            .put(TextAttribute.UNDERLINE, -1)
+            .put(TextAttribute.SIZE, 12)
+            .put(TextAttribute.FOREGROUND, Color.BLACK)
+            .build();
+        if (Boolean.TRUE.equals(textStyle.isBold())) {
+            attr.put(TextAttribute.WEIGHT, TextAttribute.WEIGHT_BOLD);
+        }
+        if (Boolean.TRUE.equals(textStyle.isItalic())) {
+            attr.put(TextAttribute.POSTURE, TextAttribute.POSTURE_OBLIQUE);
+        }
+        if (textStyle.getUnderline() != null && textStyle.getUnderline() != 0) {
+            attr.put(TextAttribute.UNDERLINE, TextAttribute.UNDERLINE_ON);
+        }
+        if (textStyle.getFontSize() != null) {
+            attr.put(TextAttribute.SIZE, textStyle.getFontSize());
+        }
+        if (textStyle.getColor() != null) {
+            attr.put(
+                TextAttribute.FOREGROUND,
+                Color.decode("0x" + textStyle.getColor().buildColorString())
+            );
+        }
+        return font.deriveFont(attr);
+    }
+
     /**
      * Returns one of embedded *.ttf fonts as a java.awt.Font, see {@link free_fonts} folder
      * based on TextStyle
@@ -363,6 +334,7 @@ public class FontService {
         return MoreObjects.toStringHelper(this)
             .add("fonts", fonts)
             .add("localeSet", localeSet)
+            .add("fontRegistry", fontRegistry)
             .toString();
     }
 
@@ -378,4 +350,13 @@ public class FontService {
         this.localeSet = localeSet;
         return this;
     }
+
+    public FontRegistry getFontRegistry() {
+        return fontRegistry;
+    }
+
+    public FontService setFontRegistry(FontRegistry fontRegistry) {
+        this.fontRegistry = fontRegistry;
+        return this;
+    }
 }
@@ -5,8 +5,6 @@ import com.model.domain.core.PictureItem;
 import com.model.domain.style.constant.PictureFormat;
 import com.model.formatter.FormatterVisitor;
 
-import javax.imageio.ImageIO;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 /**
@@ -33,26 +31,32 @@ public class Picture extends PictureItem {
     }
 
     /**
-     * @return picture height in pixels
+     * @return picture height in pixels, it's read from the picture header once
      * @throws IOException if an error occurs during picture data reading
      */
     public int getHeight() throws IOException {
         return data == null
             ? 0
-            : ImageIO.read(new ByteArrayInputStream(data)).getHeight();
+            : getPictureMetadata().getHeight();
     }
 
     /**
-     * @return picture width in pixels
+     * @return picture width in pixels, it's read from the picture header once
      * @throws IOException if an error occurs during picture data reading
      */
     public int getWidth() throws IOException {
         return data == null
             ? 0
-            : ImageIO.read(new ByteArrayInputStream(data)).getWidth();
+            : getPictureMetadata().getWidth();
     }
 
+    /**
+     * @return picture format, if it isn't set, the format is detected from the picture data
+     */
     public PictureFormat getFormat() {
+        if (format == null && data != null) {
+            return getPictureMetadata().getFormat();
+        }
         return format;
     }
 
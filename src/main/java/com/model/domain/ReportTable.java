@@ -1,27 +1,28 @@
 package com.model.domain;
 
 import com.google.common.base.MoreObjects;
-import com.model.domain.style.constant.PictureFormat;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.model.formatter.FormatterVisitor;
-import com.model.utils.PictureUtils;
-import org.springframework.beans.ConfigurablePropertyAccessor;
-import org.springframework.beans.PropertyAccessorFactory;
 
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Class for mapping custom items {@link ReportTable#dataItems} to an intermediate representation of a table,
@@ -29,17 +30,44 @@ import java.util.stream.Collectors;
  * if {@link ReportTable#isTableHeaderRowFromData} is set:
  * TableHeaderRow is formed from {@link ReportTable#dataItems} data
  * <p>
+ * if the items are given by a data source (Stream, Iterator or Spliterator):
+ * the source is consumed once, lazily, and every item is converted to a row while the table is visited,
+ * so rows are not kept in the table
  */
 
 public class ReportTable extends Table {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
 
     protected boolean isTableHeaderRowFromData;
+
+    /**
+     * Rows are converted from data items on {@link ReportTable#forkJoinPool} and visited in the original order
+     */
+    protected boolean isParallel;
+
+    /**
+     * Pool of parallel conversion, the common pool if it isn't set
+     */
+    protected ForkJoinPool forkJoinPool;
+
+    /**
+     * Number of items of a data source converted in parallel before their rows are visited
+     */
+    protected int chunkSize = DEFAULT_CHUNK_SIZE;
+
     /**
      * List(T) T or class instance with public fields
      * or interface @Repository methods (proxy class)
      */
     private List<?> dataItems;
 
+    /**
+     * Items consumed once while the table is visited
+     */
+    private Iterator<?> dataSource;
+
+    private boolean isDataSourceConsumed;
+
     public static ReportTable create() {
         return new ReportTable();
     }
@@ -50,76 +78,112 @@ public class ReportTable extends Table {
 
     @Override
     public ReportTable accept(FormatterVisitor visitor) throws Throwable {
+        if (dataSource != null || isDataSourceConsumed) {
+            acceptDataSource(visitor);
+            return this;
+        }
         if (dataItems != null) {
-            final List<String> tableHeaderAliasNames = new ArrayList<>();
             final Optional<?> optItem = dataItems.stream().filter(Objects::nonNull).findFirst();
             if (isTableHeaderRowFromData) {
                 tableHeaderRow = generateTableHeaderRow(optItem);
             }
-            getTableHeaderRow().ifPresent(
-                thr -> thr
-                    .getParts()
-                    .forEach(
-                        hc -> tableHeaderAliasNames.add(hc.getAliasName())
-                    )
-            );
             if (optItem.isPresent()) {
-                final Class<?> actualClass = optItem.get().getClass();
-                for (final Object docItem : dataItems.stream().filter(Objects::nonNull).collect(Collectors.toList())) {
-                    final TableRow tr = TableRow.create();
-                    if (Proxy.isProxyClass(actualClass) && actualClass.getInterfaces().length > 0) {
-                        final Class<?> baseInterface = actualClass.getInterfaces()[0];
-                        final BeanInfo info = Introspector.getBeanInfo(baseInterface);
-                        final Map<String, Method> namesMethods =
-                            Arrays.stream(info.getPropertyDescriptors())
-                                .collect(
-                                    Collectors.toMap(
-                                        PropertyDescriptor::getName,
-                                        PropertyDescriptor::getReadMethod
-                                    )
-                                );
-                        for (final String name : tableHeaderAliasNames) {
-                            if (namesMethods.containsKey(name) || isTableHeaderRowFromData) {
-                                final Object value = namesMethods.get(name).invoke(docItem);
-                                final PictureFormat pictureFormat = PictureUtils.getFormat(value);
-                                if (pictureFormat != null) {
-                                    tr.addPart(TableCell.create(PictureUtils.serializePicture(value)));
-                                } else {
-                                    tr.addPart(TableCell.create(value != null ? value.toString() : ""));
-                                }
-                            } else {
-                                tr.addPart(TableCell.create(""));
-                            }
-                        }
-                    } else {
-                        final ConfigurablePropertyAccessor propAcc =
-                            PropertyAccessorFactory.forDirectFieldAccess(docItem);
-                        final List<String> fieldNames =
-                            Arrays.stream(actualClass.getDeclaredFields())
-                                .map(Field::getName)
-                                .collect(Collectors.toList());
-                        for (final String name : tableHeaderAliasNames) {
-                            if (fieldNames.contains(name) || isTableHeaderRowFromData) {
-                                final Object value = propAcc.getPropertyValue(name);
-                                final PictureFormat pictureFormat = PictureUtils.getFormat(value);
-                                if (pictureFormat != null) {
-                                    tr.addPart(TableCell.create(PictureUtils.serializePicture(value)));
-                                } else {
-                                    tr.addPart(TableCell.create(value != null ? value.toString() : ""));
-                                }
-                            } else {
-                                tr.addPart(TableCell.create(""));
-                            }
-                        }
-                    }
-                    super.addPart(tr);
-                }
+                addDataRows(optItem.get().getClass(), getAliasNames());
             }
         }
         super.accept(visitor);
         return this;
     }
 
+    private void acceptDataSource(FormatterVisitor visitor) throws Throwable {
+        if (isDataSourceConsumed) {
+            throw new IllegalStateException(String.format("Data source of table %s is already consumed", this));
+        }
+        isDataSourceConsumed = true;
+        final PeekingIterator<?> items = Iterators.peekingIterator(Iterators.filter(dataSource, Objects::nonNull));
+        dataSource = null;
+        final Optional<?> optItem = items.hasNext() ? Optional.of(items.peek()) : Optional.empty();
+        if (isTableHeaderRowFromData) {
+            tableHeaderRow = generateTableHeaderRow(optItem);
+        }
+        if (!optItem.isPresent()) {
+            acceptStreamedRows(visitor, Collections.emptyIterator());
+            return;
+        }
+        final AccessorPlan accessorPlan = AccessorPlan.create(optItem.get().getClass(), getAliasNames());
+        if (isParallel) {
+            final Iterator<? extends List<?>> chunks = Iterators.partition(items, chunkSize);
+            acceptStreamedRows(
+                visitor,
+                Iterators.concat(Iterators.transform(chunks, chunk -> toTableRows(accessorPlan, chunk).iterator()))
+            );
+        } else {
+            acceptStreamedRows(visitor, Iterators.transform(items, item -> toTableRow(accessorPlan, item)));
+        }
+    }
+
+    /**
+     * Converts the items to table rows on the fork-join pool,
+     * rows are returned in the order of the items
+     *
+     * @param accessorPlan plan of reading the items
+     * @param items        non-null items
+     * @return rows of the items
+     */
+    private List<TableRow> toTableRows(AccessorPlan accessorPlan, List<?> items) {
+        final ForkJoinPool pool = forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+        return pool
+            .submit(() -> items.parallelStream().map(item -> toTableRow(accessorPlan, item)).collect(Collectors.toList()))
+            .join();
+    }
+
+    private List<String> getAliasNames() {
+        final List<String> tableHeaderAliasNames = new ArrayList<>();
+        getTableHeaderRow().ifPresent(
+            thr -> thr
+                .getParts()
+                .forEach(
+                    hc -> tableHeaderAliasNames.add(hc.getAliasName())
+                )
+        );
+        return tableHeaderAliasNames;
+    }
+
+    private static TableRow toTableRow(AccessorPlan accessorPlan, Object item) {
+        try {
+            return accessorPlan.toTableRow(item);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) { // NOPMD - getters of data items may throw any Throwable
+            throw new IllegalStateException(String.format("Can't read data item %s", item), t);
+        }
+    }
+
+    /**
+     * Converts data items to table rows by the {@link AccessorPlan} of their class,
+     * getters and cell converters of the columns are found once, so every row is read by precompiled getters.
+     * In parallel mode rows are converted on the fork-join pool and added in the order of the items
+     *
+     * @param actualClass           class of the data items
+     * @param tableHeaderAliasNames column names
+     * @throws Throwable if a property can't be read
+     */
+    private void addDataRows(Class<?> actualClass, List<String> tableHeaderAliasNames) throws Throwable {
+        final AccessorPlan accessorPlan = AccessorPlan.create(actualClass, tableHeaderAliasNames);
+        final List<TableRow> rows;
+        if (isParallel) {
+            rows = toTableRows(accessorPlan, dataItems.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+        } else {
+            rows = new ArrayList<>(dataItems.size());
+            for (final Object docItem : dataItems) {
+                if (docItem != null) {
+                    rows.add(accessorPlan.toTableRow(docItem));
+                }
+            }
+        }
+        super.addParts(rows.toArray(new TableRow[0]));
+    }
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     private TableHeaderRow generateTableHeaderRow(Optional<?> optItem) throws IntrospectionException {
         if (optItem.isPresent()) {
@@ -155,15 +219,58 @@ public class ReportTable extends Table {
 
     public <T> ReportTable addDataList(List<T> docItems) {
         this.dataItems = docItems;
+        this.dataSource = null;
+        this.isStreaming = false;
+        return this;
+    }
+
+    /**
+     * Sets the items, which are consumed once while the table is visited,
+     * e.g. an iterator over a repository cursor
+     *
+     * @param docItems items
+     * @param <T>      type of the items
+     * @return this table
+     */
+    public <T> ReportTable addDataSource(Iterator<T> docItems) {
+        this.dataSource = docItems;
+        this.dataItems = null;
+        this.isStreaming = true;
+        this.isDataSourceConsumed = false;
         return this;
     }
 
+    /**
+     * Sets the items, which are consumed once while the table is visited,
+     * e.g. Stream(T) of a Spring Data query. The caller closes the stream after the document is formatted
+     *
+     * @param docItems items
+     * @param <T>      type of the items
+     * @return this table
+     */
+    public <T> ReportTable addDataSource(Stream<T> docItems) {
+        return addDataSource(docItems.iterator());
+    }
+
+    /**
+     * Sets the items, which are consumed once while the table is visited
+     *
+     * @param docItems items
+     * @param <T>      type of the items
+     * @return this table
+     */
+    public <T> ReportTable addDataSource(Spliterator<T> docItems) {
+        return addDataSource(Spliterators.iterator(docItems));
+    }
+
     @Override
     public String toString() {
         return
             MoreObjects.toStringHelper(this)
                 .add("isTableHeaderRowFromData", isTableHeaderRowFromData)
                 .add("dataItems", dataItems)
+                .add("isStreaming", isStreaming)
+                .add("isParallel", isParallel)
                 .toString();
     }
 
@@ -171,6 +278,43 @@ public class ReportTable extends Table {
         return dataItems;
     }
 
+    public boolean isParallel() {
+        return isParallel;
+    }
+
+    /**
+     * Sets the parallel conversion of data items to rows,
+     * rows are visited in the order of the items
+     *
+     * @param isParallel true to convert rows in parallel
+     * @return this table
+     */
+    public ReportTable setParallel(boolean isParallel) {
+        this.isParallel = isParallel;
+        return this;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    public ReportTable setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public ReportTable setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format("Chunk size must be positive: %d", chunkSize));
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
     public boolean isTableHeaderRowFromData() {
         return isTableHeaderRowFromData;
     }
@@ -1,12 +1,14 @@
 package com.model.domain;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.Iterators;
 import com.model.domain.core.CompositionPart;
 import com.model.domain.style.TextStyle;
 import com.model.formatter.FormatterVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -41,6 +43,16 @@ public class Table extends CompositionPart<Table, TableRow> {
      */
     protected long rowCount;
 
+    /**
+     * Rows are produced while the table is visited and are not retained by it
+     */
+    protected boolean isStreaming;
+
+    /**
+     * Rows produced while the table is visited in streaming mode
+     */
+    private Iterator<TableRow> streamedRows;
+
     public static Table create(TableHeaderRow tableHeaderRow) {
         final Table table = new Table();
         table.setTableHeaderRow(tableHeaderRow);
@@ -58,6 +70,50 @@ public class Table extends CompositionPart<Table, TableRow> {
         return this;
     }
 
+    /**
+     * Visits the table with rows produced by the iterator,
+     * rows are attached to the table one at a time while the visitor iterates {@link Table#getParts()}
+     * and are not retained by the table
+     *
+     * @param visitor visitor
+     * @param rows    rows of the table
+     * @throws Throwable if the visitor fails
+     */
+    protected void acceptStreamedRows(FormatterVisitor visitor, Iterator<TableRow> rows) throws Throwable {
+        rowCount = 0;
+        columnCount = tableHeaderRow != null ? tableHeaderRow.getCellCount() : 0;
+        streamedRows = rows;
+        try {
+            visitor.visitTable(this);
+            log.debug("acceptStreamedRows: called on table {}", this);
+        } finally {
+            streamedRows = null;
+        }
+    }
+
+    /**
+     * Returns the rows produced while the table is visited in streaming mode,
+     * otherwise the materialized rows
+     *
+     * @return rows of the table
+     */
+    @Override
+    public Iterable<TableRow> getParts() {
+        if (streamedRows == null) {
+            return super.getParts();
+        }
+        final Iterator<TableRow> rows = streamedRows;
+        return () -> Iterators.transform(rows, this::attachStreamedRow);
+    }
+
+    private TableRow attachStreamedRow(TableRow tableRow) {
+        tableRow.setParentObject(this);
+        tableRow.setRowIndex(rowCount);
+        rowCount++;
+        columnCount = Long.max(columnCount, tableRow.getCellCount());
+        return tableRow;
+    }
+
     @Override
     public Table addPart(TableRow docItem) {
         docItem.setRowIndex(rowCount);
@@ -102,6 +158,10 @@ public class Table extends CompositionPart<Table, TableRow> {
         return this;
     }
 
+    public boolean isStreaming() {
+        return isStreaming;
+    }
+
     public String getLabel() {
         return label;
     }
@@ -9,6 +9,7 @@ import com.model.formatter.FormatterVisitor;
 /**
  * Table cell,
  * contains data in text form,
+ * optionally the typed value the text was made of (number, boolean, date),
  * rowIndex and columnIndex
  */
 public class TableCell extends DataItem {
@@ -20,6 +21,12 @@ public class TableCell extends DataItem {
      * Text data
      */
     protected String text;
+    /**
+     * Typed value of the text: {@link Number}, {@link Boolean}, {@link java.util.Date},
+     * {@link java.time.LocalDate} or {@link java.time.LocalDateTime},
+     * formatters, which have native cell types (e.g. Excel), write it instead of the text
+     */
+    protected Object value;
     /**
      * Picture raw data
      */
@@ -55,6 +62,21 @@ public class TableCell extends DataItem {
         return text;
     }
 
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the typed value of the text, the text is kept for formatters without native cell types
+     *
+     * @param value number, boolean or date, null if the cell is a text only
+     * @return this cell
+     */
+    public TableCell setValue(Object value) {
+        this.value = value;
+        return this;
+    }
+
     @Override
     public byte[] getData() {
         return data;
@@ -64,6 +86,7 @@ public class TableCell extends DataItem {
     @SuppressWarnings("unchecked")
     public TableCell setText(String text) {
         this.text = text;
+        this.value = null;
         this.clazz = TextItem.class;
         return this;
     }
@@ -94,6 +117,7 @@ public class TableCell extends DataItem {
             .add("rowIndex", rowIndex)
             .add("columnIndex", columnIndex)
             .add("text", text)
+            .add("value", value)
             .add("data", data)
             .add("super", super.toString())
             .toString();
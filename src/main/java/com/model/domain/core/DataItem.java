@@ -1,5 +1,6 @@
 package com.model.domain.core;
 
+import com.model.utils.PictureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,6 +11,11 @@ public abstract class DataItem extends DocumentItem {
 
     private static final Logger log = LoggerFactory.getLogger(DataItem.class);
     private final String superClassName = getClass().getGenericSuperclass().getTypeName();
+    /**
+     * Metadata of the picture data and the data it was read from
+     */
+    private PictureMetadata pictureMetadata;
+    private byte[] pictureMetadataData;
 
     /**
      * Returns string if item is a text
@@ -32,4 +38,22 @@ public abstract class DataItem extends DocumentItem {
     }
 
     public abstract boolean isDataInheritedFrom(Class<?> type);
+
+    /**
+     * Returns metadata of the picture data, it's read from the header bytes once
+     * and is read again only if other data is set
+     *
+     * @return picture metadata or null if there is no data
+     */
+    public PictureMetadata getPictureMetadata() {
+        final byte[] data = getData();
+        if (data == null) {
+            return null;
+        }
+        if (pictureMetadataData != data) { // NOPMD - the data array is compared by identity, not by contents
+            pictureMetadata = PictureUtils.readMetadata(data);
+            pictureMetadataData = data;
+        }
+        return pictureMetadata;
+    }
 }
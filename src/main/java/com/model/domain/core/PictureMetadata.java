@@ -0,0 +1,73 @@
+package com.model.domain.core;
+
+import com.google.common.base.MoreObjects;
+import com.model.domain.style.constant.PictureFormat;
+
+/**
+ * Picture metadata read from the header bytes of the picture without decoding it:
+ * format, width and height in pixels (logical units of vector formats) and resolution in dots per inch.
+ * Resolution is 0 if the picture doesn't define it
+ */
+public class PictureMetadata {
+    protected final PictureFormat format;
+    protected final int width;
+    protected final int height;
+    protected final double horizontalDpi;
+    protected final double verticalDpi;
+
+    public PictureMetadata(PictureFormat format, int width, int height, double horizontalDpi, double verticalDpi) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.horizontalDpi = horizontalDpi;
+        this.verticalDpi = verticalDpi;
+    }
+
+    public static PictureMetadata create(
+        PictureFormat format,
+        int width,
+        int height,
+        double horizontalDpi,
+        double verticalDpi
+    ) {
+        return new PictureMetadata(format, width, height, horizontalDpi, verticalDpi);
+    }
+
+    public static PictureMetadata create(PictureFormat format, int width, int height) {
+        return new PictureMetadata(format, width, height, 0, 0);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("format", format)
+            .add("width", width)
+            .add("height", height)
+            .add("horizontalDpi", horizontalDpi)
+            .add("verticalDpi", verticalDpi)
+            .toString();
+    }
+
+    /**
+     * @return picture format or null if the format isn't known
+     */
+    public PictureFormat getFormat() {
+        return format;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getHorizontalDpi() {
+        return horizontalDpi;
+    }
+
+    public double getVerticalDpi() {
+        return verticalDpi;
+    }
+}
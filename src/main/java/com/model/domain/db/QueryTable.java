@@ -2,14 +2,12 @@ package com.model.domain.db;
 
 import com.config.PropertyConfig;
 import com.google.common.base.MoreObjects;
+import com.model.domain.CellConverter;
 import com.model.domain.Table;
-import com.model.domain.TableCell;
 import com.model.domain.TableHeaderCell;
 import com.model.domain.TableHeaderRow;
 import com.model.domain.TableRow;
-import com.model.domain.style.constant.PictureFormat;
 import com.model.formatter.FormatterVisitor;
-import com.model.utils.PictureUtils;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -20,6 +18,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Class for mapping a data from DB to an intermediate representation of a table
@@ -27,6 +26,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * if {@link QueryTable#isTableHeaderRowFromData} is set:
  * TableHeaderRow is formed from database data
  * <p>
+ * if {@link QueryTable#isStreaming} is set:
+ * rows are read from the open ResultSet while the table is visited
+ * and handed to the visitor one at a time, so the heap is bounded by
+ * {@link QueryTable#fetchSize} instead of the result size
  */
 public class QueryTable extends Table {
     protected NamedParameterJdbcTemplate namedParameterJdbcTemplate;
@@ -42,6 +45,16 @@ public class QueryTable extends Table {
 
     protected String query;
 
+    /**
+     * ResultSet indexes of the header cells columns, resolved on the first row of the query
+     */
+    private int[] columnIndexes;
+
+    /**
+     * Converters of the header cells columns, chosen by the column types on the first row of the query
+     */
+    private CellConverter[] cellConverters;
+
     /**
      * Class stores names and labels of columns in ResultSetMetaData as HashMap
      */
@@ -91,14 +104,21 @@ public class QueryTable extends Table {
             tableHeaderRow = generateTableHeaderRow(metaData.get());
         }
 
+        columnIndexes = null;
+        cellConverters = null;
         namedParameterJdbcTemplate.getJdbcTemplate().setMaxRows(0);
         namedParameterJdbcTemplate.getJdbcTemplate().setFetchSize(fetchSize);
+        final TableHeaderRow thr = getTableHeaderRow().orElse(null);
+        if (isStreaming) {
+            acceptStreaming(visitor, thr);
+            return this;
+        }
         final RowCallbackHandler rsLambdaWork =
             rs ->
                 super.addPart(
                     resultSetToTableRow(
                         rs,
-                        getTableHeaderRow().orElse(null)
+                        thr
                     )
                 );
         namedParameterJdbcTemplate.query(query, mapSqlParameterSource, rsLambdaWork);
@@ -107,6 +127,18 @@ public class QueryTable extends Table {
         return this;
     }
 
+    private void acceptStreaming(FormatterVisitor visitor, TableHeaderRow thr) throws Throwable {
+        try (Stream<TableRow> rows =
+                 namedParameterJdbcTemplate.queryForStream(
+                     query,
+                     mapSqlParameterSource,
+                     (rs, rowNum) -> resultSetToTableRow(rs, thr)
+                 )
+        ) {
+            acceptStreamedRows(visitor, rows.iterator());
+        }
+    }
+
     private TableHeaderRow generateTableHeaderRow(ColumnMetaDataMap columnMetaDataMap) {
         final TableHeaderRow thr = TableHeaderRow.create();
         columnMetaDataMap
@@ -123,29 +155,45 @@ public class QueryTable extends Table {
         if (thr == null) {
             return tableRow;
         }
+        if (cellConverters == null) {
+            initColumns(rs, thr);
+        }
+        for (int i = 0; i < cellConverters.length; i++) {
+            tableRow.addPart(cellConverters[i].convert(rs.getObject(columnIndexes[i])));
+        }
+        return tableRow;
+    }
+
+    /**
+     * Resolves the columns of the header cells in the ResultSet once per query
+     * and chooses their converters by the column types,
+     * so only binary columns are probed for pictures
+     *
+     * @param rs  ResultSet positioned on the first row
+     * @param thr table header row
+     * @throws SQLException if a column isn't found
+     */
+    private void initColumns(ResultSet rs, TableHeaderRow thr) throws SQLException {
+        final ResultSetMetaData resultSetMetaData = rs.getMetaData();
+        final int cellCount = (int) thr.getCellCount();
+        final int[] indexes = new int[cellCount];
+        final CellConverter[] converters = new CellConverter[cellCount];
         int i = 0;
         for (final TableHeaderCell hc : thr.getParts()) {
-            i++;
-            final TableCell tableCell;
-            final Object value;
             if (hc.getAliasName().isEmpty()) {
-                value = rs.getObject(i);
+                indexes[i] = i + 1;
             } else {
                 final String columnName =
                     isTableHeaderRowFromData
                         ? hc.getText()
                         : hc.getAliasName();
-                value = rs.getObject(columnName);
-            }
-            final PictureFormat pictureFormat = PictureUtils.getFormat(value);
-            if (pictureFormat != null) {
-                tableCell = TableCell.create(PictureUtils.serializePicture(value));
-            } else {
-                tableCell = TableCell.create(value != null ? String.valueOf(value) : "");
+                indexes[i] = rs.findColumn(columnName);
             }
-            tableRow.addPart(tableCell);
+            converters[i] = CellConverter.forSqlType(resultSetMetaData.getColumnType(indexes[i]));
+            i++;
         }
-        return tableRow;
+        columnIndexes = indexes;
+        cellConverters = converters;
     }
 
     @Override
@@ -165,6 +213,7 @@ public class QueryTable extends Table {
                 .add("mapSqlParameterSource", mapSqlParameterSource)
                 .add("isTableHeaderRowFromData", isTableHeaderRowFromData)
                 .add("query", query)
+                .add("isStreaming", isStreaming)
                 .toString();
     }
 
@@ -222,6 +271,11 @@ public class QueryTable extends Table {
         return this;
     }
 
+    public QueryTable setStreaming(boolean isStreaming) {
+        this.isStreaming = isStreaming;
+        return this;
+    }
+
     public String getQuery() {
         return query;
     }
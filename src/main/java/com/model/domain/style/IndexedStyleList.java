@@ -0,0 +1,208 @@
+package com.model.domain.style;
+
+import com.model.domain.TableCell;
+import com.model.domain.core.DocumentItem;
+import com.model.domain.style.constant.ConditionScope;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * List of registered styles, which indexes styles by the class of styled objects.
+ * <p>
+ * For every class of styled object the list caches candidate styles in the order of registration:
+ * styles without {@link StyleCondition} and styles whose condition class is assignable to the object class.
+ * Candidates after the first style without a predicate can never be chosen and are not cached.
+ * The index is dropped on any change of the list, conditions of registered styles
+ * should not be changed, the style should be removed and added again instead.
+ * <p>
+ * Results of conditions with {@link ConditionScope#ROW} or {@link ConditionScope#COLUMN} scope
+ * are kept for the last row or for the columns of the last table of tested cells
+ * until {@link IndexedStyleList#resetScopedResults()} is called.
+ * <p>
+ * The list isn't thread-safe: like its {@link StyleService} it's used by one formatter at a time.
+ */
+public class IndexedStyleList extends AbstractList<Style> {
+    private static final Candidate[] NO_CANDIDATES = new Candidate[0];
+
+    private final List<Style> styles = new ArrayList<>();
+
+    /**
+     * Candidate styles by class of styled objects
+     */
+    private final Map<Class<?>, Candidate[]> candidates = new HashMap<>();
+
+    /**
+     * Returns first style with matched condition for the item o,
+     * a style with {@link StyleCondition} equals null is returned as appropriate,
+     * see {@link StyleService#extractStyleFor(Object)}
+     *
+     * @param o the object on which to test the conditions of styles.
+     * @return first style with matched condition
+     */
+    public Optional<Style> findFirstFor(Object o) {
+        if (styles.isEmpty()) {
+            return Optional.empty();
+        }
+        for (final Candidate candidate : candidates.computeIfAbsent(o.getClass(), this::collectCandidates)) {
+            final StyleCondition styleCondition = candidate.style.getStyleCondition();
+            if (styleCondition == null || styleCondition.getPredicate() == null || test(candidate, o)) {
+                return Optional.of(candidate.style);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Forgets the kept results of row- and column-scoped conditions,
+     * so the last tested row and table are no longer referenced by the list
+     */
+    public void resetScopedResults() {
+        for (final Candidate[] classCandidates : candidates.values()) {
+            for (final Candidate candidate : classCandidates) {
+                if (candidate.scopedResult != null) {
+                    candidate.scopedResult.reset();
+                }
+            }
+        }
+    }
+
+    private boolean test(Candidate candidate, Object o) {
+        final StyleCondition styleCondition = candidate.style.getStyleCondition();
+        final ScopedResult scopedResult = candidate.scopedResult;
+        if (scopedResult == null || !(o instanceof TableCell)) {
+            return styleCondition.test(o);
+        }
+        final TableCell tableCell = (TableCell) o;
+        final Object row = tableCell.getParentObject();
+        if (row == null) {
+            return styleCondition.test(o);
+        }
+        if (scopedResult.scope == ConditionScope.ROW) {
+            if (scopedResult.row != row) {
+                scopedResult.row = row;
+                scopedResult.rowResult = styleCondition.test(o);
+            }
+            return scopedResult.rowResult;
+        }
+        final Object table = row instanceof DocumentItem ? ((DocumentItem) row).getParentObject() : null;
+        final long columnIndex = tableCell.getColumnIndex();
+        if (table == null || columnIndex >= Integer.MAX_VALUE) {
+            return styleCondition.test(o);
+        }
+        if (scopedResult.table != table) {
+            scopedResult.table = table;
+            Arrays.fill(scopedResult.columnResults, ScopedResult.UNKNOWN);
+        }
+        final int column = (int) columnIndex;
+        if (column >= scopedResult.columnResults.length) {
+            scopedResult.columnResults = Arrays.copyOf(
+                scopedResult.columnResults,
+                Math.max(column + 1, scopedResult.columnResults.length * 2)
+            );
+        }
+        if (scopedResult.columnResults[column] == ScopedResult.UNKNOWN) {
+            scopedResult.columnResults[column] = styleCondition.test(o) ? ScopedResult.MATCHED : ScopedResult.NOT_MATCHED;
+        }
+        return scopedResult.columnResults[column] == ScopedResult.MATCHED;
+    }
+
+    private Candidate[] collectCandidates(Class<?> itemClass) {
+        final List<Candidate> result = new ArrayList<>();
+        for (final Style style : styles) {
+            final StyleCondition styleCondition = style.getStyleCondition();
+            if (styleCondition == null) {
+                result.add(new Candidate(style));
+                break;
+            }
+            if (itemClass.isAssignableFrom(styleCondition.getClazz())) {
+                result.add(new Candidate(style));
+                if (styleCondition.getPredicate() == null) {
+                    break;
+                }
+            }
+        }
+        return result.isEmpty() ? NO_CANDIDATES : result.toArray(NO_CANDIDATES);
+    }
+
+    @Override
+    public Style get(int index) {
+        return styles.get(index);
+    }
+
+    @Override
+    public int size() {
+        return styles.size();
+    }
+
+    @Override
+    public Style set(int index, Style element) {
+        final Style previous = styles.set(index, element);
+        candidates.clear();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Style element) {
+        styles.add(index, element);
+        modCount++;
+        candidates.clear();
+    }
+
+    @Override
+    public Style remove(int index) {
+        final Style removed = styles.remove(index);
+        modCount++;
+        candidates.clear();
+        return removed;
+    }
+
+    /**
+     * Candidate style with last results of its row- or column-scoped condition
+     */
+    private static final class Candidate {
+        private final Style style;
+        private final ScopedResult scopedResult;
+
+        private Candidate(Style style) {
+            this.style = style;
+            final StyleCondition styleCondition = style.getStyleCondition();
+            this.scopedResult = styleCondition == null
+                || styleCondition.getScope() == null
+                || styleCondition.getScope() == ConditionScope.ITEM
+                ? null
+                : new ScopedResult(styleCondition.getScope());
+        }
+    }
+
+    /**
+     * Last results of a row- or column-scoped condition
+     */
+    private static final class ScopedResult {
+        private static final byte UNKNOWN = 0;
+        private static final byte MATCHED = 1;
+        private static final byte NOT_MATCHED = 2;
+
+        private final ConditionScope scope;
+        private Object row;
+        private boolean rowResult;
+        private Object table;
+        private byte[] columnResults = new byte[0];
+
+        private ScopedResult(ConditionScope scope) {
+            this.scope = scope;
+        }
+
+        private void reset() {
+            row = null;
+            rowResult = false;
+            table = null;
+            Arrays.fill(columnResults, UNKNOWN);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.model.domain.style;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.model.domain.style.constant.ConditionScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,11 +25,19 @@ public class StyleCondition {
      * Object styling condition
      */
     protected Predicate<?> predicate;
+    /**
+     * Table cells sharing the predicate result, see {@link ConditionScope}
+     */
+    protected ConditionScope scope = ConditionScope.ITEM;
 
     public static StyleCondition create(Class<?> clazz, Predicate<?> condition) {
         return new StyleCondition().setPredicate(condition).setClazz(clazz);
     }
 
+    public static StyleCondition create(Class<?> clazz, Predicate<?> condition, ConditionScope scope) {
+        return create(clazz, condition).setScope(scope);
+    }
+
     public static StyleCondition create(Class<?> clazz) {
         return new StyleCondition().setClazz(clazz);
     }
@@ -63,7 +72,7 @@ public class StyleCondition {
     }
 
     public StyleCondition negate() {
-        return StyleCondition.create(clazz, predicate.negate());
+        return StyleCondition.create(clazz, predicate.negate(), scope);
     }
 
     public Class<?> getClazz() {
@@ -84,12 +93,22 @@ public class StyleCondition {
         return this;
     }
 
+    public ConditionScope getScope() {
+        return scope;
+    }
+
+    public StyleCondition setScope(ConditionScope scope) {
+        this.scope = scope;
+        return this;
+    }
+
     @Override
     public String toString() {
         return
             MoreObjects.toStringHelper(this)
                 .add("clazz", clazz)
                 .add("predicate", predicate)
+                .add("scope", scope)
                 .toString();
     }
 
@@ -106,11 +125,12 @@ public class StyleCondition {
 
         return
             Objects.equal(this.clazz, that.clazz) &&
-                Objects.equal(this.predicate, that.predicate);
+                Objects.equal(this.predicate, that.predicate) &&
+                Objects.equal(this.scope, that.scope);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(clazz, predicate);
+        return Objects.hashCode(clazz, predicate, scope);
     }
 }
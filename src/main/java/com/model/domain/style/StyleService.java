@@ -4,6 +4,7 @@ import com.google.common.base.MoreObjects;
 import com.model.domain.Document;
 import com.model.domain.FontService;
 import com.model.domain.core.DocumentItem;
+import com.model.formatter.FormatterListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,42 +20,46 @@ import java.util.Optional;
  * By default, registered styles are added to head of html-documents,
  * contra those are given in the {@link Document} structure -
  * they will be added into the tag via style="...".
+ * <p>
+ * A style service isn't thread-safe, it's used by one formatter at a time.
  */
 
 public abstract class StyleService implements StyleApplier {
     private static final Logger log = LoggerFactory.getLogger(StyleService.class);
     /**
-     * List of registered styles
+     * List of registered styles, indexed by the class of styled objects
      */
-    protected final List<Style> styles = new ArrayList<>();
+    protected final IndexedStyleList styles = new IndexedStyleList();
     /**
      * Number representation format
      */
     protected DecimalFormat decimalFormat;
 
     protected FontService fontService;
+    /**
+     * Receiver of style cache hits and misses, nothing is reported if it's null
+     */
+    protected FormatterListener formatterListener;
 
     /**
      * Returns first matching style from {@link styles} of Styles for the item o,
      * which matches style's {@link StyleCondition}.
      * A style with {@link StyleCondition} equals null is returned as appropriate.
+     * Candidate styles are looked up by the class of the item, see {@link IndexedStyleList}.
      *
      * @param o the object on which to test the conditions of styles.
      * @return first style with matched condition
      */
     public Optional<Style> extractStyleFor(Object o) {
-        return styles
-            .stream()
-            .filter(s -> {
-                if (s.getStyleCondition() != null) {
-                    final Class<?> itemClass = o.getClass();
-                    final Class<?> styleConditionClass = s.getStyleCondition().getClazz();
-                    return itemClass.isAssignableFrom(styleConditionClass)
-                        && s.getStyleCondition().test(o);
-                }
-                return true;
-            })
-            .findFirst();
+        return styles.findFirstFor(o);
+    }
+
+    /**
+     * Forgets the results of row- and column-scoped conditions kept for the last tested row and table,
+     * the formatter calls it when a document is started and when it's handled
+     */
+    public void resetScopedResults() {
+        styles.resetScopedResults();
     }
 
     /**
@@ -80,6 +85,18 @@ public abstract class StyleService implements StyleApplier {
         return style;
     }
 
+    /**
+     * Reports a lookup of a cache of converted styles to {@link StyleService#formatterListener} if it's set
+     *
+     * @param cache name of the cache
+     * @param hit   true if the converted style was found in the cache
+     */
+    protected void reportStyleCache(String cache, boolean hit) {
+        if (formatterListener != null) {
+            formatterListener.onStyleCache(this, cache, hit);
+        }
+    }
+
     public Boolean contains(Style style) {
         return styles.contains(style);
     }
@@ -137,4 +154,13 @@ public abstract class StyleService implements StyleApplier {
         this.fontService = fontService;
         return this;
     }
+
+    public FormatterListener getFormatterListener() {
+        return formatterListener;
+    }
+
+    public StyleService setFormatterListener(FormatterListener formatterListener) {
+        this.formatterListener = formatterListener;
+        return this;
+    }
 }
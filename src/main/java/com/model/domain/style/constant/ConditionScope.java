@@ -0,0 +1,13 @@
+package com.model.domain.style.constant;
+
+/**
+ * Scope of {@link com.model.domain.style.StyleCondition} predicate result for table cells:
+ * ITEM - the predicate is tested on every cell,
+ * ROW - the result is the same for all cells of a row and is tested once per row,
+ * COLUMN - the result is the same for all cells of a column and is tested once per column of a table
+ */
+public enum ConditionScope {
+    ITEM,
+    ROW,
+    COLUMN
+}
@@ -1,69 +1,121 @@
 package com.model.domain.style.constant;
 
+import com.google.common.primitives.Bytes;
+
+import java.util.Arrays;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
+/**
+ * Picture formats,
+ * every format is recognized by signature bytes at the beginning or at the end of the data,
+ * which are compared in place without copying the data
+ */
 public enum PictureFormat {
-    JPG("JPG", null),
-    PNG("PNG", null),
-    BMP("BMP", null),
-    GIF("GIF", null),
-    WMF("WMF", data -> checkBeginSignature(data, "D7CDC69A", 0)),
-    EMF("EMF", data -> checkBeginSignature(data, "01000000", 0)),
-    DIB("DIB", data -> checkBeginSignature(data, "424D", 0)
-    || checkBeginSignature(data, "2800", 0)),
+    JPG("JPG", data -> checkBeginSignature(data, 0, Signatures.JPG)),
+    PNG("PNG", data -> checkBeginSignature(data, 0, Signatures.PNG)),
+    BMP("BMP", data -> checkBeginSignature(data, 0, Signatures.BMP)),
+    GIF("GIF", data -> checkBeginSignature(data, 0, Signatures.GIF87A)
+        || checkBeginSignature(data, 0, Signatures.GIF89A)),
+    WMF("WMF", data -> checkBeginSignature(data, 0, Signatures.WMF)),
+    EMF("EMF", data -> checkBeginSignature(data, 0, Signatures.EMF)),
+    DIB("DIB", data -> checkBeginSignature(data, 0, Signatures.BMP)
+        || checkBeginSignature(data, 0, Signatures.DIB)),
     PICT("PICT", data -> {
-        final boolean pict1Format = checkEndSignature(data, "FF", 0)
-            && (checkBeginSignature(data, "1101", 522)
-                || checkBeginSignature(data, "1101", 10));
-        final boolean pict2Format = checkEndSignature(data, "00FF", 0)
-            && (checkBeginSignature(data, "001102FF0C00", 522)
-                || checkBeginSignature(data, "001102FF0C00", 10));
+        final boolean pict1Format = checkEndSignature(data, Signatures.PICT1_END)
+            && (checkBeginSignature(data, 522, Signatures.PICT1)
+                || checkBeginSignature(data, 10, Signatures.PICT1));
+        final boolean pict2Format = checkEndSignature(data, Signatures.PICT2_END)
+            && (checkBeginSignature(data, 522, Signatures.PICT2)
+                || checkBeginSignature(data, 10, Signatures.PICT2));
         return pict1Format || pict2Format;
     }
     );
 
     private final String pictFormat;
-    private final Function<Byte[], Boolean> formatChecker;
+    private final Predicate<byte[]> formatChecker;
 
-    PictureFormat(String pictFormat, Function<Byte[], Boolean> formatChecker) {
+    PictureFormat(String pictFormat, Predicate<byte[]> formatChecker) {
         this.pictFormat = pictFormat;
         this.formatChecker = formatChecker;
     }
 
+    /**
+     * Finds the format of the picture by its signature,
+     * formats are checked in declaration order, so BMP is preferred to DIB
+     *
+     * @param data picture raw data
+     * @return picture format or null if the data isn't a picture of a known format
+     */
+    public static PictureFormat sniff(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        for (final PictureFormat pictureFormat : values()) {
+            if (pictureFormat.formatChecker.test(data)) {
+                return pictureFormat;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the data starts with the signature of the format
+     *
+     * @param data picture raw data
+     * @return true if the data has the signature of the format
+     */
+    public boolean matches(byte[] data) {
+        return formatChecker.test(data);
+    }
+
+    /**
+     * Returns the check of the format signature on boxed bytes, which copies the data to check it
+     *
+     * @return check of the format signature
+     * @deprecated use {@link #matches(byte[])} or {@link #sniff(byte[])}
+     */
+    @Deprecated
     public Function<Byte[], Boolean> getFormatChecker() {
-        return formatChecker;
+        return data -> matches(Bytes.toArray(Arrays.asList(data)));
     }
 
-    private static boolean checkBeginSignature(Byte[] data, String startSignature, int startOffset) {
-        final int dataLength = data.length;
-        final int bytesToRead = startSignature.length() / 2;
-        if (dataLength < startOffset + bytesToRead) {
+    private static boolean checkBeginSignature(byte[] data, int startOffset, int[] signature) {
+        if (startOffset < 0 || data.length < startOffset + signature.length) {
             return false;
         }
-        final StringBuilder hexBuilder = new StringBuilder();
-        for (int i = startOffset; i < startOffset + bytesToRead; i++) {
-            final String hex = String.format("%02X", data[i]);
-            hexBuilder.append(hex);
+        for (int i = 0; i < signature.length; i++) {
+            if ((data[startOffset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
         }
-        return startSignature.contentEquals(hexBuilder);
+        return true;
     }
 
-    private static boolean checkEndSignature(Byte[] data, String endSignature, int endOffset) {
-        final int dataLength = data.length;
-        final int bytesToRead = endSignature.length() / 2;
-        if (dataLength < endOffset + bytesToRead) {
-            return false;
-        }
-        final StringBuilder hexBuilder = new StringBuilder();
-        for (int i = dataLength - bytesToRead - endOffset; i < dataLength - endOffset; i++) {
-            final String hex = String.format("%02X", data[i]);
-            hexBuilder.append(hex);
-        }
-        return endSignature.contentEquals(hexBuilder);
+    private static boolean checkEndSignature(byte[] data, int[] signature) {
+        return checkBeginSignature(data, data.length - signature.length, signature);
     }
 
     @Override
     public String toString() {
         return pictFormat;
     }
+
+    /**
+     * Signature bytes of the formats
+     */
+    private static final class Signatures {
+        static final int[] JPG = {0xFF, 0xD8, 0xFF};
+        static final int[] PNG = {0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+        static final int[] BMP = {'B', 'M'};
+        static final int[] GIF87A = {'G', 'I', 'F', '8', '7', 'a'};
+        static final int[] GIF89A = {'G', 'I', 'F', '8', '9', 'a'};
+        static final int[] WMF = {0xD7, 0xCD, 0xC6, 0x9A};
+        static final int[] EMF = {0x01, 0x00, 0x00, 0x00};
+        static final int[] DIB = {0x28, 0x00};
+        static final int[] PICT1 = {0x11, 0x01};
+        static final int[] PICT1_END = {0xFF};
+        static final int[] PICT2 = {0x00, 0x11, 0x02, 0xFF, 0x0C, 0x00};
+        static final int[] PICT2_END = {0x00, 0xFF};
+    }
 }
@@ -0,0 +1,221 @@
+package com.model.formatter;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.model.domain.style.Style;
+import com.model.domain.style.StyleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders many documents in parallel on a bounded pool of worker threads.
+ * <p>
+ * Every {@link RenderJob} is rendered by a new formatter of {@link FormatterFactory}
+ * with a copy of the job formatter context, so formatters and style services aren't shared between jobs,
+ * while immutable caches (fonts of FontRegistry, parsed PDF fonts, style mappings) are shared by all jobs.
+ * <p>
+ * Results are returned in completion order by {@link Results}, jobs are submitted while results are taken,
+ * so no more than {@link BatchRenderer#maxPendingResults} documents are rendered or wait to be taken at once.
+ */
+public class BatchRenderer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BatchRenderer.class);
+
+    protected final FormatterFactory formatterFactory;
+    protected final ExecutorService executorService;
+    protected final int parallelism;
+    /**
+     * Maximum number of submitted jobs, whose results aren't taken yet
+     */
+    protected int maxPendingResults;
+    /**
+     * Receiver of timings and counters of all jobs, it must be thread-safe
+     */
+    protected FormatterListener formatterListener;
+
+    public BatchRenderer(FormatterFactory formatterFactory, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("Parallelism %d must be positive", parallelism));
+        }
+        this.formatterFactory = formatterFactory;
+        this.parallelism = parallelism;
+        this.maxPendingResults = 2 * parallelism;
+        this.executorService = Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder()
+                .setNameFormat("batch-renderer-%d")
+                .setDaemon(true)
+                .build()
+        );
+    }
+
+    public static BatchRenderer create(FormatterFactory formatterFactory, int parallelism) {
+        return new BatchRenderer(formatterFactory, parallelism);
+    }
+
+    /**
+     * Starts rendering of the jobs, jobs are taken from the iterable while results are taken
+     *
+     * @param jobs jobs, may be a lazy iterable
+     * @return results in completion order
+     */
+    public Results render(Iterable<RenderJob> jobs) {
+        return new Results(jobs.iterator());
+    }
+
+    /**
+     * Renders the job by a new formatter, errors are returned as failed results
+     *
+     * @param job job
+     * @return result of the job
+     */
+    protected RenderResult renderJob(RenderJob job) {
+        try {
+            final Formatter formatter = formatterFactory.createFormatter(
+                job.getExtension(),
+                job.getFormatterContext().copy()
+            );
+            if (job.getFileName() != null) {
+                formatter.setFileName(job.getFileName());
+            }
+            formatter.setFormatterListener(formatterListener);
+            final StyleService styleService = formatter.getStyleService();
+            if (styleService != null && !job.getStyles().isEmpty()) {
+                styleService.addStyles(job.getStyles().toArray(new Style[0]));
+            }
+            return RenderResult.success(job, formatter.handle(job.getDocument()));
+        } catch (Throwable t) { // NOPMD - Formatter.handle throws Throwable, it's kept in the failed result
+            log.error("Can't render job {}", job, t);
+            return RenderResult.failure(job, t);
+        }
+    }
+
+    /**
+     * Stops the worker threads after the submitted jobs are rendered,
+     * if the thread is interrupted while waiting, the interrupt flag is set again and the workers are left to finish
+     */
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("formatterFactory", formatterFactory)
+            .add("parallelism", parallelism)
+            .add("maxPendingResults", maxPendingResults)
+            .add("formatterListener", formatterListener)
+            .toString();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getMaxPendingResults() {
+        return maxPendingResults;
+    }
+
+    public BatchRenderer setMaxPendingResults(int maxPendingResults) {
+        if (maxPendingResults < 1) {
+            throw new IllegalArgumentException(
+                String.format("Maximum number of pending results %d must be positive", maxPendingResults)
+            );
+        }
+        this.maxPendingResults = maxPendingResults;
+        return this;
+    }
+
+    public FormatterListener getFormatterListener() {
+        return formatterListener;
+    }
+
+    public BatchRenderer setFormatterListener(FormatterListener formatterListener) {
+        this.formatterListener = formatterListener;
+        return this;
+    }
+
+    /**
+     * Results of jobs in completion order, must be iterated by one thread.
+     * Jobs are submitted on {@link Results#hasNext()}, up to {@link BatchRenderer#maxPendingResults} at once.
+     * Closing stops submitting of jobs and deletes documents of results, which weren't taken.
+     */
+    public class Results implements Iterator<RenderResult>, AutoCloseable {
+        private final Iterator<RenderJob> jobs;
+        private final CompletionService<RenderResult> completionService =
+            new ExecutorCompletionService<>(executorService);
+        private int pendingResults;
+        private boolean isClosed;
+
+        protected Results(Iterator<RenderJob> jobs) {
+            this.jobs = jobs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!isClosed && pendingResults < maxPendingResults && jobs.hasNext()) {
+                final RenderJob job = jobs.next();
+                completionService.submit(() -> renderJob(job));
+                pendingResults++;
+            }
+            return pendingResults > 0;
+        }
+
+        /**
+         * Waits for the next rendered job
+         *
+         * @return result of the job
+         * @throws NoSuchElementException if all jobs are rendered
+         * @throws IllegalStateException  if the thread is interrupted while waiting
+         */
+        @Override
+        public RenderResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                final RenderResult renderResult = completionService.take().get();
+                pendingResults--;
+                return renderResult;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a rendered document", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Job failed", e);
+            }
+        }
+
+        /**
+         * Stops submitting of jobs and deletes documents of results, which weren't taken,
+         * a document, which can't be deleted, is logged and the rest are deleted
+         */
+        @Override
+        public void close() {
+            isClosed = true;
+            while (pendingResults > 0) {
+                final RenderResult renderResult = next();
+                if (renderResult.isSuccessful()) {
+                    try {
+                        renderResult.getDocumentHolder().close();
+                    } catch (Exception e) { // NOPMD - DocumentHolder.close throws Exception
+                        log.error("Can't delete the document of job {}", renderResult.getJob(), e);
+                    }
+                }
+            }
+        }
+    }
+}
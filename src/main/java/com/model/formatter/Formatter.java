@@ -1,6 +1,12 @@
 package com.model.formatter;
 
+import com.google.common.io.CountingOutputStream;
 import com.model.domain.Document;
+import com.model.domain.Table;
+import com.model.domain.TableRow;
+import com.model.domain.core.CompositionPart;
+import com.model.domain.core.DocumentItem;
+import com.model.domain.style.StyleService;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.StringUtils;
 
@@ -23,6 +29,16 @@ public abstract class Formatter extends FormatterVisitor implements BaseFormatte
      * Document file name if it's an OS file
      */
     protected String fileName;
+    /**
+     * Receiver of timings and counters, nothing is measured if it's null
+     */
+    protected FormatterListener formatterListener;
+    /**
+     * Output stream counting written bytes while the document is measured
+     */
+    private CountingOutputStream countingOutputStream;
+    private long tableRows;
+    private long tableCells;
 
     /**
      * Writes meta-informational document as selected type document to {@link Formatter#resource}
@@ -41,12 +57,112 @@ public abstract class Formatter extends FormatterVisitor implements BaseFormatte
         }
         resource = DocumentCreator.initResource(resource, fileName, getExtension());
         fileName = resource.getFilename();
-        initializeResource();
-        document.accept(this);
-        cleanupResource();
+        final StyleService styleService = getStyleService();
+        if (styleService != null) {
+            styleService.setFormatterListener(formatterListener);
+            styleService.resetScopedResults();
+        }
+        try {
+            if (formatterListener == null) {
+                initializeResource();
+                document.accept(this);
+                cleanupResource();
+            } else {
+                handleMeasured(document);
+            }
+        } finally {
+            if (styleService != null) {
+                styleService.resetScopedResults();
+            }
+        }
         return new DocumentHolder(resource);
     }
 
+    /**
+     * Handles the document reporting timings and counters to {@link Formatter#formatterListener},
+     * the output stream is wrapped by a counting stream for this document only
+     *
+     * @param document input meta-document
+     * @throws Throwable can occur while creating/initializing/cleaning up {@link Formatter#resource}
+     */
+    private void handleMeasured(Document document) throws Throwable {
+        final long start = System.nanoTime();
+        final OutputStream callerOutputStream = outputStream;
+        countingOutputStream = new CountingOutputStream(getOutputStream());
+        outputStream = countingOutputStream;
+        try {
+            initializeResource();
+            final long initialized = System.nanoTime();
+            formatterListener.onPhase(FormatterListener.Phase.INITIALIZE_RESOURCE, initialized - start);
+            document.accept(this);
+            final long visited = System.nanoTime();
+            formatterListener.onPhase(FormatterListener.Phase.VISIT_DOCUMENT, visited - initialized);
+            cleanupResource();
+            final long end = System.nanoTime();
+            formatterListener.onPhase(FormatterListener.Phase.CLEANUP_RESOURCE, end - visited);
+            formatterListener.onDocument(document, countingOutputStream.getCount(), end - start);
+        } finally {
+            outputStream = callerOutputStream;
+            countingOutputStream = null;
+        }
+    }
+
+    /**
+     * Visits parts of the composition,
+     * reports visits of the parts and of tables if {@link Formatter#formatterListener} is set
+     *
+     * @param compositionPart composition
+     * @throws Throwable if a part can't be visited
+     */
+    @Override
+    public void visitComposition(CompositionPart<?, ?> compositionPart) throws Throwable {
+        if (formatterListener == null) {
+            super.visitComposition(compositionPart);
+            return;
+        }
+        for (final DocumentItem item : compositionPart.getParts()) {
+            if (item instanceof Table) {
+                visitTableMeasured((Table) item);
+            } else {
+                if (item instanceof TableRow) {
+                    tableRows++;
+                    tableCells += ((TableRow) item).getCellCount();
+                }
+                final long start = System.nanoTime();
+                item.accept(this);
+                formatterListener.onVisit(item, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void visitTableMeasured(Table table) throws Throwable {
+        flushOutput();
+        final long bytes = getWrittenBytes();
+        tableRows = 0;
+        tableCells = 0;
+        final long start = System.nanoTime();
+        table.accept(this);
+        final long nanos = System.nanoTime() - start;
+        flushOutput();
+        formatterListener.onVisit(table, nanos);
+        formatterListener.onTable(table, tableRows, tableCells, getWrittenBytes() - bytes, nanos);
+    }
+
+    /**
+     * Sends the output buffered by the formatter to {@link Formatter#outputStream},
+     * it's called before and after a table is visited if {@link Formatter#formatterListener} is set,
+     * so the bytes of the table are counted when they are written instead of when the buffer is full
+     *
+     * @throws IOException if the output can't be written
+     */
+    protected void flushOutput() throws IOException {
+        /**/
+    }
+
+    private long getWrittenBytes() {
+        return countingOutputStream != null ? countingOutputStream.getCount() : 0;
+    }
+
     /**
      * Initialization of resources required by the formatter for writing
      *
@@ -96,4 +212,23 @@ public abstract class Formatter extends FormatterVisitor implements BaseFormatte
         this.outputStream = outputStream;
         return (T) this;
     }
+
+    public FormatterListener getFormatterListener() {
+        return formatterListener;
+    }
+
+    /**
+     * Sets the receiver of timings and counters of the document handling,
+     * it's passed to the style service of the formatter when the document is handled,
+     * null is passed as well, so the style service stops reporting too
+     *
+     * @param formatterListener listener or null to measure nothing
+     * @param <T>               formatter type
+     * @return this formatter
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Formatter> T setFormatterListener(FormatterListener formatterListener) {
+        this.formatterListener = formatterListener;
+        return (T) this;
+    }
 }
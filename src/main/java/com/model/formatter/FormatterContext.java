@@ -14,6 +14,7 @@ import com.model.domain.style.StyleCondition;
 import com.model.domain.style.TextStyle;
 import com.model.domain.style.constant.BorderWeight;
 import com.model.domain.style.constant.Color;
+import com.model.domain.style.constant.ConditionScope;
 import com.model.domain.style.constant.FillPattern;
 import com.model.domain.style.constant.HorAlignment;
 import com.model.domain.style.constant.VertAlignment;
@@ -75,6 +76,22 @@ public class FormatterContext {
         return new FormatterContext(encoding, locale, timezone, decimalFormat, csvDelimiter);
     }
 
+    /**
+     * Returns a copy of the context with own instances of mutable settings,
+     * so that formatters of the copies can be used in different threads
+     *
+     * @return FormatterContext
+     */
+    public FormatterContext copy() {
+        return new FormatterContext(
+            encoding,
+            locale,
+            timeZone != null ? (TimeZone) timeZone.clone() : null,
+            decimalFormat != null ? (DecimalFormat) decimalFormat.clone() : null,
+            csvDelimiter
+        );
+    }
+
     /**
      * Returns the recording format settings for csv files
      *
@@ -174,7 +191,7 @@ public class FormatterContext {
             .setStyleCondition(
                 StyleCondition
                     .create(
-                        TableCell.class, isTableCell.and(isInterlinear)
+                        TableCell.class, isTableCell.and(isInterlinear), ConditionScope.ROW
                     )
             );
     }
@@ -204,7 +221,7 @@ public class FormatterContext {
             )
             .setStyleCondition(StyleCondition
                 .create(
-                    TableCell.class, isTableCell.and(isInterlinear)
+                    TableCell.class, isTableCell.and(isInterlinear), ConditionScope.ROW
                 )
             );
     }
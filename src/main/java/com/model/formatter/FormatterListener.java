@@ -0,0 +1,92 @@
+package com.model.formatter;
+
+import com.model.domain.Document;
+import com.model.domain.Table;
+import com.model.domain.core.DocumentItem;
+import com.model.domain.style.StyleService;
+
+/**
+ * Receives timings and counters of {@link Formatter#handle(Document)}, see {@link Formatter#setFormatterListener}.
+ * <p>
+ * The formatter doesn't measure anything without a listener.
+ * Methods are called by the thread handling the document, implementations may forward the values
+ * to a metrics registry (e.g. as timers and counters tagged by the format or the document label)
+ * and should return quickly.
+ */
+public interface FormatterListener {
+    /**
+     * Steps of {@link Formatter#handle(Document)}
+     */
+    enum Phase {
+        /**
+         * {@link Formatter#initializeResource()}
+         */
+        INITIALIZE_RESOURCE,
+        /**
+         * Visiting of the document, {@link Document#accept}
+         */
+        VISIT_DOCUMENT,
+        /**
+         * {@link Formatter#cleanupResource()}, where the document is serialized by most formatters
+         */
+        CLEANUP_RESOURCE
+    }
+
+    /**
+     * Called after a step of the document handling
+     *
+     * @param phase handling step
+     * @param nanos duration of the step in nanoseconds
+     */
+    default void onPhase(Phase phase, long nanos) {
+        /**/
+    }
+
+    /**
+     * Called after a part of a composition (document, document case, table, row) is visited,
+     * the duration includes visits of nested parts
+     *
+     * @param item  visited item, its class defines the visit method
+     * @param nanos duration of the visit in nanoseconds
+     */
+    default void onVisit(DocumentItem item, long nanos) {
+        /**/
+    }
+
+    /**
+     * Called after a table is visited
+     *
+     * @param table the table
+     * @param rows  number of visited rows without the header row
+     * @param cells number of cells in visited rows
+     * @param bytes number of bytes written to the output stream while the table was visited,
+     *              buffered output is flushed before and after the table (see {@link Formatter#flushOutput()}),
+     *              0 for formatters that serialize the document in {@link Formatter#cleanupResource()}
+     * @param nanos duration of the visit in nanoseconds
+     */
+    default void onTable(Table table, long rows, long cells, long bytes, long nanos) {
+        /**/
+    }
+
+    /**
+     * Called after the document is handled
+     *
+     * @param document the document
+     * @param bytes    number of bytes written to the output stream
+     * @param nanos    duration of the handling in nanoseconds
+     */
+    default void onDocument(Document document, long bytes, long nanos) {
+        /**/
+    }
+
+    /**
+     * Called on a lookup of a cache of converted styles of the style service
+     *
+     * @param styleService the style service
+     * @param cache        name of the cache
+     * @param hit          true if the converted style was found in the cache
+     */
+    default void onStyleCache(StyleService styleService, String cache, boolean hit) {
+        /**/
+    }
+}
@@ -0,0 +1,114 @@
+package com.model.formatter;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of pictures embedded into one rendered document.
+ * Every distinct picture is embedded once, repeated pictures are found by the hash and the content of their data
+ * and refer to the embedded picture, so icons repeated in many cells don't multiply the document size.
+ * The registry is cleared when the next document is rendered
+ *
+ * @param <T> embedded picture, e.g. PDF image XObject, workbook picture index or HTML data URI
+ */
+public class PictureRegistry<T> {
+    private final Map<PictureKey, T> pictures = new HashMap<>();
+    private long hitCount;
+
+    public static <T> PictureRegistry<T> create() {
+        return new PictureRegistry<>();
+    }
+
+    /**
+     * Returns the embedded picture with the same data or embeds the picture
+     *
+     * @param data     picture raw data
+     * @param embedder embeds the picture into the document
+     * @return embedded picture
+     * @throws Exception if the picture can't be embedded
+     */
+    public T computeIfAbsent(byte[] data, Embedder<T> embedder) throws Exception {
+        final PictureKey key = new PictureKey(data);
+        final T picture = pictures.get(key);
+        if (picture != null) {
+            hitCount++;
+            return picture;
+        }
+        final T embedded = embedder.embed(data);
+        pictures.put(key, embedded);
+        return embedded;
+    }
+
+    /**
+     * Forgets embedded pictures, it's called before the next document is rendered
+     */
+    public void clear() {
+        pictures.clear();
+        hitCount = 0;
+    }
+
+    /**
+     * @return number of distinct embedded pictures
+     */
+    public int size() {
+        return pictures.size();
+    }
+
+    /**
+     * @return number of pictures, which referred to an already embedded picture
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("size", pictures.size())
+            .add("hitCount", hitCount)
+            .toString();
+    }
+
+    /**
+     * Embeds the picture into the document
+     *
+     * @param <T> embedded picture
+     */
+    @FunctionalInterface
+    public interface Embedder<T> {
+        T embed(byte[] data) throws Exception;
+    }
+
+    /**
+     * Picture data compared by content
+     */
+    private static final class PictureKey {
+        private final byte[] data;
+        private final int hash;
+
+        PictureKey(byte[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final PictureKey that = (PictureKey) o;
+            return hash == that.hash && Arrays.equals(data, that.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.model.formatter;
+
+import com.google.common.base.MoreObjects;
+import com.model.domain.Document;
+import com.model.domain.style.Style;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Document to be rendered by {@link BatchRenderer} to the format of the extension with the formatter context.
+ * Every job is rendered by its own formatter and style service, styles of the job are registered there.
+ */
+public class RenderJob {
+    protected Document document;
+    protected String extension;
+    protected FormatterContext formatterContext;
+    /**
+     * File name of the rendered document, the document label is used if it isn't set.
+     * File names must be unique within a batch
+     */
+    protected String fileName;
+    /**
+     * Styles registered in the style service of the job formatter
+     */
+    protected final List<Style> styles = new ArrayList<>();
+
+    public RenderJob(Document document, String extension, FormatterContext formatterContext) {
+        this.document = document;
+        this.extension = extension;
+        this.formatterContext = formatterContext;
+    }
+
+    public static RenderJob create(Document document, String extension, FormatterContext formatterContext) {
+        return new RenderJob(document, extension, formatterContext);
+    }
+
+    /**
+     * Adds styles to the styles of the job
+     *
+     * @param styles styles
+     * @return this job
+     */
+    public RenderJob addStyles(Style... styles) {
+        this.styles.addAll(Arrays.asList(styles));
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("document", document)
+            .add("extension", extension)
+            .add("formatterContext", formatterContext)
+            .add("fileName", fileName)
+            .add("styles", styles)
+            .toString();
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public RenderJob setDocument(Document document) {
+        this.document = document;
+        return this;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public RenderJob setExtension(String extension) {
+        this.extension = extension;
+        return this;
+    }
+
+    public FormatterContext getFormatterContext() {
+        return formatterContext;
+    }
+
+    public RenderJob setFormatterContext(FormatterContext formatterContext) {
+        this.formatterContext = formatterContext;
+        return this;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public RenderJob setFileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+    public List<Style> getStyles() {
+        return styles;
+    }
+}
@@ -0,0 +1,60 @@
+package com.model.formatter;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Result of a {@link RenderJob}: holder of the rendered document or the error of the rendering
+ */
+public class RenderResult {
+    protected final RenderJob job;
+    protected final DocumentHolder documentHolder;
+    protected final Throwable error;
+
+    protected RenderResult(RenderJob job, DocumentHolder documentHolder, Throwable error) {
+        this.job = job;
+        this.documentHolder = documentHolder;
+        this.error = error;
+    }
+
+    public static RenderResult success(RenderJob job, DocumentHolder documentHolder) {
+        return new RenderResult(job, documentHolder, null);
+    }
+
+    public static RenderResult failure(RenderJob job, Throwable error) {
+        return new RenderResult(job, null, error);
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    /**
+     * Returns the holder of the rendered document, the caller closes it when the document isn't needed
+     *
+     * @return DocumentHolder
+     * @throws IllegalStateException if the job failed
+     */
+    public DocumentHolder getDocumentHolder() throws IllegalStateException {
+        if (error != null) {
+            throw new IllegalStateException(String.format("Job %s failed", job), error);
+        }
+        return documentHolder;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("job", job)
+            .add("documentHolder", documentHolder)
+            .add("error", error)
+            .toString();
+    }
+
+    public RenderJob getJob() {
+        return job;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
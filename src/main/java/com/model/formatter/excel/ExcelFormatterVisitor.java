@@ -47,10 +47,27 @@ public abstract class ExcelFormatterVisitor extends Formatter implements BaseDet
     protected DecimalFormat decimalFormat;
     protected StyleService styleService;
     private final Logger log = LoggerFactory.getLogger(ExcelFormatterVisitor.class);
+    /**
+     * Sheet the document is written to
+     */
+    private Sheet currentSheet;
+    /**
+     * Last created row of {@link ExcelFormatterVisitor#currentSheet}
+     */
+    private Row currentRow;
+    /**
+     * Index of the next row in {@link ExcelFormatterVisitor#currentSheet}
+     */
+    private int nextRowIndex;
+    /**
+     * Index of the next cell in {@link ExcelFormatterVisitor#currentRow}
+     */
+    private int nextCellIndex;
 
     @Override
     public void initializeResource() {
         workbook = getWorkbook();
+        moveToSheet(null);
     }
 
     @Override
@@ -68,57 +85,51 @@ public abstract class ExcelFormatterVisitor extends Formatter implements BaseDet
 
     @Override
     public void visitDocumentCase(DocumentCase documentCase) throws Throwable {
-        workbook.createSheet(WorkbookUtil.createSafeSheetName(documentCase.getName())); // SheetName must be unique
+        moveToSheet(workbook.createSheet(WorkbookUtil.createSafeSheetName(documentCase.getName()))); // SheetName must be unique
         this.visitComposition(documentCase);
     }
 
     @Override
     public void visitTitle(Title titleObj) throws Exception {
-        final Sheet sheet = getLastSheet(workbook);
-        final Row row = createRow(sheet, 1);
+        createRow();
         ((ExcelStyleService) styleService)
             .writeItemToCell(
                 titleObj,
-                createCell(row, 1, CellType.STRING)
+                createCell(1)
             );
     }
 
     @Override
     public void visitParagraph(Paragraph paragraphObj) throws Exception {
-        final Sheet sheet = getLastSheet(workbook);
-        final Row row = createRow(sheet, 1);
+        createRow();
         ((ExcelStyleService) styleService)
             .writeItemToCell(
                 paragraphObj,
-                createCell(row, 1, CellType.STRING)
+                createCell(1)
             );
     }
 
     @Override
     public void visitHeading(Heading headingObj) throws Exception {
         final int depth = headingObj.getDepth();
-        final Sheet sheet = getLastSheet(workbook);
-        final Row row = createRow(sheet, 1);
+        createRow();
         ((ExcelStyleService) styleService)
             .writeItemToCell(
                 headingObj,
-                createCell(row, depth + 1, CellType.STRING)
+                createCell(depth + 1)
             );
     }
 
     @Override
     public void visitTable(Table tableObj) throws Throwable {
-//        final var watch = new StopWatch();
-//        watch.start();
-        final Sheet sheet = getLastSheet(workbook);
         final Cell cell;
         final Style style =
             styleService
                 .extractStyleFor(tableObj)
                 .orElse(tableObj.getStyle());
         if (StringUtils.hasText(tableObj.getLabel())) {
-            final Row row = createRow(sheet, 1);
-            cell = createCell(row, 1, CellType.STRING);
+            createRow();
+            cell = createCell(1);
             cell.setCellValue(tableObj.getLabel());
             if (style instanceof TextStyle) {
                 ((ExcelStyleService) styleService).convertTextStyleToCell(cell, (TextStyle) style);
@@ -133,21 +144,18 @@ public abstract class ExcelFormatterVisitor extends Formatter implements BaseDet
         }
         this.visitComposition(tableObj);
         ((ExcelStyleService) styleService).adjustHeaderCells();
-//        watch.stop();
-//        log.info("Table visited in {} ms", watch.getTotalTimeMillis());
         log.info("Visited table {}", tableObj);
     }
 
     @Override
     public void visitTableHeaderRow(TableHeaderRow tableHeaderRowObj) throws Throwable {
-        createRow(getLastSheet(workbook), 1);
+        createRow();
         this.visitComposition(tableHeaderRowObj);
     }
 
     @Override
     public void visitTableHeaderCell(TableHeaderCell tableHeaderCellObj) throws Exception {
-        final Row row = getLastRow(getLastSheet(workbook));
-        final Cell cell = createCell(row, 1, CellType.STRING);
+        final Cell cell = createCell(1);
         ((ExcelStyleService) styleService).writeItemToCell(tableHeaderCellObj, cell);
 
         final Optional<Style> optStyle = styleService.extractStyleFor(tableHeaderCellObj);
@@ -171,117 +179,99 @@ public abstract class ExcelFormatterVisitor extends Formatter implements BaseDet
 
     @Override
     public void visitTableRow(TableRow tableRowObj) throws Throwable {
-        createRow(getLastSheet(workbook), 1);
+        createRow();
         styleService.extractStyleFor(tableRowObj);
         this.visitComposition(tableRowObj);
     }
 
     @Override
     public void visitTableCell(TableCell tableCellObj) throws Exception {
-        final Row row = getLastRow(getLastSheet(workbook));
-        final Cell cell = createCell(row, 1, CellType.STRING);
+        final Cell cell = createCell(1);
         ((ExcelStyleService) styleService).writeItemToCell(tableCellObj, cell);
     }
 
     @Override
     public void visitLineSeparator(LineSeparator lineSeparatorObj) {
-        final Sheet sheet = getLastSheet(workbook);
-        final Row row = createRow(sheet, 1);
-        createCell(row, 1, CellType.STRING).setCellValue(""); // A new cell needs for a value
+        createRow();
+        createCell(1);
     }
 
     @Override
     public void visitFooter(com.model.domain.Footer footerObj) throws Exception {
-        final Sheet sheet = getLastSheet(workbook);
-        final Row row = createRow(sheet, 1);
-        createCell(row, 1, CellType.STRING).setCellValue("");
+        createRow();
         ((ExcelStyleService) styleService)
             .writeItemToCell(
                 footerObj,
-                createCell(row, 1, CellType.STRING)
+                createCell(2)
             );
     }
 
     @Override
     public void visitPicture(Picture pictureObj) throws Throwable {
-        final Sheet sheet = getLastSheet(workbook);
-        final Row row = createRow(sheet, 1);
+        createRow();
         ((ExcelStyleService) styleService)
             .writeItemToCell(
                 pictureObj,
-                createCell(row, 1, CellType.STRING)
+                createCell(1)
             );
     }
 
     /**
-     * Returns the last sheet in an Excel workbook,
-     * if there are no sheets, then creates it
+     * Makes the sheet current for the following rows,
+     * writing continues after its existing rows
      *
-     * @param workbook excel workbook
-     * @return last page of the book
+     * @param sheet excel sheet or null to take the last sheet of the workbook on demand
      */
-    private Sheet getLastSheet(Workbook workbook) {
-        if (workbook.getNumberOfSheets() == 0) {
-            workbook.createSheet();
-        }
-        return workbook.getSheetAt(workbook.getNumberOfSheets() - 1);
+    private void moveToSheet(Sheet sheet) {
+        currentSheet = sheet;
+        currentRow = null;
+        nextRowIndex = sheet != null ? sheet.getPhysicalNumberOfRows() : 0;
+        nextCellIndex = 0;
     }
 
     /**
-     * Returns the last row of the sheet
-     * or null if the sheet is empty
+     * Returns the current sheet,
+     * if there is no current sheet, then takes the last sheet of the workbook or creates it
      *
-     * @param sheet excel sheet
-     * @return last line of the sheet
+     * @return current sheet
      */
-    private Row getLastRow(Sheet sheet) {
-        final int count = sheet.getPhysicalNumberOfRows();
-        return count > 0 ? sheet.getRow(count - 1) : null;
-    }
-
-    /**
-     * Returns the last cell in a row
-     * or null if row is empty
-     *
-     * @param row excel row
-     * @return last cell of the row
-     */
-    private Cell getLastCell(Row row) {
-        final int count = row.getPhysicalNumberOfCells();
-        return count > 0 ? row.getCell(count - 1) : null;
+    private Sheet getCurrentSheet() {
+        if (currentSheet == null) {
+            moveToSheet(
+                workbook.getNumberOfSheets() == 0
+                    ? workbook.createSheet()
+                    : workbook.getSheetAt(workbook.getNumberOfSheets() - 1)
+            );
+        }
+        return currentSheet;
     }
 
     /**
-     * Create excel row
+     * Creates an Excel row below the last created row of the current sheet
      *
-     * @param sheet    sheet on which the row is created
-     * @param rowCount offset down from the last row
-     * @return created string
+     * @return created row
      */
-    private Row createRow(Sheet sheet, int rowCount) {
-        Row row = getLastRow(sheet);
-        final int bias = sheet.getPhysicalNumberOfRows();
-        for (int i = 0; i < rowCount; i++) {
-            row = sheet.createRow(bias + i);
-        }
-        return row;
+    private Row createRow() {
+        currentRow = getCurrentSheet().createRow(nextRowIndex);
+        nextRowIndex++;
+        nextCellIndex = 0;
+        return currentRow;
     }
 
     /**
-     * Create an Excel cell
+     * Creates a blank Excel cell in the last created row, the written value sets the type of the cell,
+     * cells skipped by the offset are left blank
      *
-     * @param row       the row in which the cell is created
      * @param cellCount offset to the right of the last cell in the row
-     * @param type      cell type (usually STRING)
-     * @return - created cell
+     * @return created cell
      */
-    private Cell createCell(Row row, int cellCount, CellType type) {
-        Cell cell = getLastCell(row);
-        final int bias = row.getPhysicalNumberOfCells();
-        for (int i = 0; i < cellCount; i++) {
-            cell = row.createCell(bias + i, type);
-            cell.setCellValue("");
+    private Cell createCell(int cellCount) {
+        for (int i = 1; i < cellCount; i++) {
+            currentRow.createCell(nextCellIndex, CellType.BLANK);
+            nextCellIndex++;
         }
+        final Cell cell = currentRow.createCell(nextCellIndex, CellType.BLANK);
+        nextCellIndex++;
         return cell;
     }
 
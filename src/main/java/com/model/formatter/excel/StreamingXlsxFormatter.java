@@ -0,0 +1,128 @@
+package com.model.formatter.excel;
+
+import com.google.common.base.MoreObjects;
+import com.model.formatter.FormatterContext;
+import org.apache.poi.common.usermodel.fonts.FontCharset;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Class for writing to .xlsx format with a sliding window of rows:
+ * only {@link StreamingXlsxFormatter#windowSize} last rows of a sheet are kept in memory,
+ * older rows are flushed to temporary files, which are
+ * gzip-compressed if {@link StreamingXlsxFormatter#isCompressTempFiles} is set.
+ * Strings are written inline unless {@link XlsxStringStrategy#SHARED} strategy is set,
+ * the strategy applies to the whole workbook.
+ * <p>
+ * Rows that have left the window can't be accessed anymore,
+ * auto-width columns are sized by the rows tracked while they were in the window.
+ */
+public class StreamingXlsxFormatter extends ExcelFormatter implements XlsxDetails {
+    /**
+     * Number of rows kept in memory
+     */
+    protected int windowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    /**
+     * Compress temporary files with flushed rows
+     */
+    protected boolean isCompressTempFiles = true;
+
+    /**
+     * Storage of string cell values, {@link XlsxStringStrategy#SHARED} or {@link XlsxStringStrategy#INLINE}
+     */
+    protected XlsxStringStrategy stringStrategy = XlsxStringStrategy.INLINE;
+
+    public StreamingXlsxFormatter() {
+        super(FontCharset.DEFAULT);
+    }
+
+    public StreamingXlsxFormatter(FormatterContext context) {
+        super(context);
+    }
+
+    public static StreamingXlsxFormatter create() {
+        return new StreamingXlsxFormatter();
+    }
+
+    public static StreamingXlsxFormatter create(FormatterContext context) {
+        return new StreamingXlsxFormatter(context);
+    }
+
+    @Override
+    public Workbook getWorkbook() {
+        return Optional.ofNullable(workbook).orElseGet(() -> new SXSSFWorkbook(
+            null,
+            windowSize,
+            isCompressTempFiles,
+            stringStrategy == XlsxStringStrategy.SHARED
+        ));
+    }
+
+    /**
+     * Writes the workbook and closes it, closing deletes temporary files with flushed rows
+     * even if the workbook can't be written
+     *
+     * @throws IOException if an error occurred while saving the resource
+     */
+    @Override
+    public void cleanupResource() throws IOException {
+        try {
+            workbook.write(getOutputStream());
+        } finally {
+            workbook.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return
+            MoreObjects.toStringHelper(this)
+                .add("resource", resource)
+                .add("fileName", fileName)
+                .add("windowSize", windowSize)
+                .add("isCompressTempFiles", isCompressTempFiles)
+                .add("stringStrategy", stringStrategy)
+                .toString();
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public StreamingXlsxFormatter setWindowSize(int windowSize) {
+        if (windowSize == 0 || windowSize < -1) {
+            throw new IllegalArgumentException(
+                String.format("Window size must be positive or -1 for unlimited, but was %d", windowSize)
+            );
+        }
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public boolean isCompressTempFiles() {
+        return isCompressTempFiles;
+    }
+
+    public StreamingXlsxFormatter setCompressTempFiles(boolean isCompressTempFiles) {
+        this.isCompressTempFiles = isCompressTempFiles;
+        return this;
+    }
+
+    public XlsxStringStrategy getStringStrategy() {
+        return stringStrategy;
+    }
+
+    public StreamingXlsxFormatter setStringStrategy(XlsxStringStrategy stringStrategy) {
+        if (stringStrategy == XlsxStringStrategy.ADAPTIVE) {
+            throw new IllegalArgumentException(
+                String.format("Streaming workbook stores all strings one way, %s strategy is not supported", stringStrategy)
+            );
+        }
+        this.stringStrategy = stringStrategy;
+        return this;
+    }
+}
@@ -1,6 +1,9 @@
 package com.model.formatter.excel;
 
+import com.google.common.base.MoreObjects;
+import com.model.domain.style.StyleService;
 import com.model.formatter.FormatterContext;
+import com.model.formatter.excel.style.ExcelStyleService;
 import org.apache.poi.common.usermodel.fonts.FontCharset;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -13,6 +16,10 @@ import java.util.Optional;
  */
 @Component
 public class XlsxFormatter extends ExcelFormatter implements XlsxDetails {
+    /**
+     * Storage of string cell values, strings are shared by default
+     */
+    protected XlsxStringStrategy stringStrategy = XlsxStringStrategy.SHARED;
 
     public XlsxFormatter() {
         super(FontCharset.DEFAULT);
@@ -34,4 +41,28 @@ public class XlsxFormatter extends ExcelFormatter implements XlsxDetails {
     public Workbook getWorkbook() {
         return Optional.ofNullable(workbook).orElse(new XSSFWorkbook());
     }
+
+    @Override
+    public StyleService getStyleService() {
+        return ((ExcelStyleService) super.getStyleService()).setStringStrategy(stringStrategy);
+    }
+
+    @Override
+    public String toString() {
+        return
+            MoreObjects.toStringHelper(this)
+                .add("resource", resource)
+                .add("fileName", fileName)
+                .add("stringStrategy", stringStrategy)
+                .toString();
+    }
+
+    public XlsxStringStrategy getStringStrategy() {
+        return stringStrategy;
+    }
+
+    public XlsxFormatter setStringStrategy(XlsxStringStrategy stringStrategy) {
+        this.stringStrategy = stringStrategy;
+        return this;
+    }
 }
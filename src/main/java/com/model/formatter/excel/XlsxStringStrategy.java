@@ -0,0 +1,15 @@
+package com.model.formatter.excel;
+
+/**
+ * Storage of string cell values in xlsx files:
+ * SHARED - strings are kept once in the shared strings table of the workbook and cells refer to them,
+ * the table is held in memory until the workbook is written, so it grows with the number of distinct strings,
+ * INLINE - strings are written into the cells, repeated strings take place in every cell,
+ * ADAPTIVE - strings of table cells are shared until a column turns out to have mostly distinct values
+ * (ids, uuids, free text), further strings of such a column are inlined
+ */
+public enum XlsxStringStrategy {
+    SHARED,
+    INLINE,
+    ADAPTIVE
+}
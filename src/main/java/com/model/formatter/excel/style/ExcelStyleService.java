@@ -2,6 +2,7 @@ package com.model.formatter.excel.style;
 
 import com.google.common.base.MoreObjects;
 import com.model.domain.Picture;
+import com.model.domain.TableCell;
 import com.model.domain.core.DataItem;
 import com.model.domain.core.TextItem;
 import com.model.domain.style.BorderStyle;
@@ -9,6 +10,7 @@ import com.model.domain.style.LayoutStyle;
 import com.model.domain.style.LayoutTextStyle;
 import com.model.domain.style.Style;
 import com.model.domain.style.StyleService;
+import com.model.domain.style.StyleUtils;
 import com.model.domain.style.TextStyle;
 import com.model.domain.style.constant.BorderWeight;
 import com.model.domain.style.constant.Color;
@@ -17,11 +19,12 @@ import com.model.domain.style.constant.HorAlignment;
 import com.model.domain.style.constant.PictureFormat;
 import com.model.domain.style.constant.VertAlignment;
 import com.model.domain.style.geometry.GeometryDetails;
+import com.model.formatter.PictureRegistry;
 import com.model.formatter.excel.XlsDetails;
+import com.model.formatter.excel.XlsxStringStrategy;
 import com.model.utils.CastUtils;
 import com.model.utils.LocalizedNumberUtils;
 import com.model.utils.MapBuilder;
-import org.apache.commons.io.IOUtils;
 import org.apache.poi.common.usermodel.fonts.FontCharset;
 import org.apache.poi.hssf.usermodel.HSSFPalette;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
@@ -34,18 +37,29 @@ import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFClientAnchor;
 import org.apache.poi.xssf.usermodel.XSSFDrawing;
 import org.apache.poi.xssf.usermodel.XSSFPicture;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
 import org.springframework.util.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -111,14 +125,62 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
             .put(PictureFormat.PICT, Workbook.PICTURE_TYPE_PICT)
             .build();
 
+    /**
+     * Excel data format of numbers without a decimal format
+     */
+    private static final String GENERAL_FORMAT = "General";
+    /**
+     * Excel data format of numbers localized by the font locale of the text style
+     */
+    private static final String LOCALIZED_NUMBER_FORMAT = "#,##0.000";
+    private static final String DATE_FORMAT = "yyyy-mm-dd";
+    private static final String DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+    /**
+     * Characters of DecimalFormat patterns, which mean the same in Excel data formats
+     */
+    private static final String EXCEL_NUMBER_FORMAT_CHARS = "0#,.%;-";
+    /**
+     * Numbers with more significant digits are written as text, so they aren't rounded to double
+     */
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    private static final int MAX_EXACT_DOUBLE_BITS = 53;
+    /**
+     * Number of strings of a column sampled by {@link XlsxStringStrategy#ADAPTIVE} strategy,
+     * the column is inlined if more than a half of the sampled strings are distinct
+     */
+    private static final int ADAPTIVE_SAMPLE_SIZE = 1000;
+
     private static final HSSFPalette palette;
 
     protected final Map<Cell, LayoutStyle> needAdjustHeaderCells = new HashMap<>();
+    /**
+     * Storage of strings in cells of in-memory xlsx workbooks,
+     * other workbooks store strings their own way
+     */
+    protected XlsxStringStrategy stringStrategy = XlsxStringStrategy.SHARED;
 
     private final FontCharset fontCharset;
     private final Map<LayoutStyle, CellStyle> layoutStyles = new HashMap<>();
     private final Map<TextStyle, CellStyle> textStyles = new HashMap<>();
     private final Map<LayoutTextStyle, CellStyle> layoutTextStyles = new HashMap<>();
+    /**
+     * Data format indexes of the workbook
+     */
+    private final Map<String, Short> dataFormats = new HashMap<>();
+    /**
+     * Cell styles with data formats, made of the cell styles of styled cells, by the workbook index of the cell style:
+     * the index is cheap to hash, while XSSFCellStyle hashes and compares its serialized xml
+     */
+    private final Map<Short, Map<String, CellStyle>> dataFormatStyles = new HashMap<>();
+    /**
+     * Workbook picture indexes of distinct pictures, every distinct picture is added to the workbook once
+     */
+    private final PictureRegistry<Integer> pictureRegistry = PictureRegistry.create();
+    /**
+     * Strings sampled per column of {@link ExcelStyleService#stringsSheet} by the adaptive string strategy
+     */
+    private final Map<Integer, ColumnStrings> columnStrings = new HashMap<>();
+    private Sheet stringsSheet;
     private Workbook workbook;
 
     static {
@@ -288,10 +350,23 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
         }
     }
 
+    /**
+     * Fits the column width to its content.
+     * A streaming sheet keeps only a window of rows, so its column is
+     * tracked instead and sized in {@link ExcelStyleService#adjustHeaderCells()}
+     *
+     * @param cell        cell of the column
+     * @param layoutStyle style with autoWidth flag
+     */
     public static void applyAutoWidth(Cell cell, LayoutStyle layoutStyle) {
         final Boolean isAutoWidth = layoutStyle.isAutoWidth();
         if (isAutoWidth != null && isAutoWidth) {
-            cell.getSheet().autoSizeColumn(cell.getColumnIndex());
+            final Sheet sheet = cell.getSheet();
+            if (sheet instanceof SXSSFSheet) {
+                ((SXSSFSheet) sheet).trackColumnForAutoSizing(cell.getColumnIndex());
+            } else {
+                sheet.autoSizeColumn(cell.getColumnIndex());
+            }
         }
     }
 
@@ -369,12 +444,23 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
 
     public void adjustHeaderCells() {
         needAdjustHeaderCells.forEach(ExcelStyleService::applyAutoWidth);
+        if (workbook instanceof SXSSFWorkbook && workbook.getNumberOfSheets() > 0) {
+            final SXSSFSheet sheet = (SXSSFSheet) workbook.getSheetAt(workbook.getNumberOfSheets() - 1);
+            for (final Integer column : sheet.getTrackedColumnsForAutoSizing()) {
+                sheet.autoSizeColumn(column);
+            }
+        }
     }
 
     @Override
     public void writeStyles(Object o) {
         final Workbook workbook = (Workbook) o;
         this.workbook = workbook;
+        pictureRegistry.clear();
+        dataFormats.clear();
+        dataFormatStyles.clear();
+        columnStrings.clear();
+        stringsSheet = null;
         final CellStyle style = workbook.createCellStyle();
         final Font font = workbook.createFont();
         style.setFont(font);
@@ -384,7 +470,8 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
     }
 
     /**
-     * Writes DocumentItem to excel cell
+     * Writes DocumentItem to excel cell,
+     * typed values of table cells are written as native numeric, boolean and date cells
      *
      * @param dataItem DocumentItem
      * @param cellObj  native excel cell
@@ -395,27 +482,21 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
     public void writeItemToCell(DataItem dataItem, Cell cellObj)
         throws Exception {
         XSSFPicture xssfPicture = null;
+        String dataFormat = GENERAL_FORMAT;
         final Style style = prepareStyleFrom(dataItem);
         if (dataItem.isDataInheritedFrom(TextItem.class)) {
             workbook.getFontAt(cellObj.getCellStyle().getFontIndex()).setCharSet(fontCharset.getNativeId());
-            if (StringUtils.hasText(dataItem.getText())) {
-                cellObj.setCellValue(
-                    LocalizedNumberUtils.applyDecimalFormat(dataItem.getText(), dataItem.getStyle(), decimalFormat)
-                );
-            } else {
-                cellObj.setCellValue("");
-            }
+            dataFormat = writeTextToCell(dataItem, cellObj);
         }
         if (dataItem.isDataInheritedFrom(Picture.class)) {
             final Picture picture = (Picture) dataItem;
-            final InputStream pictureStream = new ByteArrayInputStream(picture.getData());
             final int picInd =
-                workbook.addPicture(
-                    IOUtils.toByteArray(pictureStream),
-                    toExcelPictureFormat(picture.getFormat())
+                pictureRegistry.computeIfAbsent(
+                    picture.getData(),
+                    data -> workbook.addPicture(data, toExcelPictureFormat(picture.getFormat()))
                 );
             final Sheet lastSheet = workbook.getSheetAt(workbook.getNumberOfSheets() - 1);
-            final XSSFDrawing drawing = (XSSFDrawing) lastSheet.createDrawingPatriarch();
+            final XSSFDrawing drawing = getDrawingPatriarch(lastSheet);
             final XSSFClientAnchor pictureAnchor = new XSSFClientAnchor();
             final int col1 = cellObj.getColumnIndex();
             final int col2 = cellObj.getColumnIndex() + 1;
@@ -434,17 +515,185 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
         } else if (style instanceof LayoutTextStyle) {
             convertLayoutTextStyleToCell(cellObj, (LayoutTextStyle) style, xssfPicture);
         }
+        if (!GENERAL_FORMAT.equals(dataFormat)) {
+            applyDataFormat(cellObj, dataFormat);
+        }
+    }
+
+    /**
+     * Writes the text or the typed value of the item to the cell
+     *
+     * @param dataItem text item
+     * @param cellObj  native excel cell
+     * @return data format of the written value
+     * @throws ParseException when can't apply DecimalFormat to the text
+     */
+    private String writeTextToCell(DataItem dataItem, Cell cellObj) throws ParseException {
+        final Object value = dataItem instanceof TableCell ? ((TableCell) dataItem).getValue() : null;
+        if (value instanceof Number && isExactDouble((Number) value)) {
+            final String numberFormat = getNumberFormat(dataItem.getStyle());
+            if (numberFormat != null) {
+                cellObj.setCellValue(((Number) value).doubleValue());
+                return numberFormat;
+            }
+        } else if (value instanceof Boolean) {
+            cellObj.setCellValue((Boolean) value);
+            return GENERAL_FORMAT;
+        } else if (value instanceof LocalDate) {
+            cellObj.setCellValue((LocalDate) value);
+            return DATE_FORMAT;
+        } else if (value instanceof LocalDateTime) {
+            cellObj.setCellValue((LocalDateTime) value);
+            return DATE_TIME_FORMAT;
+        } else if (value instanceof Date) {
+            cellObj.setCellValue((Date) value);
+            return value instanceof java.sql.Date ? DATE_FORMAT : DATE_TIME_FORMAT;
+        }
+        if (StringUtils.hasText(dataItem.getText())) {
+            writeStringToCell(
+                dataItem,
+                cellObj,
+                LocalizedNumberUtils.applyDecimalFormat(dataItem.getText(), dataItem.getStyle(), decimalFormat)
+            );
+        } else {
+            writeStringToCell(dataItem, cellObj, "");
+        }
+        return GENERAL_FORMAT;
+    }
+
+    /**
+     * Writes the string to the cell as a shared or an inline string by {@link ExcelStyleService#stringStrategy}
+     *
+     * @param dataItem text item
+     * @param cellObj  native excel cell
+     * @param text     string value of the cell
+     */
+    private void writeStringToCell(DataItem dataItem, Cell cellObj, String text) {
+        if (cellObj instanceof XSSFCell && isInlineString(dataItem, cellObj, text)) {
+            final CTCell ctCell = ((XSSFCell) cellObj).getCTCell();
+            if (ctCell.isSetV()) {
+                ctCell.unsetV();
+            }
+            ctCell.setT(STCellType.INLINE_STR);
+            ctCell.setIs(new XSSFRichTextString(text).getCTRst());
+        } else {
+            cellObj.setCellValue(text);
+        }
+    }
+
+    private boolean isInlineString(DataItem dataItem, Cell cellObj, String text) {
+        switch (stringStrategy) {
+            case INLINE:
+                return true;
+            case ADAPTIVE:
+                if (!(dataItem instanceof TableCell)) {
+                    return false;
+                }
+                if (cellObj.getSheet() != stringsSheet) { // NOPMD - sheets are compared by identity
+                    stringsSheet = cellObj.getSheet();
+                    columnStrings.clear();
+                }
+                return columnStrings.computeIfAbsent(cellObj.getColumnIndex(), column -> new ColumnStrings()).isInline(text);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the Excel data format of numbers:
+     * the pattern of the decimal format if Excel understands it,
+     * the localized number format if the text style has a font locale
+     *
+     * @param style style of the item
+     * @return data format or null if numbers are written as text formatted by the decimal format
+     */
+    private String getNumberFormat(Style style) {
+        final TextStyle textStyle = StyleUtils.extractTextStyle(style);
+        final DecimalFormat format = decimalFormat != null
+            ? decimalFormat
+            : textStyle != null
+                ? textStyle.getDecimalFormat()
+                : null;
+        if (format != null) {
+            final String pattern = format.toPattern();
+            for (int i = 0; i < pattern.length(); i++) {
+                if (EXCEL_NUMBER_FORMAT_CHARS.indexOf(pattern.charAt(i)) < 0) {
+                    return null;
+                }
+            }
+            return pattern;
+        }
+        return textStyle != null && textStyle.getFontLocale() != null ? LOCALIZED_NUMBER_FORMAT : GENERAL_FORMAT;
+    }
+
+    private static boolean isExactDouble(Number value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte
+            || value instanceof Double || value instanceof Float) {
+            return true;
+        }
+        if (value instanceof Long) {
+            return Math.abs(value.longValue()) <= 1L << MAX_EXACT_DOUBLE_BITS;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).precision() <= MAX_EXACT_DOUBLE_DIGITS;
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() <= MAX_EXACT_DOUBLE_BITS;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the data format to the cell keeping the rest of its style,
+     * cell styles with data formats are created once per cell style and data format
+     *
+     * @param cellObj    native excel cell
+     * @param dataFormat Excel data format
+     */
+    private void applyDataFormat(Cell cellObj, String dataFormat) {
+        final CellStyle cellStyle = cellObj.getCellStyle();
+        final Map<String, CellStyle> formatStyles = dataFormatStyles.computeIfAbsent(cellStyle.getIndex(), k -> new HashMap<>());
+        final boolean isCached = formatStyles.containsKey(dataFormat);
+        reportStyleCache("dataFormatStyles", isCached);
+        if (!isCached) {
+            final CellStyle formatStyle = workbook.createCellStyle();
+            formatStyle.cloneStyleFrom(cellStyle);
+            formatStyle.setDataFormat(
+                dataFormats.computeIfAbsent(dataFormat, format -> workbook.createDataFormat().getFormat(format))
+            );
+            formatStyles.put(dataFormat, formatStyle);
+        }
+        cellObj.setCellStyle(formatStyles.get(dataFormat));
+    }
+
+    /**
+     * Drawings are not a part of the row data,
+     * so a streaming sheet draws on its backing XSSFSheet
+     *
+     * @param sheet excel sheet
+     * @return drawing of the sheet
+     */
+    private XSSFDrawing getDrawingPatriarch(Sheet sheet) {
+        if (workbook instanceof SXSSFWorkbook) {
+            return ((SXSSFWorkbook) workbook)
+                .getXSSFWorkbook()
+                .getSheet(sheet.getSheetName())
+                .createDrawingPatriarch();
+        }
+        return (XSSFDrawing) sheet.createDrawingPatriarch();
     }
 
     public void convertTextStyleToCell(Cell cell, TextStyle textStyle) {
-        final Workbook wb = cell.getSheet().getWorkbook();
-        CellStyle cellStyle = wb.createCellStyle();
-        final Font font;
-        if (textStyles.containsKey(textStyle)) {
+        final CellStyle cellStyle;
+        final boolean isCached = textStyles.containsKey(textStyle);
+        reportStyleCache("textStyles", isCached);
+        if (isCached) {
             cellStyle = textStyles.get(textStyle);
         } else {
-            font = createFontFromTextStyle(textStyle, wb);
-            cellStyle.setFont(font);
+            final Workbook wb = cell.getSheet().getWorkbook();
+            cellStyle = wb.createCellStyle();
+            cellStyle.setFont(createFontFromTextStyle(textStyle, wb));
+            textStyles.put(textStyle, cellStyle);
         }
         cell.setCellStyle(cellStyle);
     }
@@ -452,7 +701,9 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
     public void convertLayoutStyleToCell(Cell cell, LayoutStyle layoutStyle, XSSFPicture xssfPicture) {
         final CellStyle cellStyle;
 
-        if (layoutStyles.containsKey(layoutStyle)) {
+        final boolean isCached = layoutStyles.containsKey(layoutStyle);
+        reportStyleCache("layoutStyles", isCached);
+        if (isCached) {
             cellStyle = layoutStyles.get(layoutStyle);
         } else {
             cellStyle = cell.getSheet().getWorkbook().createCellStyle();
@@ -469,7 +720,9 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
         final TextStyle textStyle = layoutTextStyle.getTextStyle();
         final LayoutStyle layoutStyle = layoutTextStyle.getLayoutStyle();
 
-        if (layoutTextStyles.containsKey(layoutTextStyle)) {
+        final boolean isCached = layoutTextStyles.containsKey(layoutTextStyle);
+        reportStyleCache("layoutTextStyles", isCached);
+        if (isCached) {
             cellStyle = layoutTextStyles.get(layoutTextStyle);
         } else {
             cellStyle = wb.createCellStyle();
@@ -523,6 +776,7 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
                 .add("layoutStyles", layoutStyles)
                 .add("textStyles", textStyles)
                 .add("layoutTextStyles", layoutTextStyles)
+                .add("stringStrategy", stringStrategy)
                 .toString();
     }
 
@@ -536,4 +790,43 @@ public class ExcelStyleService extends StyleService implements XlsDetails {
             needAdjustHeaderCells.put(cell, layoutStyle);
         }
     }
+
+    public XlsxStringStrategy getStringStrategy() {
+        return stringStrategy;
+    }
+
+    public ExcelStyleService setStringStrategy(XlsxStringStrategy stringStrategy) {
+        this.stringStrategy = stringStrategy;
+        return this;
+    }
+
+    /**
+     * Strings of a column sampled by the adaptive string strategy,
+     * the samples are dropped once the strategy of the column is decided
+     */
+    private static final class ColumnStrings {
+        private Set<String> samples = new HashSet<>();
+        private int sampleCount;
+        private boolean isInline;
+
+        /**
+         * Samples the string of the column until the column strategy is decided
+         *
+         * @param text string of the next cell of the column
+         * @return true if the string is to be inlined
+         */
+        boolean isInline(String text) {
+            if (samples != null) {
+                samples.add(text);
+                sampleCount++;
+                if (samples.size() > ADAPTIVE_SAMPLE_SIZE / 2) {
+                    isInline = true;
+                    samples = null;
+                } else if (sampleCount >= ADAPTIVE_SAMPLE_SIZE) {
+                    samples = null;
+                }
+            }
+            return isInline;
+        }
+    }
 }
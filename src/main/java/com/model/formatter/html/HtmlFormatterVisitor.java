@@ -1,6 +1,7 @@
 package com.model.formatter.html;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.io.CountingOutputStream;
 import com.model.domain.Document;
 import com.model.domain.DocumentCase;
 import com.model.domain.Footer;
@@ -17,6 +18,7 @@ import com.model.domain.Title;
 import com.model.domain.core.CompositionPart;
 import com.model.domain.core.DataItem;
 import com.model.domain.core.PictureItem;
+import com.model.domain.core.PictureMetadata;
 import com.model.domain.core.TextItem;
 import com.model.domain.style.BorderStyle;
 import com.model.domain.style.LayoutStyle;
@@ -27,6 +29,8 @@ import com.model.domain.style.constant.Color;
 import com.model.domain.style.constant.PictureFormat;
 import com.model.formatter.BaseDetails;
 import com.model.formatter.Formatter;
+import com.model.formatter.PictureRegistry;
+import com.model.formatter.html.attribute.HtmlSrcAttribute;
 import com.model.formatter.html.style.HtmlLayoutTextStyle;
 import com.model.formatter.html.style.HtmlStyleService;
 import com.model.formatter.html.tag.Html;
@@ -47,23 +51,56 @@ import com.model.formatter.html.tag.HtmlTableHeaderCell;
 import com.model.formatter.html.tag.HtmlTableRow;
 import com.model.formatter.html.tag.HtmlTag;
 import com.model.formatter.html.tag.HtmlTitle;
-import com.model.utils.PictureUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.HtmlUtils;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 /**
- * The class generates a representation of the html document {@link Document}
+ * The class generates a representation of the html document {@link Document}.
+ * The output is buffered, the buffered html is sent to the output stream and the stream is flushed
+ * every {@link HtmlFormatterVisitor#flushRows} table rows, every {@link HtmlFormatterVisitor#flushSize} bytes
+ * or after each table if {@link HtmlFormatterVisitor#isFlushAfterTable} is set,
+ * so e.g. an HTTP response receives the report progressively
  */
 public abstract class HtmlFormatterVisitor extends Formatter implements BaseDetails {
-
-    protected OutputStreamWriter outputStreamWriter;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /**
+     * Size of the character buffer in front of the encoder, it collects small writes of tags
+     */
+    private static final int WRITER_BUFFER_SIZE = 8 * 1024;
+
+    protected Writer outputStreamWriter;
+
+    /**
+     * Size of the output buffer in bytes
+     */
+    protected int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Number of table rows after which the output is flushed, 0 if rows don't flush the output
+     */
+    protected int flushRows;
+
+    /**
+     * Number of encoded bytes after which the output is flushed at the end of a row,
+     * 0 if the output isn't flushed by size.
+     * Bytes are counted as the encoder writes them, it lags behind the html by its buffers (up to 16 KiB)
+     */
+    protected long flushSize;
+
+    /**
+     * Flush the output after each table
+     */
+    protected boolean isFlushAfterTable;
 
     protected String encoding;
     protected Locale locale;
@@ -73,6 +110,26 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
 
     protected TagCreator tagCreator;
 
+    /**
+     * Data URIs of distinct pictures within one document or their css classes if the document refers to css classes
+     */
+    protected final PictureRegistry<String> pictureRegistry = PictureRegistry.create();
+
+    /**
+     * Rows written since the output was flushed
+     */
+    private int unflushedRows;
+
+    /**
+     * Counts the bytes of the encoded html on their way to the output buffer
+     */
+    private CountingOutputStream encodedOutputStream;
+
+    /**
+     * Encoded byte count when the output was flushed
+     */
+    private long flushedByteCount;
+
     @Override
     public void initializeResource() throws IOException {
         outputStream = getOutputStream();
@@ -81,8 +138,19 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
     @Override
     public void visitDocument(Document documentObj) throws Throwable {
         styleService = getStyleService();
-        outputStreamWriter = new OutputStreamWriter(outputStream, encoding);
-        tagCreator = getTagCreator();
+        pictureRegistry.clear();
+        encodedOutputStream = new CountingOutputStream(new BufferedOutputStream(outputStream, bufferSize));
+        outputStreamWriter = new BufferedWriter(new OutputStreamWriter(encodedOutputStream, encoding), WRITER_BUFFER_SIZE);
+        unflushedRows = 0;
+        flushedByteCount = 0;
+        final HtmlStyleService htmlStyleService = (HtmlStyleService) styleService;
+        tagCreator = getTagCreator()
+            .setOutputStreamWriter(outputStreamWriter)
+            .setCssClasses(
+                htmlStyleService.isUseCssClasses() && !htmlStyleService.isUseHtml4Tags()
+                    ? htmlStyleService.getCssClasses()
+                    : null
+            );
         tagCreator.write("<!doctype html>");
         final Html html = new Html();
         final HtmlHead htmlHead = new HtmlHead();
@@ -100,7 +168,6 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
         }
         tagCreator.write(htmlHead.close());
         final Style documentStyle = styleService.prepareStyleFrom(documentObj);
-        final HtmlStyleService htmlStyleService = (HtmlStyleService) styleService;
         tagCreator.writeTag(
             htmlBody,
             null,
@@ -158,10 +225,8 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
 
     @Override
     public void visitPicture(Picture pictureObj) throws Exception {
-        final HtmlPicture htmlPicture = new HtmlPicture();
-        htmlPicture.setSrc(pictureObj.getData());
         final Style style = styleService.extractStyleFor(pictureObj).orElse(pictureObj.getStyle());
-        handleTag(htmlPicture, null, style, true);
+        writePicture(pictureObj.getData(), pictureObj.getPictureMetadata(), style);
     }
 
     @Override
@@ -180,7 +245,10 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
         }
 
         this.visitComposition(tableObj);
-        outputStreamWriter.write(htmlTable.close());
+        htmlTable.writeClose(outputStreamWriter);
+        if (isFlushAfterTable) {
+            flushOutput();
+        }
     }
 
     @Override
@@ -200,11 +268,11 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
         final boolean isNeedColGroupTag = !htmlStyles.isEmpty();
         if (isNeedColGroupTag) {
             final HtmlColgroup htmlColgroup = new HtmlColgroup();
-            outputStreamWriter.write(htmlColgroup.open());
+            htmlColgroup.writeOpen(outputStreamWriter, false);
             for (final HtmlLayoutTextStyle htmlStyle : htmlStyles) {
                 handleTag(new HtmlCol(), "", htmlStyle, true);
             }
-            outputStreamWriter.write(htmlColgroup.close());
+            htmlColgroup.writeClose(outputStreamWriter);
         }
         visitRow(tableHeaderRowObj);
     }
@@ -263,7 +331,7 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
             if (cellDivStyle != null) {
                 handleTag(htmlCell, null, cellStyle, false);
                 handleTag(htmlDiv, cellObj.getText(), cellDivStyle, true);
-                outputStreamWriter.write(htmlCell.close());
+                htmlCell.writeClose(outputStreamWriter);
             } else {
                 handleTag(htmlCell, cellObj.getText(), cellStyle, true);
             }
@@ -278,14 +346,75 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
     protected void handlePictureInTag(DataItem item, HtmlTag htmlTag, Style tagStyle, Style pictureStyle)
         throws Exception {
         final byte[] data = item.getData();
-        final PictureFormat pictureFormat = PictureUtils.getFormat(data);
+        final PictureFormat pictureFormat = getPictureFormat(item);
         final Picture picture = Picture.create(data, pictureFormat).setStyle(pictureStyle);
         final Style preparedPictureStyle = styleService.prepareStyleFrom(picture);
-        final HtmlPicture htmlPicture = new HtmlPicture();
-        htmlPicture.setSrc(picture.getData());
         handleTag(htmlTag, null, tagStyle, false);
-        handleTag(htmlPicture, null, preparedPictureStyle, true);
-        outputStreamWriter.write(htmlTag.close());
+        writePicture(data, item.getPictureMetadata(), preparedPictureStyle);
+        htmlTag.writeClose(outputStreamWriter);
+    }
+
+    /**
+     * Writes the picture. If the document refers to css classes, the picture is embedded once as a css class
+     * and every occurrence of it is a block of this class, otherwise it's an img element with the data URI
+     *
+     * @param data            picture raw data
+     * @param pictureMetadata picture metadata
+     * @param style           style of the picture
+     * @throws Exception if the picture can't be written
+     */
+    protected void writePicture(byte[] data, PictureMetadata pictureMetadata, Style style) throws Exception {
+        final PictureFormat pictureFormat = pictureMetadata != null ? pictureMetadata.getFormat() : null;
+        final TagCreator creator = getTagCreator();
+        if (
+            creator.getCssClasses() != null
+                && data != null
+                && pictureFormat != null
+                && pictureMetadata.getWidth() > 0
+                && pictureMetadata.getHeight() > 0
+        ) {
+            final String pictureClass = pictureRegistry.computeIfAbsent(
+                data,
+                d -> creator.getCssClass(TagCreator.toPictureCss(HtmlSrcAttribute.toDataUri(d, pictureFormat)))
+            );
+            creator.writePicture(
+                new HtmlDiv(),
+                style,
+                pictureClass,
+                pictureMetadata.getWidth(),
+                pictureMetadata.getHeight()
+            );
+            return;
+        }
+        final HtmlPicture htmlPicture = new HtmlPicture();
+        htmlPicture.setSrc(getDataUri(data, pictureFormat));
+        handleTag(htmlPicture, null, style, true);
+    }
+
+    /**
+     * Returns the format of the item picture from its cached metadata
+     *
+     * @param item picture item
+     * @return picture format or null if there is no data or the format isn't known
+     */
+    protected static PictureFormat getPictureFormat(DataItem item) {
+        final PictureMetadata pictureMetadata = item.getPictureMetadata();
+        return pictureMetadata != null ? pictureMetadata.getFormat() : null;
+    }
+
+    /**
+     * Returns the data URI of the picture, it's encoded once for every distinct picture of the document
+     *
+     * @param data          picture raw data
+     * @param pictureFormat picture format
+     * @return data URI or null if there is no data or the format isn't known
+     * @throws Exception if the picture can't be encoded
+     */
+    protected String getDataUri(byte[] data, PictureFormat pictureFormat) throws Exception {
+        if (data == null || pictureFormat == null) {
+            return null;
+        }
+        return pictureRegistry.computeIfAbsent(data, d -> HtmlSrcAttribute.toDataUri(d, pictureFormat));
     }
 
     protected void handleTag(HtmlTag tag, String text, Style style, Boolean needCloseTag) throws Exception {
@@ -307,9 +436,34 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
 
     protected void visitRow(CompositionPart<?, ?> row) throws Throwable {
         final HtmlTableRow htmlTableRow = new HtmlTableRow();
-        outputStreamWriter.write(htmlTableRow.open());
+        htmlTableRow.writeOpen(outputStreamWriter, false);
         this.visitComposition(row);
-        outputStreamWriter.write(htmlTableRow.close());
+        htmlTableRow.writeClose(outputStreamWriter);
+        unflushedRows++;
+        if (flushRows > 0 && unflushedRows >= flushRows || flushSize > 0 && getUnflushedByteCount() >= flushSize) {
+            flushOutput();
+        }
+    }
+
+    /**
+     * @return bytes encoded since the output was flushed
+     */
+    private long getUnflushedByteCount() {
+        return encodedOutputStream != null ? encodedOutputStream.getCount() - flushedByteCount : 0;
+    }
+
+    /**
+     * Sends the buffered html to the output stream and flushes the stream
+     *
+     * @throws IOException if the output can't be written
+     */
+    @Override
+    protected void flushOutput() throws IOException {
+        outputStreamWriter.flush();
+        unflushedRows = 0;
+        if (encodedOutputStream != null) {
+            flushedByteCount = encodedOutputStream.getCount();
+        }
     }
 
     @Override
@@ -320,18 +474,67 @@ public abstract class HtmlFormatterVisitor extends Formatter implements BaseDeta
             .add("locale", locale)
             .add("decimalFormat", decimalFormat)
             .add("styleService", styleService)
+            .add("bufferSize", bufferSize)
+            .add("flushRows", flushRows)
+            .add("flushSize", flushSize)
+            .add("isFlushAfterTable", isFlushAfterTable)
             .toString();
     }
 
-    public OutputStreamWriter getOutputStreamWriter() {
+    public Writer getOutputStreamWriter() {
         return outputStreamWriter;
     }
 
-    public HtmlFormatterVisitor setOutputStreamWriter(OutputStreamWriter outputStreamWriter) {
+    public HtmlFormatterVisitor setOutputStreamWriter(Writer outputStreamWriter) {
         this.outputStreamWriter = outputStreamWriter;
         return this;
     }
 
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public HtmlFormatterVisitor setBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(String.format("Buffer size must be positive, but was %d", bufferSize));
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public int getFlushRows() {
+        return flushRows;
+    }
+
+    public HtmlFormatterVisitor setFlushRows(int flushRows) {
+        if (flushRows < 0) {
+            throw new IllegalArgumentException(String.format("Flush rows must not be negative, but was %d", flushRows));
+        }
+        this.flushRows = flushRows;
+        return this;
+    }
+
+    public long getFlushSize() {
+        return flushSize;
+    }
+
+    public HtmlFormatterVisitor setFlushSize(long flushSize) {
+        if (flushSize < 0) {
+            throw new IllegalArgumentException(String.format("Flush size must not be negative, but was %d", flushSize));
+        }
+        this.flushSize = flushSize;
+        return this;
+    }
+
+    public boolean isFlushAfterTable() {
+        return isFlushAfterTable;
+    }
+
+    public HtmlFormatterVisitor setFlushAfterTable(boolean isFlushAfterTable) {
+        this.isFlushAfterTable = isFlushAfterTable;
+        return this;
+    }
+
     public String getEncoding() {
         return encoding;
     }
@@ -6,6 +6,7 @@ import com.model.domain.style.Style;
 import com.model.domain.style.StyleUtils;
 import com.model.domain.style.TextStyle;
 import com.model.formatter.html.style.CssStyle;
+import com.model.formatter.html.style.HtmlCssClasses;
 import com.model.formatter.html.style.HtmlStyleService;
 import com.model.formatter.html.tag.Html4Font;
 import com.model.formatter.html.tag.HtmlTag;
@@ -13,15 +14,19 @@ import com.model.utils.LocalizedNumberUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 
 public class TagCreator {
-    protected OutputStreamWriter outputStreamWriter;
+    protected Writer outputStreamWriter;
     protected DecimalFormat decimalFormat;
+    /**
+     * Css classes referred by tags instead of inline styles, inline styles are written if it's null
+     */
+    protected HtmlCssClasses cssClasses;
 
-    public TagCreator(OutputStreamWriter outputStreamWriter, DecimalFormat decimalFormat) {
+    public TagCreator(Writer outputStreamWriter, DecimalFormat decimalFormat) {
         this.outputStreamWriter = outputStreamWriter;
         this.decimalFormat = decimalFormat;
     }
@@ -35,6 +40,10 @@ public class TagCreator {
         return this;
     }
 
+    /**
+     * Writes the tag with its attributes and the escaped text straight to the writer,
+     * the css style of the tag is created only if the style is written inside the tag or refers to a css class
+     */
     public void writeTag(
         HtmlTag htmlTag,
         String text,
@@ -44,68 +53,139 @@ public class TagCreator {
         boolean isBordersCollapse,
         Boolean needCloseTag
     ) throws IOException, ParseException {
-        final CssStyle cssStyle = new CssStyle();
         if (isUseHtml4Tags) {
             final LayoutStyle layoutStyle = LayoutStyle.extractLayoutStyle(style);
             HtmlStyleService.fillHtml4StyleTagsFromStyle(htmlTag, layoutStyle, htmlTag);
-            write(String.format("<%s%s>", htmlTag.getTagName(), htmlTag.attributesToHtmlString(true)));
+            htmlTag.writeOpen(outputStreamWriter, true);
             if (StringUtils.hasText(text)) {
-                final String formattedText =
-                    HtmlStyleService.escapeHtml(
-                        LocalizedNumberUtils.applyDecimalFormat(text, style, decimalFormat)
-                    );
+                final String formattedText = LocalizedNumberUtils.applyDecimalFormat(text, style, decimalFormat);
                 final TextStyle textStyle = StyleUtils.extractTextStyle(style);
                 if (textStyle != null) {
                     final Html4Font html4Font = HtmlStyleService.convertHtml4Font(textStyle);
-                    write(
-                        String
-                            .format(
-                                "<%s%s>",
-                                html4Font.getTagName(),
-                                html4Font.attributesToHtmlString(true)
-                            )
-                            + formattedText
-                            + html4Font.close()
-                    );
+                    html4Font.writeOpen(outputStreamWriter, true);
+                    HtmlStyleService.escapeHtml(outputStreamWriter, formattedText);
+                    html4Font.writeClose(outputStreamWriter);
                 } else {
-                    write(formattedText);
+                    HtmlStyleService.escapeHtml(outputStreamWriter, formattedText);
                 }
             }
         } else {
-            if (isStyleInHeader) {
+            if (cssClasses != null) {
+                if (style != null || isBordersCollapse) {
+                    final CssStyle cssStyle = new CssStyle();
+                    HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
+                    if (isBordersCollapse) {
+                        cssStyle.setBorderCollapse("collapse");
+                    }
+                    setCssClass(htmlTag, cssStyle.toCssStyleString());
+                }
+            } else if (isStyleInHeader) {
                 htmlTag.setClass(htmlStyleId(style));
             } else if (isBordersCollapse) {
+                final CssStyle cssStyle = new CssStyle();
                 HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
                 cssStyle.setBorderCollapse("collapse");
                 htmlTag.setStyle(cssStyle);
             } else if (style != null) {
+                final CssStyle cssStyle = new CssStyle();
                 HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
                 htmlTag.setStyle(cssStyle);
             }
-            write(String.format("<%s%s>", htmlTag.getTagName(), htmlTag.attributesToHtmlString(false)));
+            htmlTag.writeOpen(outputStreamWriter, false);
             if (StringUtils.hasText(text)) {
-                write(
-                    HtmlStyleService
-                        .escapeHtml(
-                            LocalizedNumberUtils.applyDecimalFormat(text, style, decimalFormat)
-                        )
+                HtmlStyleService.escapeHtml(
+                    outputStreamWriter,
+                    LocalizedNumberUtils.applyDecimalFormat(text, style, decimalFormat)
                 );
             }
         }
         if (needCloseTag) {
-            write(htmlTag.close());
+            htmlTag.writeClose(outputStreamWriter);
+        }
+    }
+
+    /**
+     * Sets the class of the css to the tag, the class of a new css is written
+     * as a style element before the tag
+     */
+    protected void setCssClass(HtmlTag htmlTag, String css) throws IOException {
+        if (css.isEmpty()) {
+            return;
         }
+        htmlTag.setClass(getCssClass(css));
+    }
+
+    /**
+     * Returns the class of the css, the class of a new css is written as a style element
+     *
+     * @param css css text
+     * @return class name
+     * @throws IOException if the writer fails
+     */
+    public String getCssClass(String css) throws IOException {
+        String className = cssClasses.getClassName(css);
+        if (className == null) {
+            className = cssClasses.register(css);
+            outputStreamWriter.write("<style type=\"text/css\">");
+            cssClasses.writeRule(outputStreamWriter, className, css);
+            outputStreamWriter.write("</style>");
+        }
+        return className;
+    }
+
+    /**
+     * Writes the picture as an inline block, which refers to the css class of the picture.
+     * The block is sized by the style or by the picture size in pixels, the size is a class of its own,
+     * so equal sizes of different pictures share it
+     *
+     * @param htmlTag      tag of the picture
+     * @param style        style of the picture
+     * @param pictureClass css class of the picture, see {@link #toPictureCss}
+     * @param width        picture width in pixels
+     * @param height       picture height in pixels
+     * @throws IOException if the writer fails
+     */
+    public void writePicture(HtmlTag htmlTag, Style style, String pictureClass, int width, int height)
+        throws IOException {
+        final CssStyle cssStyle = new CssStyle();
+        HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
+        cssStyle
+            .setDisplay("inline-block")
+            .setWidth(width + "px")
+            .setHeight(height + "px");
+        htmlTag.setClass(pictureClass + " " + getCssClass(cssStyle.toCssStyleString()));
+        htmlTag.writeOpen(outputStreamWriter, false);
+        htmlTag.writeClose(outputStreamWriter);
     }
 
-    public OutputStreamWriter getOutputStreamWriter() {
+    /**
+     * Returns the css of the picture class, the picture is a background stretched to the block
+     *
+     * @param dataUri data URI of the picture
+     * @return css text
+     */
+    public static String toPictureCss(String dataUri) {
+        return "background-image:url(" + dataUri + ");background-repeat:no-repeat;background-size:100% 100%";
+    }
+
+    public Writer getOutputStreamWriter() {
         return outputStreamWriter;
     }
 
-    public TagCreator setOutputStreamWriter(OutputStreamWriter outputStreamWriter) {
+    public TagCreator setOutputStreamWriter(Writer outputStreamWriter) {
         this.outputStreamWriter = outputStreamWriter;
         return this;
     }
 
+    public HtmlCssClasses getCssClasses() {
+        return cssClasses;
+    }
+
+    public TagCreator setCssClasses(HtmlCssClasses cssClasses) {
+        this.cssClasses = cssClasses;
+        return this;
+    }
+
     public DecimalFormat getDecimalFormat() {
         return decimalFormat;
     }
@@ -1,5 +1,7 @@
 package com.model.formatter.html.attribute;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.AbstractMap;
 import java.util.Locale;
 import java.util.Map;
@@ -63,4 +65,37 @@ public abstract class HtmlAttribute {
                 ? ASSIGNMENT_PATTERN_HTML4
                 : ASSIGNMENT_PATTERN_HTML5;
     }
+
+    /**
+     * Writes the assignment of the attribute by its assignment pattern, e.g. name="value"
+     *
+     * @param writer  html writer
+     * @param isHtml4 html4 assignment
+     * @throws IOException if the writer fails
+     */
+    public void writeAssignment(Writer writer, boolean isHtml4) throws IOException {
+        final String assignmentPattern = getAssignmentPattern(isHtml4);
+        if (ASSIGNMENT_PATTERN_HTML4.equals(assignmentPattern)) {
+            writer.write(getAttribute());
+            writer.write("=\"");
+            writeValue(writer);
+            writer.write('"');
+        } else if (ASSIGNMENT_PATTERN_HTML5.equals(assignmentPattern)) {
+            writer.write(getAttribute());
+            writer.write(':');
+            writeValue(writer);
+        } else {
+            writer.write(String.format(assignmentPattern, getAttribute(), produceDefaultStringAttribute(attributeValue)));
+        }
+    }
+
+    /**
+     * Writes the value of the attribute
+     *
+     * @param writer html writer
+     * @throws IOException if the writer fails
+     */
+    public void writeValue(Writer writer) throws IOException {
+        writer.write(produceDefaultStringAttribute(attributeValue));
+    }
 }
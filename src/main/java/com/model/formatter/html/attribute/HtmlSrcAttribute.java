@@ -16,19 +16,51 @@ public class HtmlSrcAttribute extends HtmlAttribute {
 
     // PICT is not supported
     public HtmlSrcAttribute setSrc(byte[] data) {
-        final PictureFormat pictureFormat = PictureUtils.getFormat(data);
-        if (pictureFormat != null) {
-            final String src =
-                String.format(
-                    "data:image/%s;base64,%s",
-                    pictureFormat.toString().toLowerCase(Locale.ENGLISH),
-                    Base64.getEncoder().encodeToString(data)
-                );
+        return setSrc(data, PictureUtils.getFormat(data));
+    }
+
+    /**
+     * Sets the data URI of the picture of the known format
+     *
+     * @param data          picture raw data
+     * @param pictureFormat format of the picture, src isn't set if it's null
+     * @return this attribute
+     */
+    public HtmlSrcAttribute setSrc(byte[] data, PictureFormat pictureFormat) {
+        return setSrc(toDataUri(data, pictureFormat));
+    }
+
+    /**
+     * Sets the src, e.g. a data URI of a picture
+     *
+     * @param src src, it isn't set if it's null
+     * @return this attribute
+     */
+    public HtmlSrcAttribute setSrc(String src) {
+        if (src != null) {
             setAttributeValue(src);
         }
         return this;
     }
 
+    /**
+     * Encodes the picture to a data URI
+     *
+     * @param data          picture raw data
+     * @param pictureFormat format of the picture
+     * @return data URI or null if the format isn't known
+     */
+    public static String toDataUri(byte[] data, PictureFormat pictureFormat) {
+        if (pictureFormat == null) {
+            return null;
+        }
+        return String.format(
+            "data:image/%s;base64,%s",
+            pictureFormat.toString().toLowerCase(Locale.ENGLISH),
+            Base64.getEncoder().encodeToString(data)
+        );
+    }
+
     @Override
     public String getAssignmentPattern(Boolean isHtml4) {
         return ASSIGNMENT_PATTERN_HTML4;
@@ -2,6 +2,9 @@ package com.model.formatter.html.attribute;
 
 import com.model.formatter.html.style.CssStyle;
 
+import java.io.IOException;
+import java.io.Writer;
+
 public class HtmlStyleAttribute extends HtmlAttribute {
     public static final String ATTR_NAME = "style";
 
@@ -24,6 +27,15 @@ public class HtmlStyleAttribute extends HtmlAttribute {
         }
     }
 
+    @Override
+    public void writeValue(Writer writer) throws IOException {
+        if (attributeValue instanceof CssStyle) {
+            ((CssStyle) attributeValue).writeCssStyle(writer);
+        } else {
+            throw new IllegalArgumentException("Can't get value for style attribute");
+        }
+    }
+
     @Override
     public String getAssignmentPattern(Boolean isHtml4) {
         return ASSIGNMENT_PATTERN_HTML4;
@@ -3,8 +3,13 @@ package com.model.formatter.html.style;
 import com.model.utils.MapBuilder;
 import org.springframework.util.StringUtils;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -47,13 +52,11 @@ public class CssStyle {
     public static final String BGCOLOR_HTML4 = "bgcolor=";
     public static final String ALIGN_HTML4 = "align=";
 
-    protected final Map<String, Object> attributes = new HashMap<>();
-
-    protected final Map<String, Function<Object, String>> attributeMapper;
-    protected final Map<String, Function<Object, String>> attributeHtml4Mapper;
-
-    public CssStyle() {
-        attributeMapper = new MapBuilder<String, Function<Object, String>>()
+    /**
+     * Mappers of css attribute values, they are shared by all styles
+     */
+    private static final Map<String, Function<Object, String>> ATTRIBUTE_MAPPER = Collections.unmodifiableMap(
+        new MapBuilder<String, Function<Object, String>>()
             .put(FONT_SIZE, CssStyle::produceFontSizeAttribute)
             .put(FONT_WEIGHT, CssStyle::produceDefaultStringAttribute)
             .put(FONT_STYLE, CssStyle::produceDefaultStringAttribute)
@@ -79,14 +82,29 @@ public class CssStyle {
             .put(BORDER_COLLAPSE, CssStyle::produceDefaultStringAttribute)
             .put(BORDER, CssStyle::produceDefaultStringAttribute)
             .put(PAGE_BREAK_AFTER, CssStyle::produceDefaultStringAttribute)
-            .build();
+            .build()
+    );
 
-        attributeHtml4Mapper = new MapBuilder<String, Function<Object, String>>()
+    private static final Map<String, Function<Object, String>> ATTRIBUTE_HTML4_MAPPER = Collections.unmodifiableMap(
+        new MapBuilder<String, Function<Object, String>>()
             .put(BORDER_HTML4, CssStyle::produceBorderHtml4Attribute)
             .put(CELLSPACING_HTML4, CssStyle::produceCellspacingHtml4Attribute)
             .put(BGCOLOR_HTML4, CssStyle::produceDefaultStringAttribute)
             .put(ALIGN_HTML4, CssStyle::produceDefaultStringAttribute)
-            .build();
+            .build()
+    );
+
+    /**
+     * Attributes sorted by names, they are written in this order
+     */
+    protected final Map<String, Object> attributes = new TreeMap<>();
+
+    protected final Map<String, Function<Object, String>> attributeMapper;
+    protected final Map<String, Function<Object, String>> attributeHtml4Mapper;
+
+    public CssStyle() {
+        attributeMapper = ATTRIBUTE_MAPPER;
+        attributeHtml4Mapper = ATTRIBUTE_HTML4_MAPPER;
     }
 
     public int getFontSize() {
@@ -397,52 +415,59 @@ public class CssStyle {
     }
 
     public static String produceFontSizeAttribute(Object o) {
-
-        return String.format("%dpt", (Integer) o);
+        return (Integer) o + "pt";
     }
 
     public static String produceFontFamilyAttribute(Object o) {
         if (!StringUtils.hasText((String) o)) {
             return "monospace";
         } else {
-            return String.format("%s,monospace", o);
+            return o + ",monospace";
         }
     }
 
     public static String produceBorderHtml4Attribute(Object o) {
-        return String.format("%d", (Integer) o);
+        return Integer.toString((Integer) o);
     }
 
     public static String produceCellspacingHtml4Attribute(Object o) {
-        return String.format("%d", (Integer) o);
+        return Integer.toString((Integer) o);
     }
 
     public static String produceDefaultStringAttribute(Object o) {
-        return String.format("%s", o);
+        return String.valueOf(o);
     }
 
     public String toCssStyleString() {
-        return
-            attributes
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByKey())
-                .filter(s -> attributeMapper.containsKey(s.getKey()))
-                .map(this::styleItemMapping)
-                .collect(Collectors.joining(";"));
-    }
-
-    private String styleItemMapping(Map.Entry<String, Object> e) {
-        final String key = e.getKey();
-
-        final Object attributeValue = e.getValue();
-
-        final String processedValue =
-            attributeMapper
-                .getOrDefault(e.getKey(), CssStyle::defaultAttributeMapping)
-                .apply(attributeValue);
-
-        return String.format("%s:%s", key, processedValue);
+        final StringWriter writer = new StringWriter();
+        try {
+            writeCssStyle(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes css attributes sorted by names, e.g. "color:#000000;font-size:10pt"
+     *
+     * @param writer html writer
+     * @throws IOException if the writer fails
+     */
+    public void writeCssStyle(Writer writer) throws IOException {
+        boolean isFirst = true;
+        for (final Map.Entry<String, Object> e : attributes.entrySet()) {
+            final Function<Object, String> mapping = attributeMapper.get(e.getKey());
+            if (mapping != null) {
+                if (!isFirst) {
+                    writer.write(';');
+                }
+                writer.write(e.getKey());
+                writer.write(':');
+                writer.write(mapping.apply(e.getValue()));
+                isFirst = false;
+            }
+        }
     }
 
     public String toHtml4StyleString() {
@@ -0,0 +1,99 @@
+package com.model.formatter.html.style;
+
+import com.google.common.base.MoreObjects;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Css classes of the distinct css styles of a html document, one class per distinct css text.
+ * Classes are named by the order of registration ("c0", "c1", ..., "ca", ...),
+ * so the same document always gets the same names unlike names made of hash codes of styles
+ */
+public class HtmlCssClasses {
+    public static final String DEFAULT_PREFIX = "c";
+
+    /**
+     * Class names by css text, e.g. "color:#000000;font-size:10pt"
+     */
+    protected final Map<String, String> classNames = new HashMap<>();
+
+    protected String prefix = DEFAULT_PREFIX;
+
+    public static HtmlCssClasses create() {
+        return new HtmlCssClasses();
+    }
+
+    /**
+     * @param css css text of a style
+     * @return class name of the css or null if the css isn't registered
+     */
+    public String getClassName(String css) {
+        return classNames.get(css);
+    }
+
+    /**
+     * Registers a new class for the css
+     *
+     * @param css css text of a style
+     * @return class name
+     */
+    public String register(String css) {
+        if (classNames.containsKey(css)) {
+            throw new IllegalStateException(String.format("Css class of \"%s\" is already registered", css));
+        }
+        final String className = prefix + Integer.toString(classNames.size(), Character.MAX_RADIX);
+        classNames.put(css, className);
+        return className;
+    }
+
+    /**
+     * Writes the rule of the class, e.g. ".c0{color:#000000;font-size:10pt}",
+     * "&lt;" is escaped, so the css text can't close the style element
+     *
+     * @param writer    html writer
+     * @param className class name
+     * @param css       css text
+     * @throws IOException if the writer fails
+     */
+    public void writeRule(Writer writer, String className, String css) throws IOException {
+        writer.write('.');
+        writer.write(className);
+        writer.write('{');
+        writer.write(css.replace("<", "\\3c "));
+        writer.write('}');
+    }
+
+    /**
+     * Removes the classes of the previous document
+     */
+    public void clear() {
+        classNames.clear();
+    }
+
+    public int size() {
+        return classNames.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("prefix", prefix)
+            .add("size", classNames.size())
+            .toString();
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public HtmlCssClasses setPrefix(String prefix) {
+        if (prefix == null || !prefix.matches("[A-Za-z_][A-Za-z0-9_-]*")) {
+            throw new IllegalArgumentException(String.format("Prefix \"%s\" is not a css identifier", prefix));
+        }
+        this.prefix = prefix;
+        return this;
+    }
+}
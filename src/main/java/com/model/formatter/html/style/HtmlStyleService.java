@@ -32,7 +32,8 @@ import com.model.utils.MapBuilder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.HtmlUtils;
 
-import java.io.OutputStreamWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -91,6 +92,22 @@ public class HtmlStyleService extends StyleService implements HtmlDetails {
             .put(VertAlignment.BOTTOM, "bottom")
             .build();
 
+    /**
+     * Character references of the characters escaped by {@link HtmlUtils#htmlEscape(String)},
+     * there are no references for the characters beyond the table
+     */
+    private static final String[] characterReferences = new String[10_000];
+
+    static {
+        for (int i = 0; i < characterReferences.length; i++) {
+            final String character = String.valueOf((char) i);
+            final String reference = HtmlUtils.htmlEscape(character);
+            if (!character.equals(reference)) {
+                characterReferences[i] = reference;
+            }
+        }
+    }
+
     private static final Map<VertAlignment, String> verticalAlignmentMap =
         new MapBuilder<VertAlignment, String>()
             .put(null, null)
@@ -147,6 +164,15 @@ public class HtmlStyleService extends StyleService implements HtmlDetails {
      * If true then style will be written inside HTML5 tags,
      */
     protected boolean writeStyleInTag;
+    /**
+     * If true then html5 elements refer to css classes of their styles instead of inline styles,
+     * a class is created for every distinct css of the document, see {@link HtmlCssClasses}
+     */
+    protected boolean useCssClasses;
+    /**
+     * Css classes of the current document
+     */
+    protected final HtmlCssClasses cssClasses = HtmlCssClasses.create();
 
     public HtmlStyleService(
         boolean useHtml4Tags,
@@ -331,6 +357,27 @@ public class HtmlStyleService extends StyleService implements HtmlDetails {
         return HtmlUtils.htmlEscape(s);
     }
 
+    /**
+     * Writes the text escaped the same way as {@link HtmlStyleService#escapeHtml(String)},
+     * unescaped runs of the text are written as is
+     *
+     * @param writer html writer
+     * @param s      text
+     * @throws IOException if the writer fails
+     */
+    public static void escapeHtml(Writer writer, String s) throws IOException {
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < characterReferences.length && characterReferences[c] != null) {
+                writer.write(s, start, i - start);
+                writer.write(characterReferences[c]);
+                start = i + 1;
+            }
+        }
+        writer.write(s, start, s.length() - start);
+    }
+
     public static void fillHtml4StyleTagsFromStyle(Html4StyledTag html4StyledTag, Style style, HtmlTag htmlTag) {
         final LayoutStyle layoutStyle = LayoutStyle.extractLayoutStyle(style);
         if (layoutStyle != null) {
@@ -481,8 +528,13 @@ public class HtmlStyleService extends StyleService implements HtmlDetails {
      */
     @Override
     public void writeStyles(Object o) throws Exception {
-        final OutputStreamWriter osWriter = (OutputStreamWriter) o;
-        if (!useHtml4Tags && !writeStyleInTag) {
+        final Writer osWriter = (Writer) o;
+        if (useCssClasses) {
+            cssClasses.clear();
+            if (!useHtml4Tags) {
+                writeCssClasses(osWriter);
+            }
+        } else if (!useHtml4Tags && !writeStyleInTag) {
 
             final BiFunction<Class<?>, Style, Boolean> checkConditionClass = (clazz, style) -> {
                 if (style.getStyleCondition() != null) {
@@ -558,11 +610,33 @@ public class HtmlStyleService extends StyleService implements HtmlDetails {
         }
     }
 
+    /**
+     * Writes a css class for every distinct css of {@link StyleService#styles} to the (head)(/head) document,
+     * classes of the css made of styles of items are written to the body before the first element using them
+     */
+    protected void writeCssClasses(Writer osWriter) throws IOException {
+        boolean isEmpty = true;
+        for (final Style style : styles) {
+            final String css = convert(style).toCssStyleString();
+            if (!css.isEmpty() && cssClasses.getClassName(css) == null) {
+                if (isEmpty) {
+                    osWriter.write("<style type=\"text/css\">\n");
+                    isEmpty = false;
+                }
+                cssClasses.writeRule(osWriter, cssClasses.register(css), css);
+            }
+        }
+        if (!isEmpty) {
+            osWriter.write("\n</style>");
+        }
+    }
+
     @Override
     public String toString() {
         return
             MoreObjects.toStringHelper(this)
                 .add("useHtml4Tags", useHtml4Tags)
+                .add("useCssClasses", useCssClasses)
                 .toString();
     }
 
@@ -583,4 +657,17 @@ public class HtmlStyleService extends StyleService implements HtmlDetails {
         this.writeStyleInTag = writeStyleInTag;
         return this;
     }
+
+    public boolean isUseCssClasses() {
+        return useCssClasses;
+    }
+
+    public HtmlStyleService setUseCssClasses(boolean useCssClasses) {
+        this.useCssClasses = useCssClasses;
+        return this;
+    }
+
+    public HtmlCssClasses getCssClasses() {
+        return cssClasses;
+    }
 }
@@ -4,10 +4,6 @@ import com.model.formatter.html.attribute.HtmlColorAttribute;
 import com.model.formatter.html.attribute.HtmlFontFaceAttribute;
 import com.model.formatter.html.attribute.HtmlFontSizeAttribute;
 
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 public class Html4Font extends HtmlTag {
     public static final String TAG_NAME = "font";
 
@@ -16,13 +12,8 @@ public class Html4Font extends HtmlTag {
     final HtmlFontSizeAttribute size = new HtmlFontSizeAttribute();
 
     public Html4Font() {
-        availableAttributes =
-            Stream.of(
-                    size.getAttributeMapper(),
-                    face.getAttributeMapper(),
-                    color.getAttributeMapper()
-                )
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        availableAttributes.clear();
+        putAttributes(size, face, color);
     }
 
     @Override
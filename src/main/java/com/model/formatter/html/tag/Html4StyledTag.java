@@ -1,5 +1,6 @@
 package com.model.formatter.html.tag;
 
+import com.model.domain.style.constant.PictureFormat;
 import com.model.formatter.html.attribute.HtmlAlignAttribute;
 import com.model.formatter.html.attribute.HtmlAttribute;
 import com.model.formatter.html.attribute.HtmlBgColorAttribute;
@@ -7,16 +8,14 @@ import com.model.formatter.html.attribute.HtmlBorderAttribute;
 import com.model.formatter.html.attribute.HtmlCellSpacingAttribute;
 import com.model.formatter.html.attribute.HtmlSrcAttribute;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.TreeMap;
 
 /**
  * The class stores attributes that describe the style of the element for HTML4.
  */
 public abstract class Html4StyledTag implements HtmlTagAttributesWriter {
-    protected Map<String, HtmlAttribute> availableAttributes = new HashMap<>();
+    protected Map<String, HtmlAttribute> availableAttributes = new TreeMap<>();
 
     final HtmlBorderAttribute border = new HtmlBorderAttribute();
     final HtmlCellSpacingAttribute cellSpacing = new HtmlCellSpacingAttribute();
@@ -25,16 +24,18 @@ public abstract class Html4StyledTag implements HtmlTagAttributesWriter {
     final HtmlSrcAttribute src = new HtmlSrcAttribute();
 
     public Html4StyledTag() {
-        availableAttributes.putAll(
-            Stream.of(
-                    bgColor.getAttributeMapper(),
-                    cellSpacing.getAttributeMapper(),
-                    border.getAttributeMapper(),
-                    align.getAttributeMapper(),
-                    src.getAttributeMapper()
-                )
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
-        );
+        putAttributes(bgColor, cellSpacing, border, align, src);
+    }
+
+    /**
+     * Adds the attributes to {@link Html4StyledTag#availableAttributes} by their names
+     *
+     * @param attributes html attributes
+     */
+    protected final void putAttributes(HtmlAttribute... attributes) {
+        for (final HtmlAttribute attribute : attributes) {
+            availableAttributes.put(attribute.getAttribute(), attribute);
+        }
     }
 
     public Html4StyledTag setBgColor(String bgColor) {
@@ -62,6 +63,16 @@ public abstract class Html4StyledTag implements HtmlTagAttributesWriter {
         return this;
     }
 
+    public Html4StyledTag setSrc(byte[] data, PictureFormat pictureFormat) {
+        this.src.setSrc(data, pictureFormat);
+        return this;
+    }
+
+    public Html4StyledTag setSrc(String src) {
+        this.src.setSrc(src);
+        return this;
+    }
+
     @Override
     public Map<String, HtmlAttribute> getAvailableAttributes() {
         return availableAttributes;
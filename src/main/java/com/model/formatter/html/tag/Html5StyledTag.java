@@ -4,10 +4,6 @@ import com.model.formatter.html.attribute.HtmlClassAttribute;
 import com.model.formatter.html.attribute.HtmlStyleAttribute;
 import com.model.formatter.html.style.CssStyle;
 
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 /**
  * The class stores attributes that describe the style of the element for HTML.
  */
@@ -17,13 +13,7 @@ public abstract class Html5StyledTag extends Html4StyledTag {
     final HtmlClassAttribute clazz = new HtmlClassAttribute();
 
     public Html5StyledTag() {
-        availableAttributes.putAll(
-            Stream.of(
-                    style.getAttributeMapper(),
-                    clazz.getAttributeMapper()
-                )
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
-        );
+        putAttributes(style, clazz);
     }
 
     public HtmlStyleAttribute getStyle() {
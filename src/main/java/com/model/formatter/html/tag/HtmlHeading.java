@@ -5,6 +5,8 @@ public class HtmlHeading extends HtmlTag {
 
     protected final int depth;
 
+    private String tagName;
+
     public HtmlHeading(int depth) {
         this.depth = depth;
     }
@@ -17,8 +19,11 @@ public class HtmlHeading extends HtmlTag {
 
     @Override
     public String getTagName() {
-        checkTag(depth);
-        return TAG_NAME.replace("*", String.valueOf(depth));
+        if (tagName == null) {
+            checkTag(depth);
+            tagName = TAG_NAME.replace("*", String.valueOf(depth));
+        }
+        return tagName;
     }
 
     public int getDepth() {
@@ -4,6 +4,8 @@ import com.google.common.base.Objects;
 import com.model.domain.core.DocumentItem;
 import com.model.domain.style.Style;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Locale;
 
 public abstract class HtmlTag extends Html5StyledTag {
@@ -44,7 +46,7 @@ public abstract class HtmlTag extends Html5StyledTag {
      * @return this
      */
     public String open() {
-        return String.format("<%s>", getTagName());
+        return "<" + getTagName() + ">";
     }
 
     /**
@@ -53,7 +55,33 @@ public abstract class HtmlTag extends Html5StyledTag {
      * @return this
      */
     public String close() {
-        return String.format("</%s>", getTagName());
+        return "</" + getTagName() + ">";
+    }
+
+    /**
+     * Writes an opening tag with its attributes
+     *
+     * @param writer  html writer
+     * @param isHtml4 html4 attributes
+     * @throws IOException if the writer fails
+     */
+    public void writeOpen(Writer writer, boolean isHtml4) throws IOException {
+        writer.write('<');
+        writer.write(getTagName());
+        writeAttributes(writer, isHtml4);
+        writer.write('>');
+    }
+
+    /**
+     * Writes a closing tag
+     *
+     * @param writer html writer
+     * @throws IOException if the writer fails
+     */
+    public void writeClose(Writer writer) throws IOException {
+        writer.write("</");
+        writer.write(getTagName());
+        writer.write('>');
     }
 
     @Override
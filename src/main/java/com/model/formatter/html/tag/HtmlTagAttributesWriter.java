@@ -3,55 +3,51 @@ package com.model.formatter.html.tag;
 import com.model.formatter.html.attribute.HtmlAttribute;
 import com.model.formatter.html.attribute.HtmlSrcAttribute;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 public interface HtmlTagAttributesWriter {
+    /**
+     * @return attributes by names, a sorted map keeps the attributes in the order they are written
+     */
     Map<String, HtmlAttribute> getAvailableAttributes();
 
     default String attributesToHtmlString(Boolean isHtml4) {
-        final Function<Map.Entry<String, HtmlAttribute>, String> itemMapping = em -> {
-            final String key = em.getKey();
-            final HtmlAttribute attribute = em.getValue();
-            final String processedValue = attribute.produceDefaultStringAttribute(attribute.getAttributeValue());
-            return
-                String.format(
-                    attribute.getAssignmentPattern(isHtml4),
-                    key,
-                    processedValue
-                );
-        };
-
-        Collector<CharSequence, ?, String> htmlAttrCollector = Collectors
-            .joining(
-                isHtml4
-                    ? HtmlAttribute.DELIMITER_PATTERN_HTML4
-                    : HtmlAttribute.DELIMITER_PATTERN_HTML5,
-                " ",
-                ""
-            );
-
-        final Map<String, HtmlAttribute> filteredAttributeMap = getAvailableAttributes()
-            .entrySet()
-            .stream()
-            .filter(s -> s.getValue().getAttributeValue() != null)
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        if (filteredAttributeMap.containsKey(HtmlSrcAttribute.ATTR_NAME)) {
-            htmlAttrCollector = Collectors.joining(HtmlAttribute.DELIMITER_PATTERN_HTML4, " ", "");
+        final StringWriter writer = new StringWriter();
+        try {
+            writeAttributes(writer, isHtml4);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return writer.toString();
+    }
 
-        final String res = filteredAttributeMap
-            .entrySet()
-            .stream()
-            .sorted(Map.Entry.comparingByKey())
-            .map(itemMapping)
-            .collect(htmlAttrCollector);
-
-        return
-            res.length() > 1
-                ? res
-                : "";
+    /**
+     * Writes the attributes having values sorted by names, each of them is preceded by a delimiter
+     *
+     * @param writer  html writer
+     * @param isHtml4 html4 attributes
+     * @throws IOException if the writer fails
+     */
+    default void writeAttributes(Writer writer, boolean isHtml4) throws IOException {
+        final Map<String, HtmlAttribute> attributes = getAvailableAttributes();
+        final HtmlAttribute src = attributes.get(HtmlSrcAttribute.ATTR_NAME);
+        final String delimiter =
+            isHtml4 || src != null && src.getAttributeValue() != null
+                ? HtmlAttribute.DELIMITER_PATTERN_HTML4
+                : HtmlAttribute.DELIMITER_PATTERN_HTML5;
+        boolean isFirst = true;
+        for (final HtmlAttribute attribute : (attributes instanceof SortedMap ? attributes : new TreeMap<>(attributes)).values()) {
+            if (attribute.getAttributeValue() != null) {
+                writer.write(isFirst ? " " : delimiter);
+                attribute.writeAssignment(writer, isHtml4);
+                isFirst = false;
+            }
+        }
     }
 }
@@ -38,7 +38,7 @@ public class PdfFormatter extends PdfFormatterVisitor implements PdfDetails {
         this.encoding = context.getEncoding();
         this.decimalFormat = context.getDecimalFormat();
         if (this.styleService != null) {
-            this.styleService.setFontService(context.createFontService().initializeFonts());
+            this.styleService.setFontService(context.createFontService());
         }
     }
 
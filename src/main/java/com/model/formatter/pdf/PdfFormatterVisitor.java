@@ -1,8 +1,6 @@
 package com.model.formatter.pdf;
 
 import com.google.common.base.MoreObjects;
-import com.itextpdf.io.image.ImageData;
-import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfDocumentInfo;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -51,6 +49,10 @@ import java.util.Arrays;
  */
 public abstract class PdfFormatterVisitor extends Formatter implements BaseDetails {
     private static final float DEFAULT_MARGIN = 20;
+    /**
+     * Rows of a streamed table laid out to the document at once
+     */
+    private static final int LARGE_TABLE_FLUSH_ROWS = 100;
 
     protected PdfWriter writer;
     protected PdfDocument pdf;
@@ -70,6 +72,8 @@ public abstract class PdfFormatterVisitor extends Formatter implements BaseDetai
     @Override
     public void visitDocument(Document documentObj) throws Throwable {
         styleService = getStyleService();
+        ((PdfStyleService) styleService).resetDocumentFonts();
+        ((PdfStyleService) styleService).resetDocumentPictures();
         writer = new PdfWriter(outputStream);
         pdf = new PdfDocument(writer);
 
@@ -120,8 +124,6 @@ public abstract class PdfFormatterVisitor extends Formatter implements BaseDetai
 
     @Override
     public void visitTable(Table tableObj) throws Throwable {
-//        final var watch = new StopWatch();
-//        watch.start();
         final Style style =
             styleService
                 .extractStyleFor(tableObj)
@@ -141,14 +143,18 @@ public abstract class PdfFormatterVisitor extends Formatter implements BaseDetai
         if (colCount > 0) {
             final float[] columns = new float[colCount];
             Arrays.fill(columns, 1);
-            table = new com.itextpdf.layout.element.Table(UnitValue.createPercentArray(columns));
+            table = new com.itextpdf.layout.element.Table(UnitValue.createPercentArray(columns), tableObj.isStreaming());
             table.setWidth(UnitValue.createPercentValue(100));
             visitTableHeaderRow(tableHeaderRow);
-            visitComposition(tableObj);
-            document.add(table);
+            if (tableObj.isStreaming()) {
+                document.add(table);
+                visitComposition(tableObj);
+                table.complete();
+            } else {
+                visitComposition(tableObj);
+                document.add(table);
+            }
         }
-//        watch.stop();
-//        log.info("Table visited in {} ms", watch.getTotalTimeMillis());
         log.info("Visited table {}", tableObj);
     }
 
@@ -167,6 +173,9 @@ public abstract class PdfFormatterVisitor extends Formatter implements BaseDetai
     public void visitTableRow(TableRow tableRowObj) throws Throwable {
         styleService.extractStyleFor(tableRowObj);
         visitComposition(tableRowObj);
+        if (!table.isComplete() && (tableRowObj.getRowIndex() + 1) % LARGE_TABLE_FLUSH_ROWS == 0) {
+            table.flush();
+        }
     }
 
     @Override
@@ -203,9 +212,7 @@ public abstract class PdfFormatterVisitor extends Formatter implements BaseDetai
             ((PdfStyleService) styleService).convertStyleToElement(style, text, elParagraph);
         }
         if (footerObj.isDataInheritedFrom(PictureItem.class)) {
-            final byte[] data = footerObj.getData();
-            final ImageData imageData = ImageDataFactory.create(data);
-            final Image image = new Image(imageData);
+            final Image image = ((PdfStyleService) styleService).createImage(footerObj.getData());
             elParagraph.add(image);
             ((PdfStyleService) styleService).convertStyleToElement(style, null, image);
         }
@@ -0,0 +1,91 @@
+package com.model.formatter.pdf.style;
+
+import com.google.common.base.MoreObjects;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.model.domain.FontService;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of parsed font programs of embedded *.ttf fonts, see {@link FontService},
+ * shared between PDF documents and threads.
+ * A font program is parsed once per font file, PdfFont instances created from it are cheap,
+ * belong to one PDF document and subset glyphs used in that document only.
+ */
+public class PdfFontCache {
+    private static final PdfFontCache sharedCache = new PdfFontCache();
+
+    /**
+     * Parsed font programs by font file name
+     */
+    private final ConcurrentMap<String, FontProgram> fontPrograms = new ConcurrentHashMap<>();
+
+    protected PdfFontCache() {
+        /**/
+    }
+
+    /**
+     * Creates a cache, which isn't shared with other style services
+     *
+     * @return PdfFontCache
+     */
+    public static PdfFontCache create() {
+        return new PdfFontCache();
+    }
+
+    /**
+     * Returns the cache shared by all PDF style services of the JVM
+     *
+     * @return PdfFontCache
+     */
+    public static PdfFontCache getInstance() {
+        return sharedCache;
+    }
+
+    /**
+     * Returns the parsed font program of the font file, parsing it on the first request
+     *
+     * @param fontService source of the font file content
+     * @param fontName    font file name
+     * @return FontProgram
+     * @throws IllegalStateException if the font file can't be read or parsed
+     */
+    public FontProgram getFontProgram(FontService fontService, String fontName) throws IllegalStateException {
+        return fontPrograms.computeIfAbsent(fontName, name -> {
+            try {
+                return FontProgramFactory.createFont(fontService.getFontBytes(name), false);
+            } catch (Exception e) {
+                throw new IllegalStateException(String.format("Can't parse font program of %s", name), e);
+            }
+        });
+    }
+
+    /**
+     * Creates a new PdfFont for one PDF document from the cached font program
+     *
+     * @param fontService       source of the font file content
+     * @param fontName          font file name
+     * @param encoding          font encoding
+     * @param embeddingStrategy font embedding strategy
+     * @return PdfFont
+     */
+    public PdfFont createFont(
+        FontService fontService,
+        String fontName,
+        String encoding,
+        PdfFontFactory.EmbeddingStrategy embeddingStrategy
+    ) {
+        return PdfFontFactory.createFont(getFontProgram(fontService, fontName), encoding, embeddingStrategy);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("fontPrograms", fontPrograms.keySet())
+            .toString();
+    }
+}
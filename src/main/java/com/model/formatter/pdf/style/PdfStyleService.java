@@ -3,7 +3,6 @@ package com.model.formatter.pdf.style;
 import com.google.common.base.MoreObjects;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.constants.StandardFonts;
-import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
@@ -12,6 +11,7 @@ import com.itextpdf.kernel.pdf.canvas.draw.DashedLine;
 import com.itextpdf.kernel.pdf.canvas.draw.DottedLine;
 import com.itextpdf.kernel.pdf.canvas.draw.ILineDrawer;
 import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.DashedBorder;
@@ -46,6 +46,7 @@ import com.model.domain.style.constant.Color;
 import com.model.domain.style.constant.HorAlignment;
 import com.model.domain.style.constant.VertAlignment;
 import com.model.domain.style.geometry.GeometryDetails;
+import com.model.formatter.PictureRegistry;
 import com.model.formatter.pdf.PdfDetails;
 import com.model.formatter.pdf.renders.CustomCellPdfRenderer;
 import com.model.formatter.pdf.renders.CustomParagraphPdfRenderer;
@@ -56,14 +57,12 @@ import com.model.utils.MapBuilder;
 import org.apache.poi.common.usermodel.fonts.FontCharset;
 import org.springframework.util.StringUtils;
 
-import java.awt.Font;
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -140,6 +139,19 @@ public final class PdfStyleService extends StyleService implements PdfDetails {
      * within one document
      */
     private final Map<TextStyle, PdfFont> textStyles = new HashMap<>();
+    /**
+     * Cached PdfFont font map by (font file, encoding, embedding strategy)
+     * within one document
+     */
+    private final Map<List<Object>, PdfFont> documentFonts = new HashMap<>();
+    /**
+     * Image XObjects of distinct pictures within one document
+     */
+    private final PictureRegistry<PdfImageXObject> pictureRegistry = PictureRegistry.create();
+    /**
+     * Cache of font programs shared between documents
+     */
+    private PdfFontCache fontCache = PdfFontCache.getInstance();
     /**
      * Encoding for characters of PdfFont fonts
      */
@@ -482,8 +494,7 @@ public final class PdfStyleService extends StyleService implements PdfDetails {
         }
         if (tableCustomCell.isDataInheritedFrom(PictureItem.class)) {
             final byte[] data = tableCustomCell.getData();
-            final ImageData imageData = ImageDataFactory.create(data);
-            element = new Image(imageData);
+            element = createImage(data);
             paragraph.add((Image) element);
             cell.add(paragraph);
             convertStyleToElement(style, null, element);
@@ -492,8 +503,7 @@ public final class PdfStyleService extends StyleService implements PdfDetails {
     }
 
     public void handlePicture(Picture picture, Document o) throws Exception {
-        final ImageData imageData = ImageDataFactory.create(picture.getData());
-        final Image element = new Image(imageData);
+        final Image element = createImage(picture.getData());
         final Style style = prepareStyleFrom(picture);
         if (style instanceof LayoutStyle) {
             convertLayoutStyleToElement(element, (LayoutStyle) style);
@@ -541,36 +551,28 @@ public final class PdfStyleService extends StyleService implements PdfDetails {
         if (fontService == null) {
             fontService = FontService.create();
         }
-        fontService.initializeFonts();
         final Locale fontLocale = textStyle.getFontLocale();
-        if (textStyles.containsKey(textStyle)) {
+        final boolean isCached = textStyles.containsKey(textStyle);
+        reportStyleCache("textStyles", isCached);
+        if (isCached) {
             font = textStyles.get(textStyle);
         } else {
+            fontService.initializeFonts();
             if (fontLocale == null || fontService.checkAvailableFontsLocale(fontLocale)) {
                 try {
-                    final Font embeddedFont = fontService.getFontResource(textStyle, fontLocale);
-                    final Method method = Font.class.getDeclaredMethod("getFont2D");
-                    method.setAccessible(true);
-                    String rawFont = method.invoke(embeddedFont).toString();
-                    rawFont = rawFont
-                        .substring(rawFont.indexOf(" fileName=") + 10)
-                        .replace("\r\n", "\n") + "\n";
-                    rawFont = rawFont.substring(0, rawFont.indexOf("\n"));
-                    final byte[] fontResource = Files.readAllBytes(Paths.get(rawFont));
-                    if (StandardCharsets.UTF_8.name().equals(encoding)) {
-                        font =
-                            PdfFontFactory.createFont(
-                                fontResource,
-                                PdfEncodings.IDENTITY_H,
-                                PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED
-                            );
-                    } else {
-                        font = PdfFontFactory.createFont(
-                            fontResource,
-                            encoding,
+                    final String fontName = fontService.getFontResourceName(textStyle, fontLocale);
+                    final String fontEncoding = StandardCharsets.UTF_8.name().equals(encoding)
+                        ? PdfEncodings.IDENTITY_H
+                        : encoding;
+                    font = documentFonts.computeIfAbsent(
+                        Arrays.asList(fontName, fontEncoding, PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED),
+                        key -> fontCache.createFont(
+                            fontService,
+                            fontName,
+                            fontEncoding,
                             PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED
-                        );
-                    }
+                        )
+                    );
                 } catch (Exception e) {
                     throw new IllegalStateException("Failed to create PdfFont.", e);
                 }
@@ -655,9 +657,42 @@ public final class PdfStyleService extends StyleService implements PdfDetails {
             .add("encoding", encoding)
             .add("textStyles", textStyles)
             .add("fontService", fontService)
+            .add("fontCache", fontCache)
             .toString();
     }
 
+    /**
+     * Forgets PdfFont fonts of the previous document,
+     * since a PdfFont belongs to one PDF document and subsets glyphs used in it
+     */
+    public void resetDocumentFonts() {
+        textStyles.clear();
+        documentFonts.clear();
+    }
+
+    /**
+     * Creates an image element of the picture, every distinct picture of the document is written
+     * as one image XObject, which is referred to by all images of the picture
+     *
+     * @param data picture raw data
+     * @return image element
+     * @throws Exception if the picture can't be read
+     */
+    public Image createImage(byte[] data) throws Exception {
+        return new Image(pictureRegistry.computeIfAbsent(data, d -> new PdfImageXObject(ImageDataFactory.create(d))));
+    }
+
+    /**
+     * Forgets image XObjects of the previous document
+     */
+    public void resetDocumentPictures() {
+        pictureRegistry.clear();
+    }
+
+    public PictureRegistry<PdfImageXObject> getPictureRegistry() {
+        return pictureRegistry;
+    }
+
     public String getEncoding() {
         return encoding;
     }
@@ -666,4 +701,13 @@ public final class PdfStyleService extends StyleService implements PdfDetails {
         this.encoding = encoding;
         return this;
     }
+
+    public PdfFontCache getFontCache() {
+        return fontCache;
+    }
+
+    public PdfStyleService setFontCache(PdfFontCache fontCache) {
+        this.fontCache = fontCache;
+        return this;
+    }
 }
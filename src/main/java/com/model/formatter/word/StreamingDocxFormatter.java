@@ -0,0 +1,262 @@
+package com.model.formatter.word;
+
+import com.google.common.base.MoreObjects;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.formatter.FormatterContext;
+import org.apache.poi.common.usermodel.fonts.FontCharset;
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.TempFile;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRow;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Class for writing to .docx format with rows of tables streamed to a temporary file:
+ * every row is written to the file as soon as it's visited and is removed from the document,
+ * the rows are put back in place while word/document.xml is copied to the output,
+ * so memory consumption doesn't grow with the number of rows.
+ * The temporary file is gzip-compressed if {@link StreamingDocxFormatter#isCompressTempFiles} is set.
+ * <p>
+ * Rows are formatted by {@link com.model.formatter.word.style.WordStyleService} as by {@link DocxFormatter},
+ * written rows can't be accessed anymore.
+ */
+public class StreamingDocxFormatter extends WordFormatter implements DocxDetails {
+    private static final String DOCUMENT_PART = "word/document.xml";
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    /**
+     * Comment left in a table in place of its rows
+     */
+    private static final String ROWS_MARKER = "<!--reporter-table-rows-->";
+
+    /**
+     * Compress the temporary file with written rows
+     */
+    protected boolean isCompressTempFiles = true;
+
+    /**
+     * Options of row xml, the word namespace is declared by the document
+     */
+    private final XmlOptions rowXmlOptions = new XmlOptions(POIXMLTypeLoader.DEFAULT_XML_OPTIONS)
+        .setSaveOuter()
+        .setSaveImplicitNamespaces(Collections.singletonMap("w", WORD_NAMESPACE));
+
+    /**
+     * Length of the written xml of rows of every table of the document, in characters
+     */
+    private final List<Long> tableRowsLengths = new ArrayList<>();
+    private File rowsFile;
+    private Writer rowsWriter;
+
+    public StreamingDocxFormatter() {
+        super(FontCharset.DEFAULT);
+    }
+
+    public StreamingDocxFormatter(FormatterContext context) {
+        super(context);
+    }
+
+    public static StreamingDocxFormatter create() {
+        return new StreamingDocxFormatter();
+    }
+
+    public static StreamingDocxFormatter create(FormatterContext context) {
+        return new StreamingDocxFormatter(context);
+    }
+
+    @Override
+    public void initializeResource() throws IOException {
+        super.initializeResource();
+        tableRowsLengths.clear();
+        rowsFile = TempFile.createTempFile("reporter-docx-rows", isCompressTempFiles ? ".xml.gz" : ".xml");
+        final OutputStream rowsStream = new FileOutputStream(rowsFile);
+        rowsWriter = new BufferedWriter(
+            new OutputStreamWriter(
+                isCompressTempFiles ? new GZIPOutputStream(rowsStream) : rowsStream,
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    /**
+     * Writes the document putting the rows back into the tables and deletes temporary files
+     *
+     * @throws IOException if an error occurred while saving the resource
+     */
+    @Override
+    public void cleanupResource() throws IOException {
+        final File documentFile = TempFile.createTempFile("reporter-docx", ".docx");
+        try {
+            rowsWriter.close();
+            try (OutputStream documentStream = new FileOutputStream(documentFile)) {
+                wordDocument.write(documentStream);
+            }
+            wordDocument.close();
+            try (
+                ZipFile zipFile = new ZipFile(documentFile);
+                Reader rowsReader = openRowsReader()
+            ) {
+                final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+                final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    zipOutputStream.putNextEntry(new ZipEntry(entry.getName()));
+                    try (InputStream entryStream = zipFile.getInputStream(entry)) {
+                        if (DOCUMENT_PART.equals(entry.getName())) {
+                            writeDocumentPart(entryStream, rowsReader, zipOutputStream);
+                        } else {
+                            IOUtils.copy(entryStream, zipOutputStream);
+                        }
+                    }
+                    zipOutputStream.closeEntry();
+                }
+                zipOutputStream.finish();
+            }
+        } finally {
+            Files.deleteIfExists(documentFile.toPath());
+            Files.deleteIfExists(rowsFile.toPath());
+        }
+    }
+
+    /**
+     * Creates the table, its rows will take place of the marker comment
+     */
+    @Override
+    public void createEmptyTable() {
+        super.createEmptyTable();
+        try (XmlCursor cursor = docxTable.getCTTbl().newCursor()) {
+            cursor.toEndToken();
+            cursor.insertComment(ROWS_MARKER.substring("<!--".length(), ROWS_MARKER.length() - "-->".length()));
+        }
+        tableRowsLengths.add(0L);
+    }
+
+    @Override
+    public void visitTableHeaderRow(TableHeaderRow tableHeaderRowObj) throws Throwable {
+        super.visitTableHeaderRow(tableHeaderRowObj);
+        writeTableRow();
+    }
+
+    @Override
+    public void visitTableRow(TableRow tableRowObj) throws Throwable {
+        super.visitTableRow(tableRowObj);
+        writeTableRow();
+    }
+
+    /**
+     * Writes the xml of the visited row to the temporary file and removes the row from the table
+     *
+     * @throws IOException if the row can't be written
+     */
+    protected void writeTableRow() throws IOException {
+        final CTRow ctRow = docxRow.getCtRow();
+        final String rowXml = ctRow.xmlText(rowXmlOptions);
+        rowsWriter.write(rowXml);
+        final int table = tableRowsLengths.size() - 1;
+        tableRowsLengths.set(table, tableRowsLengths.get(table) + rowXml.length());
+        try (XmlCursor cursor = ctRow.newCursor()) {
+            cursor.removeXml();
+        }
+        docxRow = null;
+    }
+
+    /**
+     * Copies word/document.xml replacing the marker of every table with its rows
+     *
+     * @param documentStream stream of word/document.xml
+     * @param rowsReader     reader of the written rows
+     * @param outputStream   stream of the output entry
+     * @throws IOException if the document or the rows can't be read or written
+     */
+    private void writeDocumentPart(InputStream documentStream, Reader rowsReader, OutputStream outputStream)
+        throws IOException {
+        final String documentXml = new String(IOUtils.toByteArray(documentStream), StandardCharsets.UTF_8);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        int start = 0;
+        int table = 0;
+        for (int i = documentXml.indexOf(ROWS_MARKER); i >= 0; i = documentXml.indexOf(ROWS_MARKER, start)) {
+            if (table == tableRowsLengths.size()) {
+                throw new IllegalStateException(
+                    String.format("Document has more than %d tables with written rows", tableRowsLengths.size())
+                );
+            }
+            writer.write(documentXml, start, i - start);
+            copyRows(rowsReader, writer, tableRowsLengths.get(table++));
+            start = i + ROWS_MARKER.length();
+        }
+        if (table != tableRowsLengths.size()) {
+            throw new IllegalStateException(
+                String.format("Rows of %d tables are not found in the document", tableRowsLengths.size() - table)
+            );
+        }
+        writer.write(documentXml, start, documentXml.length() - start);
+        writer.flush();
+    }
+
+    private static void copyRows(Reader rowsReader, Writer writer, long length) throws IOException {
+        final char[] buffer = new char[8192];
+        long remaining = length;
+        while (remaining > 0) {
+            final int count = rowsReader.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (count < 0) {
+                throw new IllegalStateException("Temporary file of rows is truncated");
+            }
+            writer.write(buffer, 0, count);
+            remaining -= count;
+        }
+    }
+
+    private Reader openRowsReader() throws IOException {
+        final InputStream rowsStream = new FileInputStream(rowsFile);
+        return new BufferedReader(
+            new InputStreamReader(
+                isCompressTempFiles ? new GZIPInputStream(rowsStream) : rowsStream,
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Override
+    public String toString() {
+        return
+            MoreObjects.toStringHelper(this)
+                .add("resource", resource)
+                .add("fileName", fileName)
+                .add("isCompressTempFiles", isCompressTempFiles)
+                .toString();
+    }
+
+    public boolean isCompressTempFiles() {
+        return isCompressTempFiles;
+    }
+
+    public StreamingDocxFormatter setCompressTempFiles(boolean isCompressTempFiles) {
+        this.isCompressTempFiles = isCompressTempFiles;
+        return this;
+    }
+}
@@ -38,7 +38,6 @@ import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPPrGeneral;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSectPr;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTString;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
-import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTc;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.STHdrFtr;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
 import org.slf4j.Logger;
@@ -61,6 +60,12 @@ public abstract class WordFormatterVisitor extends Formatter implements BaseDeta
      */
     protected XWPFTable docxTable;
 
+    /**
+     * Row of {@link WordFormatterVisitor#docxTable} being written, rows are appended to the xml of the table,
+     * they aren't listed by {@link XWPFTable#getRows()}, which would cost a pass over the table per row
+     */
+    protected XWPFTableRow docxRow;
+
     protected FontCharset fontCharset;
     protected DecimalFormat decimalFormat;
     protected StyleService styleService;
@@ -161,8 +166,6 @@ public abstract class WordFormatterVisitor extends Formatter implements BaseDeta
 
     @Override
     public void visitTable(Table tableObj) throws Throwable {
-//        final var watch = new StopWatch();
-//        watch.start();
         final Style style =
             styleService
                 .extractStyleFor(tableObj)
@@ -182,39 +185,30 @@ public abstract class WordFormatterVisitor extends Formatter implements BaseDeta
             this.visitTableHeaderRow(tableObj.getTableHeaderRow().get());
         }
         this.visitComposition(tableObj);
-//        watch.stop();
-//        log.info("Table visited in {} ms", watch.getTotalTimeMillis());
         log.info("Visited table {}", tableObj);
     }
 
     @Override
     public void visitTableHeaderRow(TableHeaderRow tableHeaderRowObj) throws Throwable {
-        docxTable.insertNewTableRow(0);
+        docxRow = new XWPFTableRow(docxTable.getCTTbl().insertNewTr(0), docxTable);
         this.visitComposition(tableHeaderRowObj);
     }
 
     @Override
     public void visitTableHeaderCell(TableHeaderCell tableHeaderCellObj) throws Exception {
-        final XWPFTableRow headerRow = docxTable.getRow(0);
-        final XWPFTableCell cell = headerRow.createCell();
+        final XWPFTableCell cell = docxRow.createCell();
         handleCustomItem(tableHeaderCellObj, cell);
     }
 
     @Override
     public void visitTableRow(TableRow tableRowObj) throws Throwable {
-        final XWPFTableRow row = docxTable.createRow();
-        row.getCtRow().setTcArray(new CTTc[0]);
-        final int length = row.getTableCells().size();
-        for (int i = 0; i < length; i++) {
-            row.removeCell(i);
-        }
+        docxRow = new XWPFTableRow(docxTable.getCTTbl().addNewTr(), docxTable);
         visitComposition(tableRowObj);
     }
 
     @Override
     public void visitTableCell(TableCell tableCellObj) throws Exception {
-        final XWPFTableRow row = docxTable.getRow(docxTable.getNumberOfRows() - 1);
-        final XWPFTableCell cell = row.createCell();
+        final XWPFTableCell cell = docxRow.createCell();
         handleCustomItem(tableCellObj, cell);
     }
 
@@ -262,6 +256,7 @@ public abstract class WordFormatterVisitor extends Formatter implements BaseDeta
         return MoreObjects.toStringHelper(this)
             .add("wordDocument", wordDocument)
             .add("docxTable", docxTable)
+            .add("docxRow", docxRow)
             .add("fontCharset", fontCharset)
             .add("decimalFormat", decimalFormat)
             .add("styleService", styleService)
@@ -35,6 +35,8 @@ import org.apache.poi.xwpf.usermodel.UnderlinePatterns;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFPicture;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFStyle;
+import org.apache.poi.xwpf.usermodel.XWPFStyles;
 import org.apache.poi.xwpf.usermodel.XWPFTable;
 import org.apache.poi.xwpf.usermodel.XWPFTableCell;
 import org.openxmlformats.schemas.drawingml.x2006.main.CTTransform2D;
@@ -42,12 +44,15 @@ import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBorder;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTP;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPBdr;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTR;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTShd;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTblWidth;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTc;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTcBorders;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTcPr;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.STBorder;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTblWidth;
 import org.springframework.util.StringUtils;
 
@@ -59,9 +64,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * The class maps {@link Style} attributes to native docx ones,
+ * styles of table cells are converted once per document, see {@link WordStyleService#cellPrototypes}
+ */
 public class WordStyleService extends StyleService implements DocDetails {
     /**
      * Reverse twip (1/567) constant for cm
@@ -75,6 +85,10 @@ public class WordStyleService extends StyleService implements DocDetails {
 
     // Apache POI can resolve 1/60000 of degree, minus because of the anticlockwise direction
     private static final int DOCX_ANGLE_CONST = -60000;
+    /**
+     * Prefix of ids of named paragraph styles of table cells
+     */
+    private static final String CELL_STYLE_ID_PREFIX = "ReporterCell";
     /**
      * Map of native xwpf border types.
      * Key - type BorderWeight, value - Border
@@ -144,7 +158,18 @@ public class WordStyleService extends StyleService implements DocDetails {
             .put(PictureFormat.PICT, PictureType.PICT)
             .build();
 
+    /**
+     * If true then text properties and alignment of styled table cells are kept in named paragraph styles
+     * of the document and the paragraphs of cells refer to them, otherwise they are set directly to every cell
+     */
+    protected boolean useNamedCellStyles = true;
+
     private final FontCharset fontCharset;
+    /**
+     * Converted styles of table cells of the current document, cells with the same style get copies
+     * of the same cell properties and refer to the same named paragraph style
+     */
+    private final Map<Style, CellPrototype> cellPrototypes = new HashMap<>();
 
     public WordStyleService(FontCharset fontCharset, DecimalFormat decimalFormat) {
         this.fontCharset = fontCharset;
@@ -234,21 +259,121 @@ public class WordStyleService extends StyleService implements DocDetails {
             final XWPFParagraph paragraph = cell.getParagraphs().get(0);
             final XWPFRun run = paragraph.createRun();
             addItemToRun(item, run, style);
-            if (style instanceof TextStyle) {
-                convertStyleToElement(style, run, paragraph);
-            } else if (style instanceof LayoutStyle) {
-                final LayoutStyle layoutStyle = (LayoutStyle) style;
-                convertLayoutStyleToCell(cell, layoutStyle);
-            } else if (style instanceof LayoutTextStyle) {
-                final LayoutTextStyle layoutTextStyle = (LayoutTextStyle) style;
-                final TextStyle textStyle = layoutTextStyle.getTextStyle();
-                final LayoutStyle layoutStyle = layoutTextStyle.getLayoutStyle();
-                convertStyleToElement(textStyle, run, paragraph);
-                convertLayoutStyleToCell(cell, layoutStyle);
+            if (useNamedCellStyles && isCellPrototypeStyle(style)) {
+                applyCellPrototype(style, cell, paragraph, run);
+            } else {
+                convertStyleToCell(style, cell, paragraph, run);
             }
         }
     }
 
+    /**
+     * Converts style to the native properties of the table cell, its paragraph and run
+     *
+     * @param style     cell style
+     * @param cell      docx table cell
+     * @param paragraph paragraph of the cell
+     * @param run       run of the paragraph
+     */
+    public void convertStyleToCell(Style style, XWPFTableCell cell, XWPFParagraph paragraph, XWPFRun run) {
+        if (style instanceof TextStyle) {
+            convertStyleToElement(style, run, paragraph);
+        } else if (style instanceof LayoutStyle) {
+            final LayoutStyle layoutStyle = (LayoutStyle) style;
+            convertLayoutStyleToCell(cell, layoutStyle);
+        } else if (style instanceof LayoutTextStyle) {
+            final LayoutTextStyle layoutTextStyle = (LayoutTextStyle) style;
+            final TextStyle textStyle = layoutTextStyle.getTextStyle();
+            final LayoutStyle layoutStyle = layoutTextStyle.getLayoutStyle();
+            convertStyleToElement(textStyle, run, paragraph);
+            convertLayoutStyleToCell(cell, layoutStyle);
+        }
+    }
+
+    /**
+     * Cells with rotated text are drawn as pictures, so their styles are converted for every cell
+     *
+     * @param style cell style
+     * @return true if the converted style may be shared by cells
+     */
+    protected static boolean isCellPrototypeStyle(Style style) {
+        if (style == null) {
+            return false;
+        }
+        final LayoutStyle layoutStyle = LayoutStyle.extractLayoutStyle(style);
+        return layoutStyle == null
+            || layoutStyle.getGeometryDetails() == null
+            || layoutStyle.getGeometryDetails().getAngle() == null;
+    }
+
+    /**
+     * Applies the converted style to the table cell, the style is converted by the first cell having it:
+     * cell properties are copied from the prototype, text properties and alignment are given
+     * by the named paragraph style
+     *
+     * @param style     cell style
+     * @param cell      docx table cell
+     * @param paragraph paragraph of the cell
+     * @param run       run of the paragraph
+     */
+    protected void applyCellPrototype(Style style, XWPFTableCell cell, XWPFParagraph paragraph, XWPFRun run) {
+        final boolean isCached = cellPrototypes.containsKey(style);
+        reportStyleCache("cellPrototypes", isCached);
+        final CellPrototype cellPrototype;
+        if (isCached) {
+            cellPrototype = cellPrototypes.get(style);
+            if (cellPrototype.tcPr != null) {
+                cell.getCTTc().setTcPr(cellPrototype.tcPr);
+            }
+            convertCellHeight(cell, LayoutStyle.extractLayoutStyle(style));
+        } else {
+            convertStyleToCell(style, cell, paragraph, run);
+            cellPrototype = createCellPrototype(cell, paragraph, run);
+            cellPrototypes.put(style, cellPrototype);
+        }
+        final CTR ctr = run.getCTR();
+        if (ctr.isSetRPr()) {
+            ctr.unsetRPr();
+        }
+        final CTPPr ppr = paragraph.getCTP().getPPr();
+        if (ppr != null && ppr.isSetJc()) {
+            ppr.unsetJc();
+        }
+        paragraph.setStyle(cellPrototype.styleId);
+    }
+
+    /**
+     * Creates the prototype of a converted cell, its text properties and alignment
+     * are added to the document as a named paragraph style
+     *
+     * @param cell      converted docx table cell
+     * @param paragraph paragraph of the cell
+     * @param run       run of the paragraph
+     * @return prototype
+     */
+    protected CellPrototype createCellPrototype(XWPFTableCell cell, XWPFParagraph paragraph, XWPFRun run) {
+        final XWPFStyles styles = cell.getXWPFDocument().createStyles();
+        int number = cellPrototypes.size() + 1;
+        while (styles.styleExist(CELL_STYLE_ID_PREFIX + number)) {
+            number++;
+        }
+        final String styleId = CELL_STYLE_ID_PREFIX + number;
+        final CTStyle ctStyle = CTStyle.Factory.newInstance();
+        ctStyle.setStyleId(styleId);
+        ctStyle.addNewName().setVal(styleId);
+        ctStyle.setType(STStyleType.PARAGRAPH);
+        if (run.getCTR().isSetRPr()) {
+            ctStyle.setRPr(run.getCTR().getRPr());
+        }
+        final CTPPr ppr = paragraph.getCTP().getPPr();
+        if (ppr != null && ppr.isSetJc()) {
+            ctStyle.addNewPPr().setJc(ppr.getJc());
+        }
+        styles.addStyle(new XWPFStyle(ctStyle));
+        final CTTc ctTc = cell.getCTTc();
+        return new CellPrototype(styleId, ctTc.isSetTcPr() ? (CTTcPr) ctTc.getTcPr().copy() : null);
+    }
+
     /**
      * Converts style to native text style or element style
      *
@@ -314,7 +439,8 @@ public class WordStyleService extends StyleService implements DocDetails {
         convertHorizontalAlignment(paragraph, layoutStyle);
         convertVerticalAlignmentCell(cell, layoutStyle);
         final Boolean isCellAutoWidth = layoutStyle.isAutoWidth();
-        final CTTblWidth tblWidth = cell.getCTTc().addNewTcPr().addNewTcW();
+        final CTTcPr tcPr = getCellProperties(cell.getCTTc());
+        final CTTblWidth tblWidth = tcPr.isSetTcW() ? tcPr.getTcW() : tcPr.addNewTcW();
         if (isCellAutoWidth != null && isCellAutoWidth) {
             tblWidth.setType(STTblWidth.AUTO);
         }
@@ -331,6 +457,27 @@ public class WordStyleService extends StyleService implements DocDetails {
                     cell.setWidth(String.valueOf(CastUtils.<Integer>convert(value)));
                 });
         }
+        convertCellHeight(cell, layoutStyle);
+
+        if (geometryDetails.getAngle() != null) {
+            geometryDetails
+                .getAngle()
+                .getValueFor(EXTENSION)
+                .ifPresent(angle -> renderXWPFParagraphAsPNGImage(cell.getParagraphs().get(0), layoutStyle));
+        }
+    }
+
+    /**
+     * Sets the height of the cell row if the layout style has it
+     *
+     * @param cell        docx table cell
+     * @param layoutStyle cell layout style or null
+     */
+    public static void convertCellHeight(XWPFTableCell cell, LayoutStyle layoutStyle) {
+        if (layoutStyle == null || layoutStyle.getGeometryDetails() == null) {
+            return;
+        }
+        final GeometryDetails geometryDetails = layoutStyle.getGeometryDetails();
         if (geometryDetails.getHeight() != null) {
             geometryDetails
                 .getHeight()
@@ -339,13 +486,17 @@ public class WordStyleService extends StyleService implements DocDetails {
                     cell.getTableRow().setHeight(CastUtils.<Integer>convert(value))
                 );
         }
+    }
 
-        if (geometryDetails.getAngle() != null) {
-            geometryDetails
-                .getAngle()
-                .getValueFor(EXTENSION)
-                .ifPresent(angle -> renderXWPFParagraphAsPNGImage(cell.getParagraphs().get(0), layoutStyle));
-        }
+    /**
+     * Returns the properties of the cell, they are created if the cell has none,
+     * so a cell gets only one set of properties
+     *
+     * @param ctTc docx table cell
+     * @return cell properties
+     */
+    public static CTTcPr getCellProperties(CTTc ctTc) {
+        return ctTc.isSetTcPr() ? ctTc.getTcPr() : ctTc.addNewTcPr();
     }
 
     /**
@@ -410,8 +561,10 @@ public class WordStyleService extends StyleService implements DocDetails {
         final BorderStyle borderRight = layoutStyle.getBorderRight();
         final BorderStyle borderBottom = layoutStyle.getBorderBottom();
 
-        final CTTc ctTc = cell.getCTTc();
-        final CTTcPr tcPr = ctTc.addNewTcPr();
+        final CTTcPr tcPr = getCellProperties(cell.getCTTc());
+        if (tcPr.isSetTcBorders()) {
+            tcPr.unsetTcBorders();
+        }
         final CTTcBorders border = tcPr.addNewTcBorders();
 
         if (borderTop != null) {
@@ -659,11 +812,38 @@ public class WordStyleService extends StyleService implements DocDetails {
     public String toString() {
         return MoreObjects.toStringHelper(this)
             .add("fontCharset", fontCharset)
+            .add("useNamedCellStyles", useNamedCellStyles)
             .toString();
     }
 
+    /**
+     * Starts a new document, named styles of cells are added to the document while its tables are written
+     */
     @Override
     public void writeStyles(Object o) {
         /*https://stackoverflow.com/questions/61251082/apache-poi-for-word-create-custom-style-with-textalignment*/
+        cellPrototypes.clear();
+    }
+
+    public boolean isUseNamedCellStyles() {
+        return useNamedCellStyles;
+    }
+
+    public WordStyleService setUseNamedCellStyles(boolean useNamedCellStyles) {
+        this.useNamedCellStyles = useNamedCellStyles;
+        return this;
+    }
+
+    /**
+     * Converted style of table cells: id of the named paragraph style and properties of the cell
+     */
+    protected static class CellPrototype {
+        private final String styleId;
+        private final CTTcPr tcPr;
+
+        CellPrototype(String styleId, CTTcPr tcPr) {
+            this.styleId = styleId;
+            this.tcPr = tcPr;
+        }
     }
 }
@@ -5,22 +5,27 @@ import com.model.domain.style.StyleUtils;
 import com.model.domain.style.TextStyle;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.HashMap;
 import java.util.Locale;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 /**
- * A set of methods for representing numbers in different {@link DecimalFormat} locales
+ * A set of methods for representing numbers in different {@link DecimalFormat} locales.
+ * <p>
+ * Numbers are recognized by a scanner of the pattern "[-+]?[0-9]*[,.]?[0-9]+" and are formatted from {@link BigDecimal}
+ * without rounding through float. A number is read by the symbols of the given format, e.g. "1,234" is 1234
+ * for the format "#,##0.00" of the english locale, otherwise ',' or '.' is the decimal separator.
+ * Formats are cached per thread, because {@link DecimalFormat} isn't thread-safe:
+ * formats of locales and copies of the given formats, which are shared e.g. by styles of concurrent documents
  */
 public abstract class LocalizedNumberUtils {
-    /**
-     * Number pattern per line
-     */
-    private static final String floatRegex = "[-+]?[0-9]*[,.]?[0-9]+";
     /**
      * Separator of the integer and fractional part of the number
      */
@@ -29,62 +34,181 @@ public abstract class LocalizedNumberUtils {
      * The number of digits of the fractional part of the number
      */
     private static final int DEFAULT_DECIMAL_FRACTION_DIGITS = 3;
+    /**
+     * Result of {@link LocalizedNumberUtils#scanNumber} for a text, which isn't a number
+     */
+    private static final int NOT_A_NUMBER = -1;
+    /**
+     * Formats of locales, confined to the thread
+     */
+    private static final ThreadLocal<Map<Locale, DecimalFormat>> LOCALE_FORMATS = ThreadLocal.withInitial(HashMap::new);
+    /**
+     * Copies of the given formats by their pattern and symbols, confined to the thread
+     */
+    private static final ThreadLocal<Map<DecimalFormat, DecimalFormat>> FORMATS = ThreadLocal.withInitial(HashMap::new);
+    /**
+     * Number of copies of the given formats per thread, the copies are dropped when there are more distinct formats
+     */
+    private static final int MAX_FORMATS = 256;
 
     /**
      * @param text          input string
      * @param style         domain style
      * @param decimalFormat number format
      * @return formatted string if it is a number or input string if it has text, empty string otherwise
-     * @throws ParseException number in string could not be resolved
      */
     public static String applyDecimalFormat(
         String text,
         Style style,
         DecimalFormat decimalFormat
-    ) throws ParseException {
+    ) {
         if (!StringUtils.hasText(text)) {
             return "";
         }
+        final int separatorIndex = scanNumber(text);
+        if (separatorIndex == NOT_A_NUMBER) {
+            return text;
+        }
         final TextStyle textStyle = StyleUtils.extractTextStyle(style);
-        if (isNumber(text)) {
-            final DecimalFormat format = (decimalFormat != null)
-                ? decimalFormat
-                : textStyle != null
-                    ? textStyle.getDecimalFormat()
-                    : null;
-            final Locale locale = (textStyle != null)
-                ? textStyle.getFontLocale()
+        final DecimalFormat format = (decimalFormat != null)
+            ? decimalFormat
+            : textStyle != null
+                ? textStyle.getDecimalFormat()
                 : null;
-            return localizeNumber(text, format, locale);
-        }
-        return text;
+        final Locale locale = (textStyle != null)
+            ? textStyle.getFontLocale()
+            : null;
+        return localizeNumber(text, separatorIndex, format, locale);
     }
 
     public static Boolean isNumber(String text) {
-        return Pattern.matches(floatRegex, text);
+        return text != null && scanNumber(text) != NOT_A_NUMBER;
     }
 
     /**
      * @param number string representation of a number
      * @param format {@link DecimalFormat} number format
+     * @param locale locale of the number format, it's used if the format isn't set
      * @return - formatted text
      * @throws ParseException number in string could not be resolved
      */
     public static String localizeNumber(String number, DecimalFormat format, Locale locale) throws ParseException {
+        if (format == null && locale == null) {
+            return number;
+        }
+        final int separatorIndex = scanNumber(number);
+        if (separatorIndex == NOT_A_NUMBER) {
+            throw new ParseException(String.format("Text \"%s\" isn't a number", number), 0);
+        }
+        return localizeNumber(number, separatorIndex, format, locale);
+    }
+
+    private static String localizeNumber(String number, int separatorIndex, DecimalFormat format, Locale locale) {
         if (format != null) {
-            return format.format(format.parse(number).floatValue());
-        } else {
-            if (locale == null) {
-                return number;
+            final DecimalFormat threadFormat = getThreadFormat(format);
+            return threadFormat.format(parse(number, separatorIndex, threadFormat));
+        }
+        if (locale == null) {
+            return number;
+        }
+        return LOCALE_FORMATS.get()
+            .computeIfAbsent(locale, LocalizedNumberUtils::createLocaleFormat)
+            .format(toBigDecimal(number, separatorIndex));
+    }
+
+    /**
+     * Returns the copy of the format confined to the thread, the copy parses numbers to {@link BigDecimal}
+     *
+     * @param format number format
+     * @return copy of the format
+     */
+    private static DecimalFormat getThreadFormat(DecimalFormat format) {
+        final Map<DecimalFormat, DecimalFormat> formats = FORMATS.get();
+        DecimalFormat threadFormat = formats.get(format);
+        if (threadFormat == null) {
+            if (formats.size() >= MAX_FORMATS) {
+                formats.clear();
             }
-            final DecimalFormat localFormat = (DecimalFormat) NumberFormat.getInstance(locale);
-            localFormat.setRoundingMode(RoundingMode.DOWN);
-            localFormat.setMinimumFractionDigits(DEFAULT_DECIMAL_FRACTION_DIGITS);
-            localFormat.setMaximumFractionDigits(DEFAULT_DECIMAL_FRACTION_DIGITS);
-            final DecimalFormatSymbols symbols = localFormat.getDecimalFormatSymbols();
-            symbols.setDecimalSeparator(DEFAULT_DECIMAL_SEPARATOR);
-            localFormat.setDecimalFormatSymbols(symbols);
-            return localFormat.format(localFormat.parse(number).floatValue());
+            threadFormat = (DecimalFormat) format.clone();
+            threadFormat.setParseBigDecimal(true);
+            // the key is a copy too, so changes of the given format don't break the map
+            formats.put((DecimalFormat) format.clone(), threadFormat);
+        }
+        return threadFormat;
+    }
+
+    /**
+     * Reads the number by the symbols of the format,
+     * the number is read with ',' or '.' as the decimal separator if the format can't read all of it
+     *
+     * @param number         string representation of a number
+     * @param separatorIndex index of the decimal separator
+     * @param format         format, which parses numbers to {@link BigDecimal}
+     * @return number
+     */
+    private static BigDecimal parse(String number, int separatorIndex, DecimalFormat format) {
+        final String unsignedNumber = number.charAt(0) == '+' ? number.substring(1) : number;
+        final ParsePosition position = new ParsePosition(0);
+        final Number parsed = format.parse(unsignedNumber, position);
+        if (parsed instanceof BigDecimal && position.getIndex() == unsignedNumber.length()) {
+            return (BigDecimal) parsed;
+        }
+        return toBigDecimal(number, separatorIndex);
+    }
+
+    private static DecimalFormat createLocaleFormat(Locale locale) {
+        final DecimalFormat localFormat = (DecimalFormat) NumberFormat.getInstance(locale);
+        localFormat.setRoundingMode(RoundingMode.DOWN);
+        localFormat.setMinimumFractionDigits(DEFAULT_DECIMAL_FRACTION_DIGITS);
+        localFormat.setMaximumFractionDigits(DEFAULT_DECIMAL_FRACTION_DIGITS);
+        final DecimalFormatSymbols symbols = localFormat.getDecimalFormatSymbols();
+        symbols.setDecimalSeparator(DEFAULT_DECIMAL_SEPARATOR);
+        localFormat.setDecimalFormatSymbols(symbols);
+        return localFormat;
+    }
+
+    /**
+     * Scans the text by the pattern "[-+]?[0-9]*[,.]?[0-9]+"
+     *
+     * @param text input string
+     * @return index of the decimal separator, length of the text if there is no separator,
+     * {@link LocalizedNumberUtils#NOT_A_NUMBER} if the text isn't a number
+     */
+    private static int scanNumber(String text) {
+        final int length = text.length();
+        int i = 0;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            i++;
+        }
+        final int integerStart = i;
+        while (i < length && isDigit(text.charAt(i))) {
+            i++;
+        }
+        final boolean hasIntegerDigits = i > integerStart;
+        int separatorIndex = length;
+        if (i < length && (text.charAt(i) == ',' || text.charAt(i) == '.')) {
+            separatorIndex = i;
+            i++;
+        }
+        final int fractionStart = i;
+        while (i < length && isDigit(text.charAt(i))) {
+            i++;
+        }
+        final boolean hasFractionDigits = i > fractionStart;
+        if (i != length || !hasFractionDigits && (separatorIndex != length || !hasIntegerDigits)) {
+            return NOT_A_NUMBER;
+        }
+        return separatorIndex;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static BigDecimal toBigDecimal(String number, int separatorIndex) {
+        if (separatorIndex < number.length() && number.charAt(separatorIndex) == ',') {
+            return new BigDecimal(number.replace(',', '.'));
         }
+        return new BigDecimal(number);
     }
 }
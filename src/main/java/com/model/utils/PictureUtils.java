@@ -1,7 +1,7 @@
 package com.model.utils;
 
+import com.model.domain.core.PictureMetadata;
 import com.model.domain.style.constant.PictureFormat;
-import org.apache.maven.surefire.shared.lang3.ArrayUtils;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
@@ -9,39 +9,25 @@ import javax.imageio.stream.ImageInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectOutputStream;
 import java.util.Iterator;
-import java.util.Locale;
-import java.util.function.Function;
 
 public abstract class PictureUtils {
+    private static final double INCHES_PER_METER = 0.0254;
+    private static final double CENTIMETERS_PER_INCH = 2.54;
+    private static final double MILLIMETERS_PER_INCH = 25.4;
+    private static final int PICT_HEADER_SIZE = 512;
+    private static final int PNG_IDAT = 0x49444154;
+    private static final int PNG_PHYS = 0x70485973;
 
+    /**
+     * Finds the picture format by the signature bytes of the data, the data isn't copied or decoded
+     *
+     * @param data picture raw data
+     * @return picture format or null if the data isn't a picture of a known format
+     */
     public static PictureFormat getFormat(byte[] data) {
-        //Parse format with ImageIO
-        try (InputStream inputStream = new ByteArrayInputStream(data)) {
-            final ImageInputStream iis = ImageIO.createImageInputStream(inputStream);
-            final Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(iis);
-            if (imageReaders.hasNext()) {
-                final ImageReader reader = imageReaders.next();
-                return mapContentTypeToPictureFormat(reader.getFormatName().toUpperCase(Locale.getDefault()));
-            }
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Can't determine data format", e);
-        }
-
-        // Parse format manually
-        for (final PictureFormat pictureFormat : PictureFormat.values()) {
-            final Function<Byte[], Boolean> fileParser = pictureFormat.getFormatChecker();
-            if (fileParser == null) {
-                continue;
-            }
-            if (fileParser.apply(ArrayUtils.toObject(data))) {
-                return pictureFormat;
-            }
-        }
-
-        return null;
+        return PictureFormat.sniff(data);
     }
 
     public static PictureFormat getFormat(Object obj) {
@@ -59,10 +45,237 @@ public abstract class PictureUtils {
         }
     }
 
-    private static PictureFormat mapContentTypeToPictureFormat(String format) {
-        if ("JPEG".equals(format)) {
-            return PictureFormat.JPG;
+    /**
+     * Reads format, dimensions and resolution of the picture from its header bytes without decoding the picture.
+     * If a raster header can't be parsed, dimensions are read by an ImageIO reader, which also reads only the header
+     *
+     * @param data picture raw data
+     * @return picture metadata, format is null and dimensions are 0 if the data isn't a picture of a known format
+     */
+    public static PictureMetadata readMetadata(byte[] data) {
+        final PictureFormat format = getFormat(data);
+        if (format == null) {
+            return PictureMetadata.create(null, 0, 0);
+        }
+        final PictureMetadata metadata = readHeaderMetadata(format, data);
+        return metadata != null ? metadata : readMetadataByImageIO(format, data);
+    }
+
+    private static PictureMetadata readHeaderMetadata(PictureFormat format, byte[] data) {
+        switch (format) {
+            case JPG:
+                return readJpgMetadata(data);
+            case PNG:
+                return readPngMetadata(data);
+            case GIF:
+                return hasBytes(data, 6, 4)
+                    ? PictureMetadata.create(format, readUInt16Le(data, 6), readUInt16Le(data, 8))
+                    : null;
+            case BMP:
+                return readBitmapInfoHeader(format, data, 14);
+            case DIB:
+                return readBitmapInfoHeader(format, data, 0);
+            case WMF:
+                return readWmfMetadata(data);
+            case EMF:
+                return readEmfMetadata(data);
+            case PICT:
+                return readPictMetadata(data);
+            default:
+                return null;
+        }
+    }
+
+    private static PictureMetadata readJpgMetadata(byte[] data) {
+        double horizontalDpi = 0;
+        double verticalDpi = 0;
+        int offset = 2;
+        while (hasBytes(data, offset, 4)) {
+            if ((data[offset] & 0xFF) != 0xFF) {
+                return null;
+            }
+            final int marker = data[offset + 1] & 0xFF;
+            if (marker == 0xFF) {
+                offset++;
+                continue;
+            }
+            if (marker == 0xE0 && hasBytes(data, offset + 4, 12) && isJfif(data, offset + 4)) {
+                final int units = data[offset + 11];
+                final double scale = units == 1 ? 1 : units == 2 ? CENTIMETERS_PER_INCH : 0;
+                horizontalDpi = readUInt16Be(data, offset + 12) * scale;
+                verticalDpi = readUInt16Be(data, offset + 14) * scale;
+            }
+            if (isStartOfFrame(marker)) {
+                if (!hasBytes(data, offset + 5, 4)) {
+                    return null;
+                }
+                return PictureMetadata.create(
+                    PictureFormat.JPG,
+                    readUInt16Be(data, offset + 7),
+                    readUInt16Be(data, offset + 5),
+                    horizontalDpi,
+                    verticalDpi
+                );
+            }
+            offset += 2 + readUInt16Be(data, offset + 2);
+        }
+        return null;
+    }
+
+    private static boolean isJfif(byte[] data, int offset) {
+        return data[offset] == 'J' && data[offset + 1] == 'F' && data[offset + 2] == 'I' && data[offset + 3] == 'F'
+            && data[offset + 4] == 0;
+    }
+
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private static PictureMetadata readPngMetadata(byte[] data) {
+        if (!hasBytes(data, 16, 8)) {
+            return null;
+        }
+        final int width = readInt32Be(data, 16);
+        final int height = readInt32Be(data, 20);
+        int offset = 8;
+        while (hasBytes(data, offset, 8)) {
+            final int length = readInt32Be(data, offset);
+            final int type = readInt32Be(data, offset + 4);
+            if (type == PNG_IDAT || length < 0) {
+                break;
+            }
+            if (type == PNG_PHYS && hasBytes(data, offset + 8, 9) && data[offset + 16] == 1) {
+                return PictureMetadata.create(
+                    PictureFormat.PNG,
+                    width,
+                    height,
+                    readInt32Be(data, offset + 8) * INCHES_PER_METER,
+                    readInt32Be(data, offset + 12) * INCHES_PER_METER
+                );
+            }
+            offset += 12 + length;
+        }
+        return PictureMetadata.create(PictureFormat.PNG, width, height);
+    }
+
+    private static PictureMetadata readBitmapInfoHeader(PictureFormat format, byte[] data, int offset) {
+        if (!hasBytes(data, offset, 12)) {
+            return null;
+        }
+        final int headerSize = readInt32Le(data, offset);
+        if (headerSize == 12) {
+            return PictureMetadata.create(format, readUInt16Le(data, offset + 4), readUInt16Le(data, offset + 6));
+        }
+        if (!hasBytes(data, offset, 32)) {
+            return null;
+        }
+        return PictureMetadata.create(
+            format,
+            readInt32Le(data, offset + 4),
+            Math.abs(readInt32Le(data, offset + 8)),
+            readInt32Le(data, offset + 24) * INCHES_PER_METER,
+            readInt32Le(data, offset + 28) * INCHES_PER_METER
+        );
+    }
+
+    /**
+     * Placeable WMF header: bounding box in logical units and number of logical units per inch
+     */
+    private static PictureMetadata readWmfMetadata(byte[] data) {
+        if (!hasBytes(data, 6, 10)) {
+            return PictureMetadata.create(PictureFormat.WMF, 0, 0);
+        }
+        final int unitsPerInch = readUInt16Le(data, 14);
+        return PictureMetadata.create(
+            PictureFormat.WMF,
+            Math.abs(readInt16Le(data, 10) - readInt16Le(data, 6)),
+            Math.abs(readInt16Le(data, 12) - readInt16Le(data, 8)),
+            unitsPerInch,
+            unitsPerInch
+        );
+    }
+
+    /**
+     * EMF header: bounds in device pixels, sizes of the reference device in pixels and millimeters
+     */
+    private static PictureMetadata readEmfMetadata(byte[] data) {
+        if (!hasBytes(data, 8, 80)) {
+            return PictureMetadata.create(PictureFormat.EMF, 0, 0);
+        }
+        final int deviceWidthMm = readInt32Le(data, 80);
+        final int deviceHeightMm = readInt32Le(data, 84);
+        return PictureMetadata.create(
+            PictureFormat.EMF,
+            readInt32Le(data, 16) - readInt32Le(data, 8) + 1,
+            readInt32Le(data, 20) - readInt32Le(data, 12) + 1,
+            deviceWidthMm > 0 ? readInt32Le(data, 72) * MILLIMETERS_PER_INCH / deviceWidthMm : 0,
+            deviceHeightMm > 0 ? readInt32Le(data, 76) * MILLIMETERS_PER_INCH / deviceHeightMm : 0
+        );
+    }
+
+    /**
+     * PICT picture frame in points, after the optional 512 bytes header and the picture size
+     */
+    private static PictureMetadata readPictMetadata(byte[] data) {
+        final int offset = hasBytes(data, PICT_HEADER_SIZE + 10, 2) && data[PICT_HEADER_SIZE + 10] == 0x11
+            || hasBytes(data, PICT_HEADER_SIZE + 11, 1) && data[PICT_HEADER_SIZE + 11] == 0x11
+            ? PICT_HEADER_SIZE + 2
+            : 2;
+        if (!hasBytes(data, offset, 8)) {
+            return PictureMetadata.create(PictureFormat.PICT, 0, 0);
+        }
+        return PictureMetadata.create(
+            PictureFormat.PICT,
+            Math.abs(readInt16Be(data, offset + 6) - readInt16Be(data, offset + 2)),
+            Math.abs(readInt16Be(data, offset + 4) - readInt16Be(data, offset)),
+            72,
+            72
+        );
+    }
+
+    private static PictureMetadata readMetadataByImageIO(PictureFormat format, byte[] data) {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            final Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(iis);
+            if (!imageReaders.hasNext()) {
+                return PictureMetadata.create(format, 0, 0);
+            }
+            final ImageReader reader = imageReaders.next();
+            try {
+                reader.setInput(iis, true, true);
+                return PictureMetadata.create(format, reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Can't read %s picture header", format), e);
         }
-        return PictureFormat.valueOf(format);
+    }
+
+    private static boolean hasBytes(byte[] data, int offset, int length) {
+        return offset >= 0 && offset + length <= data.length;
+    }
+
+    private static int readUInt16Be(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 8 | data[offset + 1] & 0xFF;
+    }
+
+    private static int readInt16Be(byte[] data, int offset) {
+        return (short) readUInt16Be(data, offset);
+    }
+
+    private static int readUInt16Le(byte[] data, int offset) {
+        return (data[offset + 1] & 0xFF) << 8 | data[offset] & 0xFF;
+    }
+
+    private static int readInt16Le(byte[] data, int offset) {
+        return (short) readUInt16Le(data, offset);
+    }
+
+    private static int readInt32Be(byte[] data, int offset) {
+        return readUInt16Be(data, offset) << 16 | readUInt16Be(data, offset + 2);
+    }
+
+    private static int readInt32Le(byte[] data, int offset) {
+        return readUInt16Le(data, offset + 2) << 16 | readUInt16Le(data, offset);
     }
 }
@@ -0,0 +1,116 @@
+package com.reporter.benchmark;
+
+import com.model.domain.Document;
+import com.model.domain.DocumentCase;
+import com.model.formatter.BatchRenderer;
+import com.model.formatter.DocumentHolder;
+import com.model.formatter.FormatterContext;
+import com.model.formatter.FormatterFactory;
+import com.model.formatter.RenderJob;
+import com.model.formatter.RenderResult;
+import com.model.formatter.csv.CsvFormatter;
+import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.html.HtmlFormatter;
+import com.model.formatter.pdf.PdfFormatter;
+import com.model.formatter.word.DocxFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of rendering a batch of documents by {@link BatchRenderer} with one and with all available processors,
+ * in documents per second.
+ * Run with: mvn test -P jmh -Djmh.includes=BatchRendererBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchRendererBenchmark.DOCUMENTS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class BatchRendererBenchmark {
+    public static final int DOCUMENTS = 100;
+    private static final String[] EXTENSIONS = {"csv", "html", "xlsx", "pdf", "docx"};
+    private static final int ROWS = 200;
+    private static final int COLUMNS = 6;
+
+    /**
+     * Threads of the renderer, 0 is the number of available processors
+     */
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private BatchRenderer batchRenderer;
+
+    private FormatterContext formatterContext;
+
+    @Setup
+    public void setup() {
+        final FormatterFactory formatterFactory = new FormatterFactory(
+            Arrays.asList(
+                CsvFormatter.create(), HtmlFormatter.create(), XlsxFormatter.create(),
+                PdfFormatter.create(), DocxFormatter.create()
+            )
+        );
+        batchRenderer = BatchRenderer.create(
+            formatterFactory,
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()
+        );
+        formatterContext = FormatterContext.create(
+            "UTF-8",
+            Locale.ENGLISH,
+            TimeZone.getTimeZone("UTC"),
+            new DecimalFormat("#,##0.00"),
+            ';'
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchRenderer.close();
+    }
+
+    @Benchmark
+    public long renderAll() throws Exception {
+        final List<RenderJob> jobs = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            final Document document = Document.create()
+                .setLabel("benchmark_" + parallelism + "_" + i)
+                .addPart(
+                    DocumentCase.create()
+                        .setName("Benchmark")
+                        .addPart(SyntheticTable.create(ROWS, COLUMNS))
+                );
+            jobs.add(RenderJob.create(document, EXTENSIONS[i % EXTENSIONS.length], formatterContext));
+        }
+        long length = 0;
+        try (BatchRenderer.Results results = batchRenderer.render(jobs)) {
+            while (results.hasNext()) {
+                final RenderResult result = results.next();
+                try (DocumentHolder documentHolder = result.getDocumentHolder()) {
+                    length += documentHolder.getResource().contentLength();
+                }
+            }
+        }
+        return length;
+    }
+}
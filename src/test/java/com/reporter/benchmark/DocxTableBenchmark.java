@@ -0,0 +1,113 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.domain.TableCell;
+import com.model.domain.style.BorderStyle;
+import com.model.domain.style.LayoutStyle;
+import com.model.domain.style.LayoutTextStyle;
+import com.model.domain.style.StyleCondition;
+import com.model.domain.style.TextStyle;
+import com.model.domain.style.constant.BorderWeight;
+import com.model.domain.style.constant.Color;
+import com.model.domain.style.constant.HorAlignment;
+import com.model.domain.style.constant.VertAlignment;
+import com.model.formatter.word.DocxFormatter;
+import com.model.formatter.word.StreamingDocxFormatter;
+import com.model.formatter.word.WordFormatter;
+import com.model.formatter.word.style.WordStyleService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of a docx table with styled cells:
+ * cells referring to named styles, cells with direct formatting and rows streamed to a temporary file.
+ * The size of the written file is reported by {@link FileSize}, the peak heap by {@link PeakHeap}.
+ * Run with: mvn test -P jmh -Djmh.includes=DocxTableBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class DocxTableBenchmark {
+    private static final int COLUMNS = 8;
+
+    @Param({"5000"})
+    private int rows;
+
+    /**
+     * Writing of the table, see {@link Writing}
+     */
+    @Param({"NAMED_STYLES", "DIRECT_FORMATTING", "STREAMING"})
+    private Writing writing;
+
+    /**
+     * Writing of the table
+     */
+    public enum Writing {
+        /**
+         * Cells refer to named styles
+         */
+        NAMED_STYLES,
+        /**
+         * Every cell is formatted directly
+         */
+        DIRECT_FORMATTING,
+        /**
+         * Rows are streamed to a temporary file, cells refer to named styles
+         */
+        STREAMING
+    }
+
+    /**
+     * Size of the last written file in bytes
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FileSize {
+        public long fileSize;
+    }
+
+    @Benchmark
+    public long render(FileSize fileSize, PeakHeap peakHeap) throws Throwable {
+        final WordFormatter docxFormatter = writing == Writing.STREAMING ? StreamingDocxFormatter.create() : DocxFormatter.create();
+        ((WordStyleService) docxFormatter.getStyleService())
+            .setUseNamedCellStyles(writing != Writing.DIRECT_FORMATTING)
+            .addStyles(createCellStyle());
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        docxFormatter.setOutputStream(outputStream);
+        docxFormatter.handle(Document.create().setLabel("benchmark").addPart(SyntheticTable.create(rows, COLUMNS)));
+        peakHeap.update();
+        fileSize.fileSize = outputStream.getCount();
+        return outputStream.getCount();
+    }
+
+    private LayoutTextStyle createCellStyle() {
+        final BorderStyle border = BorderStyle.create(Color.BLACK, BorderWeight.THIN);
+        return LayoutTextStyle.create(
+            TextStyle.create().setFontNameResource("Arial").setFontSize((short) 10).setColor(Color.BLACK),
+            LayoutStyle.create()
+                .setBorderTop(border)
+                .setBorderLeft(border)
+                .setBorderRight(border)
+                .setBorderBottom(border)
+                .setFillBackgroundColor(Color.WHITE)
+                .setHorAlignment(HorAlignment.RIGHT)
+                .setVertAlignment(VertAlignment.CENTER)
+        ).setStyleCondition(StyleCondition.create(TableCell.class));
+    }
+}
@@ -0,0 +1,95 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.formatter.excel.ExcelFormatter;
+import com.model.formatter.excel.StreamingXlsxFormatter;
+import com.model.formatter.excel.XlsFormatter;
+import com.model.formatter.excel.XlsxFormatter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the cost of one appended cell in ExcelFormatterVisitor
+ * on long and wide sheets, it should not depend on the sheet size: see the time per cell in {@link Cells}.
+ * Run with: mvn test -P jmh -Djmh.includes=ExcelAppendBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class ExcelAppendBenchmark {
+
+    /**
+     * Sheets of xlsx formatters: rows x columns
+     */
+    @State(Scope.Benchmark)
+    public static class XlsxSheet {
+        @Param({"1000x8", "10000x8", "100000x8", "1000x64", "1000x512", "250x4096"})
+        private String sheet;
+    }
+
+    /**
+     * Sheets of the xls formatter, which is limited by 65536 rows and 256 columns: rows x columns
+     */
+    @State(Scope.Benchmark)
+    public static class XlsSheet {
+        @Param({"1000x8", "10000x8", "60000x8", "1000x64", "1000x255"})
+        private String sheet;
+    }
+
+    /**
+     * Appended cells as operations, so their secondary result is the time per cell
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Cells {
+        public long cells;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cells = 0;
+        }
+    }
+
+    @Benchmark
+    public long xlsxAppend(XlsxSheet xlsxSheet, Cells cells) throws Throwable {
+        return render(XlsxFormatter.create(), xlsxSheet.sheet, cells);
+    }
+
+    @Benchmark
+    public long streamingXlsxAppend(XlsxSheet xlsxSheet, Cells cells) throws Throwable {
+        return render(StreamingXlsxFormatter.create(), xlsxSheet.sheet, cells);
+    }
+
+    @Benchmark
+    public long xlsAppend(XlsSheet xlsSheet, Cells cells) throws Throwable {
+        return render(XlsFormatter.create(), xlsSheet.sheet, cells);
+    }
+
+    private long render(ExcelFormatter formatter, String sheet, Cells cells) throws Throwable {
+        final String[] shape = sheet.split("x");
+        final int rows = Integer.parseInt(shape[0]);
+        final int columns = Integer.parseInt(shape[1]);
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        formatter.setOutputStream(outputStream);
+        formatter.handle(Document.create().setLabel("benchmark").addPart(SyntheticTable.create(rows, columns)));
+        cells.cells += (long) rows * columns;
+        return outputStream.getCount();
+    }
+}
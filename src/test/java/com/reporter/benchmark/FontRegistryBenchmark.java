@@ -0,0 +1,113 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.domain.DocumentCase;
+import com.model.domain.FontRegistry;
+import com.model.domain.FontService;
+import com.model.domain.TableCell;
+import com.model.domain.style.FontFamilyStyle;
+import com.model.domain.style.StyleCondition;
+import com.model.domain.style.TextStyle;
+import com.model.formatter.pdf.PdfFormatter;
+import com.model.formatter.pdf.style.PdfFontCache;
+import com.model.formatter.pdf.style.PdfStyleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of PDF generation time with fonts of the shared {@link FontRegistry} and {@link PdfFontCache}
+ * and with fonts loaded and parsed for every document.
+ * Run with: mvn test -P jmh -Djmh.includes=FontRegistryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class FontRegistryBenchmark {
+    private static final int ROWS = 100;
+    private static final int COLUMNS = 4;
+
+    /**
+     * Fonts of a document, see {@link Fonts}
+     */
+    @Param({"SHARED_FONT_REGISTRY_AND_FONT_CACHE", "FONT_CACHE_PER_DOCUMENT", "FONT_REGISTRY_AND_FONT_CACHE_PER_DOCUMENT"})
+    private Fonts fonts;
+
+    /**
+     * Sources of fonts of a document
+     */
+    public enum Fonts {
+        /**
+         * Fonts of the shared font registry parsed once by the shared font cache
+         */
+        SHARED_FONT_REGISTRY_AND_FONT_CACHE,
+        /**
+         * Fonts of the shared font registry parsed for every document
+         */
+        FONT_CACHE_PER_DOCUMENT,
+        /**
+         * Fonts loaded and parsed for every document
+         */
+        FONT_REGISTRY_AND_FONT_CACHE_PER_DOCUMENT
+    }
+
+    @Benchmark
+    public long render() throws Throwable {
+        final PdfStyleService styleService = createStyleService();
+        styleService.addStyles(
+            TextStyle.create()
+                .setFontFamilyStyle(FontFamilyStyle.SANS_SERIF)
+                .setFontSize((short) 10)
+                .setFontLocale(Locale.ENGLISH)
+                .setStyleCondition(StyleCondition.create(TableCell.class))
+        );
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        PdfFormatter.create()
+            .setStyleService(styleService)
+            .setOutputStream(outputStream)
+            .handle(
+                Document.create()
+                    .setLabel("benchmark")
+                    .addPart(
+                        DocumentCase.create()
+                            .setName("Benchmark")
+                            .addPart(SyntheticTable.create(ROWS, COLUMNS))
+                    )
+            );
+        return outputStream.getCount();
+    }
+
+    private PdfStyleService createStyleService() {
+        switch (fonts) {
+            case SHARED_FONT_REGISTRY_AND_FONT_CACHE:
+                return PdfStyleService.create(StandardCharsets.UTF_8.name(), FontService.create())
+                    .setFontCache(PdfFontCache.getInstance());
+            case FONT_CACHE_PER_DOCUMENT:
+                return PdfStyleService.create(StandardCharsets.UTF_8.name(), FontService.create())
+                    .setFontCache(PdfFontCache.create());
+            case FONT_REGISTRY_AND_FONT_CACHE_PER_DOCUMENT:
+                return PdfStyleService.create(
+                    StandardCharsets.UTF_8.name(),
+                    FontService.create().setFontRegistry(FontRegistry.create())
+                ).setFontCache(PdfFontCache.create());
+            default:
+                throw new IllegalArgumentException(String.format("Unknown fonts %s", fonts));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.domain.DocumentCase;
+import com.model.domain.Heading;
+import com.model.domain.Paragraph;
+import com.model.domain.Picture;
+import com.model.domain.TableCell;
+import com.model.domain.style.StyleCondition;
+import com.model.domain.style.StyleService;
+import com.model.domain.style.TextStyle;
+import com.model.domain.style.constant.PictureFormat;
+import com.model.formatter.Formatter;
+import com.model.formatter.FormatterContext;
+import com.model.formatter.csv.CsvFormatter;
+import com.model.formatter.excel.XlsFormatter;
+import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.html.HtmlFormatter;
+import com.model.formatter.pdf.PdfFormatter;
+import com.model.formatter.word.DocxFormatter;
+import org.apache.poi.util.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DecimalFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of rendering synthetic documents by every formatter to a discarding output stream.
+ * Measures throughput and sampled latency (p99 in results), allocation rate is measured by the gc profiler.
+ * Run with: mvn test -P jmh -Djmh.includes=FormatterBenchmark, see README
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class FormatterBenchmark {
+    private static final int STYLES = 50;
+    private static final int PICTURES = 20;
+
+    /**
+     * Output format, see {@link #createFormatter()}
+     */
+    @Param({"CSV", "XLS", "XLSX", "HTML", "PDF", "DOCX"})
+    private String format;
+
+    /**
+     * Shape of the document, see {@link Shape}
+     */
+    @Param({"NARROW", "WIDE", "PICTURES", "STYLED"})
+    private Shape shape;
+
+    private byte[] picture;
+
+    private FormatterContext formatterContext;
+
+    /**
+     * Shapes of synthetic documents
+     */
+    public enum Shape {
+        /**
+         * Table of 1000 rows and 4 columns
+         */
+        NARROW,
+        /**
+         * Table of 100 rows and 40 columns
+         */
+        WIDE,
+        /**
+         * 20 jpg pictures and a table of 100 rows and 4 columns,
+         * xls documents get the table only, pictures are drawn on xlsx sheets only
+         */
+        PICTURES,
+        /**
+         * Table of 1000 rows and 4 columns with 50 conditional cell styles,
+         * header and interlinear row styles
+         */
+        STYLED
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("pic/pic.jpg")) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Resource pic/pic.jpg not found");
+            }
+            picture = IOUtils.toByteArray(inputStream);
+        }
+        formatterContext = FormatterContext.create(
+            "UTF-8",
+            Locale.ENGLISH,
+            TimeZone.getTimeZone("UTC"),
+            new DecimalFormat("#,##0.00"),
+            ';'
+        );
+    }
+
+    @Benchmark
+    public long render() throws Throwable {
+        final Formatter formatter = createFormatter();
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        formatter.setOutputStream(outputStream);
+        if (shape == Shape.STYLED && formatter.getStyleService() != null) {
+            addStyles(formatter.getStyleService());
+        }
+        formatter.handle(createDocument());
+        return outputStream.getCount();
+    }
+
+    private Formatter createFormatter() {
+        switch (format) {
+            case "CSV":
+                return CsvFormatter.create();
+            case "XLS":
+                return XlsFormatter.create();
+            case "XLSX":
+                return XlsxFormatter.create();
+            case "HTML":
+                return HtmlFormatter.create();
+            case "PDF":
+                return PdfFormatter.create();
+            case "DOCX":
+                return DocxFormatter.create();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown format %s", format));
+        }
+    }
+
+    private Document createDocument() {
+        final DocumentCase documentCase = DocumentCase.create()
+            .setName("Benchmark")
+            .addParts(
+                Heading.create("Benchmark " + shape, 1),
+                Paragraph.create("Synthetic document of shape " + shape)
+            );
+        switch (shape) {
+            case WIDE:
+                documentCase.addPart(SyntheticTable.create(100, 40));
+                break;
+            case PICTURES:
+                for (int i = 0; i < PICTURES && !"XLS".equals(format); i++) {
+                    documentCase.addPart(Picture.create(picture, PictureFormat.JPG));
+                }
+                documentCase.addPart(SyntheticTable.create(100, 4));
+                break;
+            default:
+                documentCase.addPart(SyntheticTable.create(1000, 4));
+        }
+        return Document.create()
+            .setLabel("benchmark")
+            .addPart(documentCase);
+    }
+
+    /**
+     * Registers conditional cell styles of columns beyond the table, which are tested for every cell
+     * and never match, followed by header and interlinear row styles of the formatter context
+     *
+     * @param styleService style service of the formatter
+     */
+    private void addStyles(StyleService styleService) {
+        for (int i = 0; i < STYLES; i++) {
+            final int column = STYLES + i;
+            styleService.addStyles(
+                TextStyle.create()
+                    .setFontSize((short) (8 + i % 10))
+                    .setItalic(true)
+                    .setStyleCondition(
+                        StyleCondition.create(TableCell.class, o -> ((TableCell) o).getColumnIndex() == column)
+                    )
+            );
+        }
+        styleService.addStyles(
+            formatterContext.createHeaderCellStyle(),
+            formatterContext.createRowStyleInterlinear(),
+            formatterContext.createRowStyleNormal()
+        );
+    }
+}
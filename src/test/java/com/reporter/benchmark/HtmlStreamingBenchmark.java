@@ -0,0 +1,131 @@
+package com.reporter.benchmark;
+
+import com.model.domain.Document;
+import com.model.formatter.html.HtmlFormatter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the calls of the output stream made by html formatter on a large table:
+ * number of writes and flushes (syscalls of a file or socket stream), time to the first byte and to the first flush
+ * are reported by {@link StreamCalls}.
+ * Run with: mvn test -P jmh -Djmh.includes=HtmlStreamingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class HtmlStreamingBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 8;
+
+    /**
+     * Flushing of the html output, see {@link Output}
+     */
+    @Param({"DEFAULT", "FLUSH_EVERY_1000_ROWS", "FLUSH_EVERY_64_KIB"})
+    private Output output;
+
+    /**
+     * Flushing of the html output
+     */
+    public enum Output {
+        /**
+         * Flushed at the end of the document
+         */
+        DEFAULT,
+        /**
+         * Flushed after every 1000 table rows
+         */
+        FLUSH_EVERY_1000_ROWS,
+        /**
+         * Flushed after every 64 KiB of encoded html
+         */
+        FLUSH_EVERY_64_KIB
+    }
+
+    /**
+     * Calls of the output stream while the document is written
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StreamCalls {
+        public long writes;
+        public long flushes;
+        public double firstByteMs;
+        public double firstFlushMs;
+    }
+
+    @Benchmark
+    public long render(StreamCalls streamCalls) throws Throwable {
+        final RecordingStream outputStream = new RecordingStream();
+        createFormatter().setOutputStream(outputStream).handle(
+            Document.create().setLabel("benchmark").addPart(SyntheticTable.create(ROWS, COLUMNS))
+        );
+        streamCalls.writes = outputStream.writes;
+        streamCalls.flushes = outputStream.flushes;
+        streamCalls.firstByteMs = outputStream.firstByteNs / 1e6;
+        streamCalls.firstFlushMs = outputStream.firstFlushNs / 1e6;
+        return outputStream.bytes;
+    }
+
+    private HtmlFormatter createFormatter() {
+        switch (output) {
+            case DEFAULT:
+                return HtmlFormatter.create();
+            case FLUSH_EVERY_1000_ROWS:
+                return (HtmlFormatter) HtmlFormatter.create().setFlushRows(1000);
+            case FLUSH_EVERY_64_KIB:
+                return (HtmlFormatter) HtmlFormatter.create().setFlushSize(64 * 1024);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown output %s", output));
+        }
+    }
+
+    /**
+     * Discards written bytes, recording the calls and the time of the first byte and the first flush
+     */
+    private static class RecordingStream extends OutputStream {
+        private final long start = System.nanoTime();
+        private long bytes;
+        private long writes;
+        private long flushes;
+        private long firstByteNs = -1;
+        private long firstFlushNs = -1;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (firstByteNs < 0) {
+                firstByteNs = System.nanoTime() - start;
+            }
+            writes++;
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            if (firstFlushNs < 0) {
+                firstFlushNs = System.nanoTime() - start;
+            }
+            flushes++;
+        }
+    }
+}
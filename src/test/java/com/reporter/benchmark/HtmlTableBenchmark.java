@@ -0,0 +1,313 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.domain.TableCell;
+import com.model.domain.style.LayoutStyle;
+import com.model.domain.style.LayoutTextStyle;
+import com.model.domain.style.Style;
+import com.model.domain.style.StyleCondition;
+import com.model.domain.style.StyleUtils;
+import com.model.domain.style.TextStyle;
+import com.model.domain.style.constant.Color;
+import com.model.domain.style.constant.HorAlignment;
+import com.model.formatter.html.HtmlFormatter;
+import com.model.formatter.html.TagCreator;
+import com.model.formatter.html.attribute.HtmlAttribute;
+import com.model.formatter.html.attribute.HtmlSrcAttribute;
+import com.model.formatter.html.style.CssStyle;
+import com.model.formatter.html.style.HtmlStyleService;
+import com.model.formatter.html.tag.Html4Font;
+import com.model.formatter.html.tag.HtmlTag;
+import com.model.formatter.html.tag.HtmlTagAttributesWriter;
+import com.model.utils.LocalizedNumberUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark of html tables in cells per second:
+ * without styles, with inline css styles of cells, with css classes of cells and with html4 tags.
+ * {@link #writer()} writes tags, attributes and text straight to the writer,
+ * {@link #stringBuilding()} builds every tag of a cell as a string first, as html tags were written before.
+ * Run with: mvn test -P jmh -Djmh.includes=HtmlTableBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(HtmlTableBenchmark.CELLS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class HtmlTableBenchmark {
+    public static final int ROWS = 10_000;
+    public static final int COLUMNS = 8;
+    public static final int CELLS = ROWS * COLUMNS;
+
+    /**
+     * Styles of the table cells, see {@link StyleMode}
+     */
+    @Param({"PLAIN", "INLINE", "CSS_CLASSES", "HTML4"})
+    private StyleMode styleMode;
+
+    /**
+     * Styles of the table cells
+     */
+    public enum StyleMode {
+        /**
+         * No styles
+         */
+        PLAIN,
+        /**
+         * A registered cell style written inside every cell tag
+         */
+        INLINE,
+        /**
+         * A registered cell style referred by a css class
+         */
+        CSS_CLASSES,
+        /**
+         * A registered cell style written as html4 tags and attributes
+         */
+        HTML4
+    }
+
+    @Setup
+    public void setup() throws Throwable {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        render(HtmlFormatter.create(), 10, expected);
+        render(new StringBuildingHtmlFormatter(), 10, actual);
+        if (!Arrays.equals(expected.toByteArray(), actual.toByteArray())) {
+            throw new IllegalStateException(String.format("Html of the string building path differs in %s", styleMode));
+        }
+    }
+
+    @Benchmark
+    public long writer() throws Throwable {
+        return render(HtmlFormatter.create());
+    }
+
+    @Benchmark
+    public long stringBuilding() throws Throwable {
+        return render(new StringBuildingHtmlFormatter());
+    }
+
+    private long render(HtmlFormatter htmlFormatter) throws Throwable {
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        render(htmlFormatter, ROWS, outputStream);
+        return outputStream.getCount();
+    }
+
+    private void render(HtmlFormatter htmlFormatter, int rows, OutputStream outputStream) throws Throwable {
+        htmlFormatter.setStyleService(createStyleService());
+        htmlFormatter.setOutputStream(outputStream);
+        htmlFormatter.handle(Document.create().setLabel("benchmark").addPart(SyntheticTable.create(rows, COLUMNS)));
+    }
+
+    private HtmlStyleService createStyleService() {
+        switch (styleMode) {
+            case PLAIN:
+                return HtmlStyleService.create();
+            case INLINE:
+                return HtmlStyleService.create().addStyles(createCellStyle());
+            case CSS_CLASSES:
+                return HtmlStyleService.create().setUseCssClasses(true).addStyles(createCellStyle());
+            case HTML4:
+                return HtmlStyleService.create(true).addStyles(createCellStyle());
+            default:
+                throw new IllegalArgumentException(String.format("Unknown style mode %s", styleMode));
+        }
+    }
+
+    private LayoutTextStyle createCellStyle() {
+        return LayoutTextStyle.create(
+            TextStyle.create().setFontNameResource("Arial").setFontSize((short) 10).setColor(Color.BLACK),
+            LayoutStyle.create().setFillBackgroundColor(Color.WHITE).setHorAlignment(HorAlignment.RIGHT)
+        ).setStyleCondition(StyleCondition.create(TableCell.class));
+    }
+
+    /**
+     * Html formatter writing tags of cells by {@link StringBuildingTagCreator}
+     */
+    private static class StringBuildingHtmlFormatter extends HtmlFormatter {
+
+        StringBuildingHtmlFormatter() {
+            super(StandardCharsets.UTF_8.name());
+        }
+
+        @Override
+        public TagCreator getTagCreator() {
+            if (tagCreator == null) {
+                tagCreator = new StringBuildingTagCreator(outputStreamWriter, decimalFormat);
+            }
+            return tagCreator;
+        }
+    }
+
+    /**
+     * Former tag creator: a tag with its attributes and escaped text is built as a string by streams,
+     * sorting and String.format, then the string is written
+     */
+    private static class StringBuildingTagCreator extends TagCreator {
+
+        StringBuildingTagCreator(Writer outputStreamWriter, DecimalFormat decimalFormat) {
+            super(outputStreamWriter, decimalFormat);
+        }
+
+        @Override
+        public void writeTag(
+            HtmlTag htmlTag,
+            String text,
+            Style style,
+            boolean isUseHtml4Tags,
+            boolean isStyleInHeader,
+            boolean isBordersCollapse,
+            Boolean needCloseTag
+        ) throws IOException, ParseException {
+            final CssStyle cssStyle = new StringBuildingCssStyle();
+            if (isUseHtml4Tags) {
+                final LayoutStyle layoutStyle = LayoutStyle.extractLayoutStyle(style);
+                HtmlStyleService.fillHtml4StyleTagsFromStyle(htmlTag, layoutStyle, htmlTag);
+                write(String.format("<%s%s>", htmlTag.getTagName(), buildAttributes(htmlTag, true)));
+                if (StringUtils.hasText(text)) {
+                    final String formattedText = HtmlStyleService.escapeHtml(
+                        LocalizedNumberUtils.applyDecimalFormat(text, style, decimalFormat)
+                    );
+                    final TextStyle textStyle = StyleUtils.extractTextStyle(style);
+                    if (textStyle != null) {
+                        final Html4Font html4Font = HtmlStyleService.convertHtml4Font(textStyle);
+                        write(
+                            String.format("<%s%s>", html4Font.getTagName(), buildAttributes(html4Font, true))
+                                + formattedText
+                                + String.format("</%s>", html4Font.getTagName())
+                        );
+                    } else {
+                        write(formattedText);
+                    }
+                }
+            } else {
+                if (cssClasses != null) {
+                    if (style != null || isBordersCollapse) {
+                        HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
+                        if (isBordersCollapse) {
+                            cssStyle.setBorderCollapse("collapse");
+                        }
+                        setCssClass(htmlTag, cssStyle.toCssStyleString());
+                    }
+                } else if (isStyleInHeader) {
+                    htmlTag.setClass(htmlStyleId(style));
+                } else if (isBordersCollapse) {
+                    HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
+                    cssStyle.setBorderCollapse("collapse");
+                    htmlTag.setStyle(cssStyle);
+                } else if (style != null) {
+                    HtmlStyleService.fillCssStyleFromStyle(cssStyle, style, htmlTag, false);
+                    htmlTag.setStyle(cssStyle);
+                }
+                write(String.format("<%s%s>", htmlTag.getTagName(), buildAttributes(htmlTag, false)));
+                if (StringUtils.hasText(text)) {
+                    write(HtmlStyleService.escapeHtml(LocalizedNumberUtils.applyDecimalFormat(text, style, decimalFormat)));
+                }
+            }
+            if (needCloseTag) {
+                write(String.format("</%s>", htmlTag.getTagName()));
+            }
+        }
+
+        /**
+         * Former attributes string: not null attributes are filtered to a new map, sorted and joined
+         */
+        private static String buildAttributes(HtmlTagAttributesWriter htmlTag, boolean isHtml4) {
+            final Function<Map.Entry<String, HtmlAttribute>, String> itemMapping = e -> {
+                final HtmlAttribute attribute = e.getValue();
+                return String.format(
+                    attribute.getAssignmentPattern(isHtml4),
+                    e.getKey(),
+                    attribute.produceDefaultStringAttribute(attribute.getAttributeValue())
+                );
+            };
+            final Map<String, HtmlAttribute> filteredAttributes = htmlTag.getAvailableAttributes()
+                .entrySet()
+                .stream()
+                .filter(e -> e.getValue().getAttributeValue() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            final Collector<CharSequence, ?, String> collector = Collectors.joining(
+                isHtml4 || filteredAttributes.containsKey(HtmlSrcAttribute.ATTR_NAME)
+                    ? HtmlAttribute.DELIMITER_PATTERN_HTML4
+                    : HtmlAttribute.DELIMITER_PATTERN_HTML5,
+                " ",
+                ""
+            );
+            final String result = filteredAttributes
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(itemMapping)
+                .collect(collector);
+            return result.length() > 1 ? result : "";
+        }
+    }
+
+    /**
+     * Former css style: maps of value mappers are built for every style,
+     * the css string is built by a sorted stream and String.format
+     */
+    private static class StringBuildingCssStyle extends CssStyle {
+        private final Map<String, Function<Object, String>> instanceMapper = new HashMap<>(attributeMapper);
+        private final Map<String, Function<Object, String>> instanceHtml4Mapper = new HashMap<>(attributeHtml4Mapper);
+
+        @Override
+        public String toCssStyleString() {
+            return attributes
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .filter(e -> instanceMapper.containsKey(e.getKey()))
+                .map(e -> String.format("%s:%s", e.getKey(), instanceMapper.get(e.getKey()).apply(e.getValue())))
+                .collect(Collectors.joining(";"));
+        }
+
+        @Override
+        public void writeCssStyle(Writer writer) throws IOException {
+            writer.write(toCssStyleString());
+        }
+
+        @Override
+        public String toHtml4StyleString() {
+            return attributes
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .filter(e -> instanceHtml4Mapper.containsKey(e.getKey()))
+                .map(e -> String.format("%s\"%s\"", e.getKey(), instanceHtml4Mapper.get(e.getKey()).apply(e.getValue())))
+                .collect(Collectors.joining(" "));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.reporter.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Peak heap usage of a JMH iteration in megabytes, reported as a secondary result:
+ * peaks of the heap memory pools are reset before every iteration and read by {@link #update()}
+ * after the measured work
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PeakHeap {
+    public long peakHeapMb;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        peakHeapMb = 0;
+    }
+
+    /**
+     * Reads the peak heap usage since the start of the iteration
+     */
+    public void update() {
+        peakHeapMb = ManagementFactory.getMemoryPoolMXBeans()
+            .stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum() >> 20;
+    }
+}
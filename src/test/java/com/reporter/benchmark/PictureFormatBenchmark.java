@@ -0,0 +1,126 @@
+package com.reporter.benchmark;
+
+import com.model.domain.style.constant.PictureFormat;
+import com.model.utils.PictureUtils;
+import org.apache.poi.util.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of picture format detection on multi-megabyte pictures:
+ * signature sniffing of {@link PictureUtils#getFormat(byte[])} against the former detection,
+ * which asked ImageIO for readers and then boxed the data to Byte[] for signature checks.
+ * Run with: mvn test -P jmh -Djmh.includes=PictureFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class PictureFormatBenchmark {
+
+    @Param({"JPG", "PNG", "BMP", "GIF", "WMF", "EMF", "DIB", "PICT"})
+    private PictureFormat pictureFormat;
+
+    /**
+     * Size of the picture, the test picture is padded with zeros before its last bytes up to the size
+     */
+    @Param({"1", "8"})
+    private int sizeMb;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String resourceName = String.format("pic/pic.%s", pictureFormat.toString().toLowerCase(Locale.ROOT));
+        final byte[] picture;
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourceName)) {
+            picture = IOUtils.toByteArray(inputStream);
+        }
+        final int size = Math.max(picture.length, sizeMb << 20);
+        data = new byte[size];
+        System.arraycopy(picture, 0, data, 0, picture.length - 2);
+        System.arraycopy(picture, picture.length - 2, data, size - 2, 2);
+        if (PictureUtils.getFormat(data) != pictureFormat || getFormatByImageIoAndBoxing(data) != pictureFormat) {
+            throw new IllegalStateException(String.format("Picture %s isn't detected", resourceName));
+        }
+    }
+
+    @Benchmark
+    public PictureFormat sniff() {
+        return PictureUtils.getFormat(data);
+    }
+
+    @Benchmark
+    public PictureFormat imageIoAndBoxing() throws IOException {
+        return getFormatByImageIoAndBoxing(data);
+    }
+
+    /**
+     * Former detection: ImageIO readers, then signature checks on the data boxed to Byte[]
+     *
+     * @param data picture raw data
+     * @return picture format or null
+     * @throws IOException if ImageIO fails
+     */
+    private static PictureFormat getFormatByImageIoAndBoxing(byte[] data) throws IOException {
+        try (InputStream inputStream = new ByteArrayInputStream(data)) {
+            final ImageInputStream iis = ImageIO.createImageInputStream(inputStream);
+            final Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(iis);
+            if (imageReaders.hasNext()) {
+                final String formatName = imageReaders.next().getFormatName().toUpperCase(Locale.ROOT);
+                return "JPEG".equals(formatName) ? PictureFormat.JPG : PictureFormat.valueOf(formatName);
+            }
+        }
+        final Byte[] boxed = new Byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            boxed[i] = data[i];
+        }
+        if (checkBeginSignature(boxed, "D7CDC69A", 0)) {
+            return PictureFormat.WMF;
+        }
+        if (checkBeginSignature(boxed, "01000000", 0)) {
+            return PictureFormat.EMF;
+        }
+        if (checkBeginSignature(boxed, "424D", 0) || checkBeginSignature(boxed, "2800", 0)) {
+            return PictureFormat.DIB;
+        }
+        if (checkBeginSignature(boxed, "00FF", boxed.length - 2)
+            && checkBeginSignature(boxed, "001102FF0C00", 522)) {
+            return PictureFormat.PICT;
+        }
+        return null;
+    }
+
+    private static boolean checkBeginSignature(Byte[] data, String signature, int offset) {
+        final int bytesToRead = signature.length() / 2;
+        if (data.length < offset + bytesToRead) {
+            return false;
+        }
+        final StringBuilder hexBuilder = new StringBuilder();
+        for (int i = offset; i < offset + bytesToRead; i++) {
+            hexBuilder.append(String.format("%02X", data[i]));
+        }
+        return signature.contentEquals(hexBuilder);
+    }
+}
@@ -0,0 +1,214 @@
+package com.reporter.benchmark;
+
+import com.google.common.collect.Iterables;
+import com.model.domain.AccessorPlan;
+import com.model.domain.ReportTable;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.formatter.FormatterVisitor;
+import com.model.utils.PictureUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.ConfigurablePropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link ReportTable} data items:
+ * reading of data items by an {@link AccessorPlan} against the former reading by a field accessor created per row,
+ * conversion to table rows by converters chosen per column against probing of every cell value for a picture,
+ * and parallel conversion of data items to rows against sequential conversion.
+ * Run with: mvn test -P jmh -Djmh.includes=ReportTableBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true", "-Xmx2g"})
+public class ReportTableBenchmark {
+
+    /**
+     * Data items read by {@link #accessorPlan(PojoItems)} and {@link #perRowFieldAccessor(PojoItems)}
+     */
+    @State(Scope.Benchmark)
+    public static class PojoItems {
+        @Param({"100000", "1000000"})
+        private int rows;
+
+        private List<Item> items;
+        private List<String> aliasNames;
+
+        @Setup
+        public void setup() throws Throwable {
+            items = createItems(rows);
+            aliasNames = getAliasNames();
+            if (readByAccessorPlan(items, aliasNames) != readByPerRowFieldAccessor(items, aliasNames)) {
+                throw new IllegalStateException("Accessor plan and field accessor read different values");
+            }
+        }
+    }
+
+    /**
+     * Data items converted to table rows by {@link ReportTable}
+     */
+    @State(Scope.Benchmark)
+    public static class TableItems {
+        @Param({"5000", "200000"})
+        private int rows;
+
+        private List<Item> items;
+        private FormatterVisitor formatterVisitor;
+
+        @Setup
+        public void setup() throws Throwable {
+            items = createItems(rows);
+            formatterVisitor = Mockito.mock(FormatterVisitor.class, Mockito.withSettings().stubOnly());
+            if (convert(items, false, formatterVisitor) != convert(items, true, formatterVisitor)) {
+                throw new IllegalStateException("Parallel conversion converts a different number of rows");
+            }
+        }
+    }
+
+    @Benchmark
+    public long accessorPlan(PojoItems pojoItems) throws Throwable {
+        return readByAccessorPlan(pojoItems.items, pojoItems.aliasNames);
+    }
+
+    @Benchmark
+    public long perRowFieldAccessor(PojoItems pojoItems) {
+        return readByPerRowFieldAccessor(pojoItems.items, pojoItems.aliasNames);
+    }
+
+    @Benchmark
+    public long columnConverters(TableItems tableItems) throws Throwable {
+        return convert(tableItems.items, false, tableItems.formatterVisitor);
+    }
+
+    @Benchmark
+    public long perCellPictureProbing(TableItems tableItems) throws IllegalAccessException {
+        return probe(tableItems.items);
+    }
+
+    @Benchmark
+    public long parallelRows(TableItems tableItems) throws Throwable {
+        return convert(tableItems.items, true, tableItems.formatterVisitor);
+    }
+
+    private static long readByAccessorPlan(List<Item> items, List<String> aliasNames) throws Throwable {
+        final AccessorPlan accessorPlan = AccessorPlan.create(Item.class, aliasNames);
+        final int columnCount = accessorPlan.getColumnCount();
+        long values = 0;
+        for (final Item item : items) {
+            for (int i = 0; i < columnCount; i++) {
+                if (accessorPlan.getValue(item, i) != null) {
+                    values++;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Former reading: a field accessor and the list of field names are created for every row
+     */
+    private static long readByPerRowFieldAccessor(List<Item> items, List<String> aliasNames) {
+        long values = 0;
+        for (final Item item : items) {
+            final ConfigurablePropertyAccessor propAcc = PropertyAccessorFactory.forDirectFieldAccess(item);
+            final List<String> fieldNames = new ArrayList<>();
+            for (final Field field : item.getClass().getDeclaredFields()) {
+                fieldNames.add(field.getName());
+            }
+            for (final String aliasName : aliasNames) {
+                if (fieldNames.contains(aliasName) && propAcc.getPropertyValue(aliasName) != null) {
+                    values++;
+                }
+            }
+        }
+        return values;
+    }
+
+    private static List<String> getAliasNames() {
+        final List<String> aliasNames = new ArrayList<>();
+        for (final Field field : Item.class.getDeclaredFields()) {
+            aliasNames.add(field.getName());
+        }
+        return aliasNames;
+    }
+
+    private static long convert(List<Item> items, boolean isParallel, FormatterVisitor formatterVisitor)
+        throws Throwable {
+        final TableHeaderRow tableHeaderRow = TableHeaderRow.create();
+        for (final Field field : Item.class.getDeclaredFields()) {
+            tableHeaderRow.addPart(TableHeaderCell.create(field.getName()).setAliasName(field.getName()));
+        }
+        final ReportTable reportTable = ReportTable.create(tableHeaderRow).setParallel(isParallel).addDataList(items);
+        reportTable.accept(formatterVisitor);
+        return Iterables.size(reportTable.getParts());
+    }
+
+    /**
+     * Former conversion: every cell value is probed for a picture
+     */
+    private static long probe(List<Item> items) throws IllegalAccessException {
+        final Field[] fields = Item.class.getDeclaredFields();
+        for (final Field field : fields) {
+            field.setAccessible(true);
+        }
+        long pictures = 0;
+        for (final Item item : items) {
+            for (final Field field : fields) {
+                if (PictureUtils.getFormat(field.get(item)) != null) {
+                    pictures++;
+                }
+            }
+        }
+        return pictures;
+    }
+
+    private static List<Item> createItems(int rows) {
+        final List<Item> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            items.add(new Item(i));
+        }
+        return items;
+    }
+
+    private static class Item {
+        private final String login;
+        private final String name;
+        private final Integer amount;
+        private final Long count;
+        private final BigDecimal price;
+        private final LocalDate date;
+        private final Boolean active;
+        private final String comment;
+
+        Item(int i) {
+            login = "login" + i;
+            name = "name" + i;
+            amount = i;
+            count = (long) i * 7;
+            price = BigDecimal.valueOf(i, 2);
+            date = LocalDate.of(2021, 1, 1).plusDays(i % 365);
+            active = i % 2 == 0;
+            comment = "comment" + i;
+        }
+    }
+}
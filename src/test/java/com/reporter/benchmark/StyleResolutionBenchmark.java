@@ -0,0 +1,202 @@
+package com.reporter.benchmark;
+
+import com.model.domain.Footer;
+import com.model.domain.Heading;
+import com.model.domain.Paragraph;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableRow;
+import com.model.domain.Title;
+import com.model.domain.style.Style;
+import com.model.domain.style.StyleCondition;
+import com.model.domain.style.StyleService;
+import com.model.domain.style.TextStyle;
+import com.model.domain.style.constant.ConditionScope;
+import com.model.formatter.html.style.HtmlStyleService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * JMH benchmark of indexed {@link StyleService#extractStyleFor} against the linear scan of all registered styles
+ * on 50 styles and 1M table cells, in nanoseconds per cell.
+ * Calls of table cell predicates per document are reported by {@link PredicateTests}.
+ * Run with: mvn test -P jmh -Djmh.includes=StyleResolutionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(StyleResolutionBenchmark.CELLS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class StyleResolutionBenchmark {
+    public static final int ROWS = 125_000;
+    public static final int COLUMNS = 8;
+    public static final int CELLS = ROWS * COLUMNS;
+    private static final int STYLES = 50;
+    private static final Class<?>[] STYLED_CLASSES = {
+        Title.class, Paragraph.class, Heading.class, Footer.class, TableHeaderCell.class, TableRow.class
+    };
+
+    /**
+     * Resolution of styles, see {@link Resolution}
+     */
+    @Param({"INDEXED", "SCOPED", "LINEAR"})
+    private Resolution resolution;
+
+    private final AtomicLong predicateTests = new AtomicLong();
+
+    private Function<Object, Optional<Style>> resolver;
+
+    /**
+     * Resolutions of styles
+     */
+    public enum Resolution {
+        /**
+         * Candidates of the item class, cell conditions are tested for every cell
+         */
+        INDEXED,
+        /**
+         * Candidates of the item class, column and row conditions are tested once per column and row
+         */
+        SCOPED,
+        /**
+         * Linear scan of all registered styles
+         */
+        LINEAR
+    }
+
+    /**
+     * Calls of table cell predicates while the table is resolved
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PredicateTests {
+        public long cellPredicateTests;
+    }
+
+    @Setup
+    public void setup() {
+        final StyleService linearStyleService = createStyleService(ConditionScope.ITEM, ConditionScope.ITEM);
+        final Function<Object, Optional<Style>> linearResolver = o -> linearExtractStyleFor(linearStyleService.getStyles(), o);
+        switch (resolution) {
+            case INDEXED:
+                resolver = createStyleService(ConditionScope.ITEM, ConditionScope.ITEM)::extractStyleFor;
+                break;
+            case SCOPED:
+                resolver = createStyleService(ConditionScope.COLUMN, ConditionScope.ROW)::extractStyleFor;
+                break;
+            case LINEAR:
+                resolver = linearResolver;
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown resolution %s", resolution));
+        }
+        if (resolveAll(resolver, ROWS / 10) != resolveAll(linearResolver, ROWS / 10)) {
+            throw new IllegalStateException(String.format("%s resolution matches other styles than the linear scan", resolution));
+        }
+    }
+
+    @Benchmark
+    public long resolve(PredicateTests tests) {
+        predicateTests.set(0);
+        final long matched = resolveAll(resolver, ROWS);
+        tests.cellPredicateTests = predicateTests.get();
+        return matched;
+    }
+
+    private long resolveAll(Function<Object, Optional<Style>> resolver, int rows) {
+        long matched = 0;
+        for (final TableRow tableRow : SyntheticTable.create(rows, COLUMNS).getParts()) {
+            for (final TableCell tableCell : tableRow.getParts()) {
+                if (resolver.apply(tableCell).isPresent()) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Registers conditional styles of other items followed by the table cell styles:
+     * every third column, every even row and all cells
+     *
+     * @param columnScope scope of the column condition
+     * @param rowScope    scope of the row condition
+     * @return style service
+     */
+    private StyleService createStyleService(ConditionScope columnScope, ConditionScope rowScope) {
+        final StyleService styleService = HtmlStyleService.create();
+        for (int i = 0; i < STYLES - 3; i++) {
+            final int threshold = i;
+            styleService.addStyles(
+                TextStyle.create()
+                    .setFontSize((short) (8 + i % 10))
+                    .setStyleCondition(
+                        StyleCondition.create(
+                            STYLED_CLASSES[i % STYLED_CLASSES.length],
+                            o -> o.hashCode() % STYLES == threshold
+                        )
+                    )
+            );
+        }
+        return styleService.addStyles(
+            TextStyle.create()
+                .setBold(true)
+                .setStyleCondition(
+                    StyleCondition.create(
+                        TableCell.class,
+                        o -> predicateTests.incrementAndGet() > 0 && ((TableCell) o).getColumnIndex() % 3 == 0,
+                        columnScope
+                    )
+                ),
+            TextStyle.create()
+                .setItalic(true)
+                .setStyleCondition(
+                    StyleCondition.create(
+                        TableCell.class,
+                        o -> predicateTests.incrementAndGet() > 0 && ((TableCell) o).getRowIndex() % 2 == 0,
+                        rowScope
+                    )
+                ),
+            TextStyle.create()
+                .setFontSize((short) 10)
+                .setStyleCondition(StyleCondition.create(TableCell.class))
+        );
+    }
+
+    /**
+     * Resolution by the linear scan of all registered styles
+     */
+    private static Optional<Style> linearExtractStyleFor(List<Style> styles, Object o) {
+        return styles
+            .stream()
+            .filter(s -> {
+                if (s.getStyleCondition() != null) {
+                    final Class<?> itemClass = o.getClass();
+                    final Class<?> styleConditionClass = s.getStyleCondition().getClazz();
+                    return itemClass.isAssignableFrom(styleConditionClass)
+                        && s.getStyleCondition().test(o);
+                }
+                return true;
+            })
+            .findFirst();
+    }
+}
@@ -0,0 +1,60 @@
+package com.reporter.benchmark;
+
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streamed table of generated rows for benchmarks,
+ * rows are created while the table is visited, so the data set itself takes no heap
+ */
+public class SyntheticTable extends Table {
+    private final int rows;
+    private final int columns;
+
+    public SyntheticTable(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.isStreaming = true;
+        final TableHeaderRow tableHeaderRow = TableHeaderRow.create();
+        for (int i = 0; i < columns; i++) {
+            tableHeaderRow.addPart(TableHeaderCell.create("Column " + i));
+        }
+        setTableHeaderRow(tableHeaderRow);
+    }
+
+    public static SyntheticTable create(int rows, int columns) {
+        return new SyntheticTable(rows, columns);
+    }
+
+    @Override
+    public Iterable<TableRow> getParts() {
+        return () -> new Iterator<TableRow>() {
+            private int rowIndex;
+
+            @Override
+            public boolean hasNext() {
+                return rowIndex < rows;
+            }
+
+            @Override
+            public TableRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final TableRow tableRow = TableRow.create().setRowIndex(rowIndex);
+                for (int i = 0; i < columns; i++) {
+                    tableRow.addPart(TableCell.create(i % 2 == 0 ? "Cell " + rowIndex + "." + i : String.valueOf(rowIndex * i)));
+                }
+                tableRow.setParentObject(SyntheticTable.this);
+                rowIndex++;
+                return tableRow;
+            }
+        };
+    }
+}
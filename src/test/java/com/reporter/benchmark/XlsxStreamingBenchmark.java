@@ -0,0 +1,73 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.domain.DocumentCase;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.style.LayoutStyle;
+import com.model.domain.style.StyleCondition;
+import com.model.formatter.excel.ExcelFormatter;
+import com.model.formatter.excel.StreamingXlsxFormatter;
+import com.model.formatter.excel.XlsxFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link XlsxFormatter} and {@link StreamingXlsxFormatter} on large tables:
+ * time of a single document and peak heap of the iteration, see {@link PeakHeap}.
+ * Run with: mvn test -P jmh -Djmh.includes=XlsxStreamingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class XlsxStreamingBenchmark {
+    private static final int COLUMNS = 8;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Benchmark
+    public long xlsx(PeakHeap peakHeap) throws Throwable {
+        return render(XlsxFormatter.create(), peakHeap);
+    }
+
+    @Benchmark
+    public long streamingXlsx(PeakHeap peakHeap) throws Throwable {
+        return render(StreamingXlsxFormatter.create(), peakHeap);
+    }
+
+    private long render(ExcelFormatter formatter, PeakHeap peakHeap) throws Throwable {
+        formatter.getStyleService().addStyles(
+            LayoutStyle.create()
+                .setAutoWidth(true)
+                .setStyleCondition(StyleCondition.create(TableHeaderCell.class))
+        );
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        formatter.setOutputStream(outputStream);
+        formatter.handle(
+            Document.create()
+                .setLabel("benchmark")
+                .addPart(
+                    DocumentCase.create()
+                        .setName("Benchmark")
+                        .addPart(SyntheticTable.create(rows, COLUMNS))
+                )
+        );
+        peakHeap.update();
+        return outputStream.getCount();
+    }
+}
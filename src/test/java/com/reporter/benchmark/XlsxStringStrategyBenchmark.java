@@ -0,0 +1,159 @@
+package com.reporter.benchmark;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.model.domain.Document;
+import com.model.domain.DocumentCase;
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.formatter.excel.ExcelFormatter;
+import com.model.formatter.excel.StreamingXlsxFormatter;
+import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.excel.XlsxStringStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of xlsx string strategies
+ * on a report with high-cardinality (uuid, free text) and low-cardinality (status, city) columns.
+ * Allocation is measured by the gc profiler, the size of the written file is reported by {@link FileSize}.
+ * Run with: mvn test -P jmh -Djmh.includes=XlsxStringStrategyBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Djava.awt.headless=true"})
+public class XlsxStringStrategyBenchmark {
+    private static final String[] STATUSES = {"NEW", "ACTIVE", "BLOCKED", "CLOSED"};
+    private static final String[] CITIES = {"Moscow", "London", "Paris", "Berlin", "Madrid", "Rome", "Vienna", "Prague"};
+
+    /**
+     * Strategies of {@link XlsxFormatter}
+     */
+    @State(Scope.Benchmark)
+    public static class XlsxStrategy {
+        @Param({"SHARED", "INLINE", "ADAPTIVE"})
+        private XlsxStringStrategy stringStrategy;
+
+        @Param({"200000"})
+        private int rows;
+    }
+
+    /**
+     * Strategies of {@link StreamingXlsxFormatter}, which doesn't support {@link XlsxStringStrategy#ADAPTIVE}
+     */
+    @State(Scope.Benchmark)
+    public static class StreamingStrategy {
+        @Param({"SHARED", "INLINE"})
+        private XlsxStringStrategy stringStrategy;
+
+        @Param({"200000"})
+        private int rows;
+    }
+
+    /**
+     * Size of the last written file in bytes
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FileSize {
+        public long fileSize;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            fileSize = 0;
+        }
+    }
+
+    @Benchmark
+    public long xlsx(XlsxStrategy strategy, FileSize fileSize) throws Throwable {
+        return render(XlsxFormatter.create().setStringStrategy(strategy.stringStrategy), strategy.rows, fileSize);
+    }
+
+    @Benchmark
+    public long streamingXlsx(StreamingStrategy strategy, FileSize fileSize) throws Throwable {
+        return render(StreamingXlsxFormatter.create().setStringStrategy(strategy.stringStrategy), strategy.rows, fileSize);
+    }
+
+    private long render(ExcelFormatter formatter, int rows, FileSize fileSize) throws Throwable {
+        final CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        formatter.setOutputStream(outputStream);
+        formatter.handle(
+            Document.create()
+                .setLabel("benchmark")
+                .addPart(DocumentCase.create().setName("Benchmark").addPart(new ReportRowsTable(rows)))
+        );
+        fileSize.fileSize = outputStream.getCount();
+        return outputStream.getCount();
+    }
+
+    /**
+     * Streamed table of generated report rows: uuid, status, city, comment and amount
+     */
+    private static class ReportRowsTable extends Table {
+        private final int rows;
+
+        ReportRowsTable(int rows) {
+            this.rows = rows;
+            this.isStreaming = true;
+            setTableHeaderRow(
+                TableHeaderRow.create(
+                    TableHeaderCell.create("Id"),
+                    TableHeaderCell.create("Status"),
+                    TableHeaderCell.create("City"),
+                    TableHeaderCell.create("Comment"),
+                    TableHeaderCell.create("Amount")
+                )
+            );
+        }
+
+        @Override
+        public Iterable<TableRow> getParts() {
+            return () -> new Iterator<TableRow>() {
+                private int rowIndex;
+
+                @Override
+                public boolean hasNext() {
+                    return rowIndex < rows;
+                }
+
+                @Override
+                public TableRow next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final TableRow tableRow = TableRow.create(
+                        TableCell.create(new UUID(rowIndex, ~rowIndex).toString()),
+                        TableCell.create(STATUSES[rowIndex % STATUSES.length]),
+                        TableCell.create(CITIES[rowIndex * 7 % CITIES.length]),
+                        TableCell.create("Order " + rowIndex + " was placed by customer " + rowIndex * 31 % 9973),
+                        TableCell.create(String.valueOf(rowIndex % 1000))
+                    ).setRowIndex(rowIndex);
+                    tableRow.setParentObject(ReportRowsTable.this);
+                    rowIndex++;
+                    return tableRow;
+                }
+            };
+        }
+    }
+}
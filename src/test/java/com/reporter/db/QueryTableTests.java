@@ -1,6 +1,10 @@
 package com.reporter.db;
 
 import com.ReporterApplication;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
 import com.model.domain.Document;
 import com.model.domain.DocumentCase;
 import com.model.domain.Heading;
@@ -22,6 +26,8 @@ import com.model.formatter.DocumentHolder;
 import com.model.formatter.csv.CsvFormatter;
 import com.model.formatter.excel.XlsxFormatter;
 import com.model.formatter.excel.style.ExcelStyleService;
+import com.model.formatter.html.HtmlFormatter;
+import com.model.formatter.pdf.PdfFormatter;
 import org.apache.commons.io.FileUtils;
 import org.apache.poi.common.usermodel.fonts.FontCharset;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -33,14 +39,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Sql("classpath:db/h2/schema_query_table_test.sql")
 @SpringBootTest(classes = {ReporterApplication.class})
@@ -198,4 +207,104 @@ public class QueryTableTests extends BaseQueryDocument {
             Assertions.assertTrue(expected.stream().allMatch(text::contains));
         }
     }
+
+    @Test
+    public void testStreamingQueryTableMatchesMaterialized() throws Throwable {
+        final String materialized = saveToCsv(createTrafficQueryTable());
+        final String streamed = saveToCsv(createTrafficQueryTable().setStreaming(true));
+
+        Assertions.assertFalse(streamed.isEmpty());
+        Assertions.assertEquals(materialized, streamed);
+    }
+
+    @Test
+    public void testStreamingQueryTableFormats() throws Throwable {
+        final QueryTable queryTable = createTrafficQueryTable().setStreaming(true);
+        final Document doc = Document.create().setLabel("streamed").addPart(queryTable);
+
+        try (DocumentHolder documentHolder = XlsxFormatter.create().handle(doc)) {
+            final Workbook wb = WorkbookFactory.create(documentHolder.getResource().getFile());
+            final Sheet sheet = wb.getSheetAt(0);
+            final int lastRowNum = sheet.getLastRowNum();
+            wb.close();
+            Assertions.assertTrue(lastRowNum > 1);
+        }
+        try (DocumentHolder documentHolder = HtmlFormatter.create().handle(doc)) {
+            final String text = FileUtils.readFileToString(documentHolder.getResource().getFile(), StandardCharsets.UTF_8);
+            Assertions.assertTrue(text.contains("client5"));
+        }
+        try (DocumentHolder documentHolder = PdfFormatter.create().handle(doc)) {
+            final PdfReader pdfReader = new PdfReader(documentHolder.getResource().getFile());
+            final PdfDocument pdfDocument = new PdfDocument(pdfReader);
+            final String text = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), new SimpleTextExtractionStrategy());
+            pdfDocument.close();
+            Assertions.assertTrue(text.contains("client5"));
+        }
+        Assertions.assertFalse(queryTable.getParts().iterator().hasNext());
+    }
+
+    /**
+     * Streams a lazily evaluated H2 query of growing size through {@link CsvFormatter}
+     * and checks that the heap used while rows are visited does not grow with the row count
+     *
+     * @throws Throwable Exception/SQLException
+     */
+    @Test
+    public void testStreamingQueryTableMemoryIsFlat() throws Throwable {
+        final SingleConnectionDataSource dataSource =
+            new SingleConnectionDataSource("jdbc:h2:mem:streaming;LAZY_QUERY_EXECUTION=1", true);
+        try {
+            final NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+            final long smallGrowth = streamRowsHeapGrowth(jdbcTemplate, 5_000);
+            final long largeGrowth = streamRowsHeapGrowth(jdbcTemplate, 50_000);
+            Assertions.assertTrue(
+                largeGrowth < smallGrowth + 8 * 1024 * 1024,
+                String.format("Heap grew from %d to %d bytes", smallGrowth, largeGrowth)
+            );
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private long streamRowsHeapGrowth(NamedParameterJdbcTemplate jdbcTemplate, int rowCount) throws Throwable {
+        final QueryTable queryTable = QueryTable.create(jdbcTemplate)
+            .setTableHeaderRowFromData(true)
+            .setStreaming(true)
+            .setQuery(
+                "select concat(repeat('client_name_', 8), x) as \"client_name\"" +
+                    " from system_range(1, " + rowCount + ")"
+            );
+        final Runtime runtime = Runtime.getRuntime();
+        final AtomicLong visitedRows = new AtomicLong();
+        final AtomicLong peak = new AtomicLong();
+        final CsvFormatter csvFormatter = new CsvFormatter() {
+            @Override
+            public void visitTableRow(TableRow tableRowObj) throws Throwable {
+                super.visitTableRow(tableRowObj);
+                if (visitedRows.incrementAndGet() % 5_000 == 0) {
+                    System.gc();
+                    peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Long::max);
+                }
+            }
+        };
+        System.gc();
+        final long baseline = runtime.totalMemory() - runtime.freeMemory();
+        try (DocumentHolder documentHolder = csvFormatter.handle(Document.create().setLabel("streamed").addPart(queryTable))) {
+            Assertions.assertTrue(documentHolder.getResource().contentLength() > 0);
+        }
+        Assertions.assertEquals(rowCount, visitedRows.get());
+        return peak.get() - baseline;
+    }
+
+    private QueryTable createTrafficQueryTable() {
+        return QueryTable.create(jdbcTemplateH2)
+            .setTableHeaderRowFromData(true)
+            .setQuery("select \"login\", \"client_name\", \"abs_diff\", \"rel_diff_percent\" from \"traffic_mon\";");
+    }
+
+    private String saveToCsv(QueryTable queryTable) throws Throwable {
+        try (DocumentHolder documentHolder = CsvFormatter.create().handle(Document.create().setLabel("streamed").addPart(queryTable))) {
+            return FileUtils.readFileToString(documentHolder.getResource().getFile(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.reporter.domain;
+
+import com.model.domain.AccessorPlan;
+import com.model.domain.TableRow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AccessorPlanTest {
+
+    @Test
+    public void testFieldsAreReadByAliasNames() throws Throwable {
+        final AccessorPlan accessorPlan =
+            AccessorPlan.create(Item.class, Arrays.asList("amount", "missing", "name", "CODE"));
+
+        Assertions.assertEquals(4, accessorPlan.getColumnCount());
+        final Item item = new Item("first", 7);
+        Assertions.assertEquals(7, accessorPlan.getValue(item, 0));
+        Assertions.assertNull(accessorPlan.getValue(item, 1));
+        Assertions.assertEquals("first", accessorPlan.getValue(item, 2));
+        Assertions.assertEquals("item", accessorPlan.getValue(item, 3));
+
+        Assertions.assertEquals(Arrays.asList("7", "", "first", "item"), getTexts(accessorPlan.toTableRow(item)));
+    }
+
+    @Test
+    public void testProxyPropertiesAreReadByReadMethods() throws Throwable {
+        final Projection projection = (Projection) Proxy.newProxyInstance(
+            Projection.class.getClassLoader(),
+            new Class<?>[]{Projection.class},
+            (proxy, method, args) -> "getName".equals(method.getName()) ? "projected" : 42L
+        );
+
+        final AccessorPlan accessorPlan = AccessorPlan.create(projection.getClass(), Arrays.asList("id", "name"));
+
+        Assertions.assertEquals(Arrays.asList("42", "projected"), getTexts(accessorPlan.toTableRow(projection)));
+    }
+
+    private List<String> getTexts(TableRow tableRow) {
+        final List<String> texts = new ArrayList<>();
+        tableRow.getParts().forEach(cell -> texts.add(cell.getText()));
+        return texts;
+    }
+
+    public interface Projection {
+        Long getId();
+
+        String getName();
+    }
+
+    private static class Item {
+        private static final String CODE = "item";
+        private final String name;
+        private final Integer amount;
+
+        Item(String name, Integer amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.reporter.domain;
+
+import com.model.domain.CellConverter;
+import com.model.domain.ReportTable;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.domain.core.PictureItem;
+import com.model.domain.core.TextItem;
+import com.model.formatter.FormatterVisitor;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CellConverterTest {
+
+    @Test
+    public void testForClass() {
+        Assertions.assertEquals(CellConverter.TEXT, CellConverter.forClass(String.class));
+        Assertions.assertEquals(CellConverter.TEXT, CellConverter.forClass(Integer.class));
+        Assertions.assertEquals(CellConverter.TEXT, CellConverter.forClass(LocalDate.class));
+        Assertions.assertEquals(CellConverter.BINARY, CellConverter.forClass(byte[].class));
+        Assertions.assertEquals(CellConverter.BINARY, CellConverter.forClass(Blob.class));
+        Assertions.assertEquals(CellConverter.OBJECT, CellConverter.forClass(Object.class));
+        Assertions.assertEquals(CellConverter.OBJECT, CellConverter.forClass(Serializable.class));
+    }
+
+    @Test
+    public void testForSqlType() {
+        Assertions.assertEquals(CellConverter.TEXT, CellConverter.forSqlType(Types.VARCHAR));
+        Assertions.assertEquals(CellConverter.TEXT, CellConverter.forSqlType(Types.DECIMAL));
+        Assertions.assertEquals(CellConverter.TEXT, CellConverter.forSqlType(Types.TIMESTAMP));
+        Assertions.assertEquals(CellConverter.BINARY, CellConverter.forSqlType(Types.VARBINARY));
+        Assertions.assertEquals(CellConverter.BINARY, CellConverter.forSqlType(Types.BLOB));
+        Assertions.assertEquals(CellConverter.OBJECT, CellConverter.forSqlType(Types.JAVA_OBJECT));
+    }
+
+    @Test
+    public void testConvert() throws Exception {
+        final byte[] picture = readPicture();
+
+        Assertions.assertEquals("12.50", CellConverter.TEXT.convert(new BigDecimal("12.50")).getText());
+        Assertions.assertEquals("", CellConverter.TEXT.convert(null).getText());
+        assertPicture(picture, CellConverter.BINARY.convert(picture));
+        assertPicture(picture, CellConverter.BINARY.convert(new SerialBlob(picture)));
+        assertPicture(picture, CellConverter.OBJECT.convert(picture));
+        Assertions.assertTrue(CellConverter.BINARY.convert(new byte[]{1, 2, 3}).isDataInheritedFrom(TextItem.class));
+        Assertions.assertEquals("text", CellConverter.OBJECT.convert("text").getText());
+    }
+
+    @Test
+    public void testTypedValues() throws Exception {
+        Assertions.assertEquals(5, CellConverter.TEXT.convert(5).getValue());
+        Assertions.assertEquals(Boolean.TRUE, CellConverter.TEXT.convert(true).getValue());
+        Assertions.assertEquals(LocalDate.of(2021, 5, 25), CellConverter.TEXT.convert(LocalDate.of(2021, 5, 25)).getValue());
+        Assertions.assertNull(CellConverter.TEXT.convert("text").getValue());
+        Assertions.assertNull(CellConverter.TEXT.convert(null).getValue());
+        Assertions.assertNull(CellConverter.TEXT.convert(new Time(0)).getValue());
+        Assertions.assertNull(CellConverter.TEXT.convert(5).setText("five").getValue());
+    }
+
+    @Test
+    public void testReportTableConvertsColumnsByFieldTypes() throws Throwable {
+        final byte[] picture = readPicture();
+        final ReportTable reportTable = ReportTable.create(
+                TableHeaderRow.create(
+                    TableHeaderCell.create("Name").setAliasName("name"),
+                    TableHeaderCell.create("Amount").setAliasName("amount"),
+                    TableHeaderCell.create("Photo").setAliasName("photo"),
+                    TableHeaderCell.create("Missing").setAliasName("missing")
+                )
+            )
+            .addDataList(Arrays.asList(new Item("first", 1, picture), null, new Item("second", null, null)));
+
+        reportTable.accept(Mockito.mock(FormatterVisitor.class));
+
+        final List<TableRow> rows = new ArrayList<>();
+        reportTable.getParts().forEach(rows::add);
+        Assertions.assertEquals(2, rows.size());
+        final List<TableCell> first = new ArrayList<>();
+        rows.get(0).getParts().forEach(first::add);
+        Assertions.assertEquals("first", first.get(0).getText());
+        Assertions.assertEquals("1", first.get(1).getText());
+        assertPicture(picture, first.get(2));
+        Assertions.assertEquals("", first.get(3).getText());
+        final List<TableCell> second = new ArrayList<>();
+        rows.get(1).getParts().forEach(second::add);
+        Assertions.assertEquals("", second.get(1).getText());
+        Assertions.assertEquals("", second.get(2).getText());
+    }
+
+    private void assertPicture(byte[] expected, TableCell tableCell) {
+        Assertions.assertTrue(tableCell.isDataInheritedFrom(PictureItem.class));
+        Assertions.assertArrayEquals(expected, tableCell.getData());
+    }
+
+    private byte[] readPicture() throws Exception {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("pic/pic.jpg")) {
+            Assertions.assertNotNull(inputStream);
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+
+    private static class Item {
+        private final String name;
+        private final Integer amount;
+        private final byte[] photo;
+
+        Item(String name, Integer amount, byte[] photo) {
+            this.name = name;
+            this.amount = amount;
+            this.photo = photo;
+        }
+    }
+}
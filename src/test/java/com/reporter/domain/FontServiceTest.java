@@ -2,6 +2,7 @@ package com.reporter.domain;
 
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.model.domain.FontRegistry;
 import com.model.domain.FontService;
 import com.model.domain.style.FontFamilyStyle;
 import com.model.domain.style.TextStyle;
@@ -17,6 +18,10 @@ import java.nio.file.Paths;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 class FontServiceTest {
@@ -100,4 +105,50 @@ class FontServiceTest {
             }
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFontsAreSharedBetweenServices() throws Exception {
+        final FontService otherFontService = FontService.create().initializeFonts();
+        final String fontName = "helvetica_SansSerif_(en-ru OpenSans).ttf";
+        Assertions.assertSame(
+            fontService.getFonts().get(fontName).getKey(),
+            otherFontService.getFonts().get(fontName).getKey()
+        );
+        Assertions.assertSame(FontRegistry.getInstance(), otherFontService.getFontRegistry());
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> FontRegistry.getInstance().getFonts().clear()
+        );
+    }
+
+    @Test
+    void testGetFontBytes() throws Exception {
+        final String fontName = "times_Serif_(en-ru Tinos).ttf";
+        final byte[] fontBytes = fontService.getFontBytes(fontName);
+        Assertions.assertArrayEquals(
+            Files.readAllBytes(Paths.get(Objects.requireNonNull(getClass().getResource("/free_fonts/" + fontName)).toURI())),
+            fontBytes
+        );
+        fontBytes[0]++;
+        Assertions.assertNotEquals(fontBytes[0], fontService.getFontBytes(fontName)[0]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fontService.getFontBytes("unknown.ttf"));
+    }
+
+    @Test
+    void testFontRegistryLoadsOnceConcurrently() throws Exception {
+        final FontRegistry fontRegistry = FontRegistry.create();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executorService.submit(fontRegistry::getFonts);
+            }
+            for (final Future<?> future : futures) {
+                Assertions.assertSame(fontRegistry.getFonts(), future.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertNotSame(FontRegistry.getInstance().getFonts(), fontRegistry.getFonts());
+    }
+}
@@ -0,0 +1,151 @@
+package com.reporter.domain;
+
+import com.model.domain.Paragraph;
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableRow;
+import com.model.domain.style.LayoutStyle;
+import com.model.domain.style.Style;
+import com.model.domain.style.StyleCondition;
+import com.model.domain.style.StyleService;
+import com.model.domain.style.TextStyle;
+import com.model.domain.style.constant.ConditionScope;
+import com.model.formatter.html.style.HtmlStyleService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IndexedStyleListTest {
+    private final Style headerStyle = TextStyle.create()
+        .setBold(true)
+        .setStyleCondition(StyleCondition.create(TableHeaderCell.class));
+    private final Style evenCellStyle = LayoutStyle.create()
+        .setAutoWidth(true)
+        .setStyleCondition(
+            StyleCondition.create(TableCell.class, o -> ((TableCell) o).getRowIndex() % 2 == 0)
+        );
+    private final Style cellStyle = TextStyle.create()
+        .setItalic(true)
+        .setStyleCondition(StyleCondition.create(TableCell.class));
+    private final Style defaultStyle = TextStyle.create().setFontSize((short) 10);
+
+    private StyleService styleService;
+
+    @BeforeEach
+    public void initStyleService() {
+        styleService = HtmlStyleService.create()
+            .addStyles(headerStyle, evenCellStyle, cellStyle, defaultStyle);
+    }
+
+    @Test
+    void testExtractStyleForKeepsFirstMatch() {
+        Assertions.assertSame(evenCellStyle, extract(TableCell.create("even").setRowIndex(2)));
+        Assertions.assertSame(cellStyle, extract(TableCell.create("odd").setRowIndex(1)));
+        Assertions.assertSame(headerStyle, extract(TableHeaderCell.create("header")));
+        Assertions.assertSame(defaultStyle, extract(Paragraph.create("paragraph")));
+    }
+
+    @Test
+    void testExtractStyleForAfterStylesChanged() {
+        final Style paragraphStyle = TextStyle.create()
+            .setStyleCondition(StyleCondition.create(Paragraph.class));
+        Assertions.assertSame(defaultStyle, extract(Paragraph.create("paragraph")));
+
+        styleService.getStyles().add(0, paragraphStyle);
+        Assertions.assertSame(paragraphStyle, extract(Paragraph.create("paragraph")));
+
+        styleService.removeStyles(paragraphStyle, evenCellStyle);
+        Assertions.assertSame(defaultStyle, extract(Paragraph.create("paragraph")));
+        Assertions.assertSame(cellStyle, extract(TableCell.create("even").setRowIndex(2)));
+
+        styleService.getStyles().clear();
+        Assertions.assertFalse(styleService.extractStyleFor(TableCell.create("cell")).isPresent());
+    }
+
+    @Test
+    void testUnconditionalStyleShortCircuits() {
+        styleService.getStyles().add(0, defaultStyle);
+        Assertions.assertSame(defaultStyle, extract(TableCell.create("even").setRowIndex(2)));
+        Assertions.assertSame(defaultStyle, extract(TableHeaderCell.create("header")));
+    }
+
+    private Style extract(Object o) {
+        final Optional<Style> style = styleService.extractStyleFor(o);
+        Assertions.assertTrue(style.isPresent());
+        return style.get();
+    }
+
+    @Test
+    void testRowScopedConditionIsTestedOncePerRow() {
+        final AtomicInteger tests = new AtomicInteger();
+        final Style rowStyle = TextStyle.create()
+            .setStyleCondition(
+                StyleCondition.create(
+                    TableCell.class,
+                    o -> tests.incrementAndGet() > 0 && ((TableCell) o).getRowIndex() % 2 == 1,
+                    ConditionScope.ROW
+                )
+            );
+        styleService.getStyles().add(0, rowStyle);
+        for (int rowIndex = 0; rowIndex < 4; rowIndex++) {
+            final TableRow tableRow = TableRow.create().setRowIndex(rowIndex);
+            tableRow.addParts(TableCell.create("a"), TableCell.create("b"), TableCell.create("c"));
+            for (final TableCell tableCell : tableRow.getParts()) {
+                Assertions.assertEquals(rowIndex % 2 == 1 ? rowStyle : evenCellStyle, extract(tableCell));
+            }
+        }
+        Assertions.assertEquals(4, tests.get());
+    }
+
+    @Test
+    void testColumnScopedConditionIsTestedOncePerColumn() {
+        final AtomicInteger tests = new AtomicInteger();
+        final Style columnStyle = TextStyle.create()
+            .setStyleCondition(
+                StyleCondition.create(
+                    TableCell.class,
+                    o -> tests.incrementAndGet() > 0 && ((TableCell) o).getColumnIndex() == 1,
+                    ConditionScope.COLUMN
+                )
+            );
+        styleService.getStyles().add(0, columnStyle);
+        final Table table = Table.create();
+        for (int rowIndex = 0; rowIndex < 4; rowIndex++) {
+            final TableRow tableRow = TableRow.create().setRowIndex(rowIndex);
+            tableRow.addParts(TableCell.create("a"), TableCell.create("b"), TableCell.create("c"));
+            table.addPart(tableRow);
+            for (final TableCell tableCell : tableRow.getParts()) {
+                Assertions.assertEquals(tableCell.getColumnIndex() == 1, extract(tableCell) == columnStyle);
+            }
+        }
+        Assertions.assertEquals(3, tests.get());
+
+        final TableRow otherTableRow = TableRow.create(TableCell.create("a"), TableCell.create("b"));
+        Table.create().addPart(otherTableRow);
+        otherTableRow.getParts().forEach(this::extract);
+        Assertions.assertEquals(5, tests.get());
+    }
+
+    @Test
+    void testResetScopedResults() {
+        final AtomicInteger tests = new AtomicInteger();
+        final Style columnStyle = TextStyle.create()
+            .setStyleCondition(
+                StyleCondition.create(TableCell.class, o -> tests.incrementAndGet() > 0, ConditionScope.COLUMN)
+            );
+        styleService.getStyles().add(0, columnStyle);
+        final TableRow tableRow = TableRow.create(TableCell.create("a"), TableCell.create("b"));
+        Table.create().addPart(tableRow);
+        tableRow.getParts().forEach(this::extract);
+        tableRow.getParts().forEach(this::extract);
+        Assertions.assertEquals(2, tests.get());
+
+        styleService.resetScopedResults();
+        tableRow.getParts().forEach(this::extract);
+        Assertions.assertEquals(4, tests.get());
+    }
+}
@@ -0,0 +1,109 @@
+package com.reporter.domain;
+
+import com.model.domain.Document;
+import com.model.domain.ReportTable;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.formatter.DocumentHolder;
+import com.model.formatter.FormatterVisitor;
+import com.model.formatter.csv.CsvFormatter;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ReportTableDataSourceTest {
+    private static final int ROWS = 1_000;
+
+    @Test
+    public void testDataSourceMatchesDataList() throws Throwable {
+        final String listed = saveToCsv(createReportTable().addDataList(createItems()));
+        final String streamed = saveToCsv(createReportTable().addDataSource(createItems().stream()));
+        final String split = saveToCsv(createReportTable().addDataSource(createItems().spliterator()));
+
+        Assertions.assertTrue(listed.contains("name999"));
+        Assertions.assertEquals(listed, streamed);
+        Assertions.assertEquals(listed, split);
+    }
+
+    @Test
+    public void testDataSourceIsConsumedLazily() throws Throwable {
+        final AtomicLong pulledItems = new AtomicLong();
+        final AtomicLong visitedRows = new AtomicLong();
+        final Stream<Item> items = IntStream.range(0, ROWS)
+            .mapToObj(i -> i % 10 == 0 ? null : new Item(i))
+            .peek(item -> pulledItems.incrementAndGet());
+        final ReportTable reportTable = ReportTable.create().setTableHeaderRowFromData(true).addDataSource(items);
+        final CsvFormatter csvFormatter = new CsvFormatter() {
+            @Override
+            public void visitTableRow(TableRow tableRowObj) throws Throwable {
+                super.visitTableRow(tableRowObj);
+                visitedRows.incrementAndGet();
+                Assertions.assertTrue(pulledItems.get() <= tableRowObj.getRowIndex() * 10 / 9 + 3);
+            }
+        };
+
+        try (DocumentHolder documentHolder = csvFormatter.handle(Document.create().addPart(reportTable))) {
+            Assertions.assertTrue(documentHolder.getResource().contentLength() > 0);
+        }
+
+        Assertions.assertEquals(ROWS * 9 / 10, visitedRows.get());
+        Assertions.assertEquals(ROWS, pulledItems.get());
+        Assertions.assertTrue(reportTable.isStreaming());
+        Assertions.assertFalse(reportTable.getParts().iterator().hasNext());
+        Assertions.assertThrows(IllegalStateException.class, () -> reportTable.accept(Mockito.mock(FormatterVisitor.class)));
+    }
+
+    @Test
+    public void testEmptyDataSource() throws Throwable {
+        final Iterator<Item> items = new ArrayList<Item>().iterator();
+        final String text = saveToCsv(createReportTable().addDataSource(items));
+
+        Assertions.assertTrue(text.contains("Login"));
+    }
+
+    private String saveToCsv(ReportTable reportTable) throws Throwable {
+        try (DocumentHolder documentHolder = CsvFormatter.create().handle(Document.create().addPart(reportTable))) {
+            return FileUtils.readFileToString(documentHolder.getResource().getFile(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private ReportTable createReportTable() {
+        return ReportTable.create(
+            TableHeaderRow.create(
+                TableHeaderCell.create("Login").setAliasName("login"),
+                TableHeaderCell.create("Name").setAliasName("name"),
+                TableHeaderCell.create("Amount").setAliasName("amount")
+            )
+        );
+    }
+
+    private List<Item> createItems() {
+        final List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(new Item(i));
+        }
+        return items;
+    }
+
+    private static class Item {
+        private final String login;
+        private final String name;
+        private final Integer amount;
+
+        Item(int i) {
+            login = "login" + i;
+            name = "name" + i;
+            amount = i;
+        }
+    }
+}
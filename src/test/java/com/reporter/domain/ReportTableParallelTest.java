@@ -0,0 +1,118 @@
+package com.reporter.domain;
+
+import com.model.domain.ReportTable;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.formatter.FormatterVisitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ReportTableParallelTest {
+    private static final int ROWS = 10_000;
+
+    @Test
+    public void testParallelRowsKeepOrder() throws Throwable {
+        final List<Item> items = createItems();
+        final ReportTable sequential = createReportTable().addDataList(items);
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            final ReportTable parallel = createReportTable()
+                .setParallel(true)
+                .setForkJoinPool(forkJoinPool)
+                .addDataList(items);
+
+            sequential.accept(Mockito.mock(FormatterVisitor.class));
+            parallel.accept(Mockito.mock(FormatterVisitor.class));
+
+            Assertions.assertEquals(getTexts(sequential.getParts()), getTexts(parallel.getParts()));
+            long rowIndex = 0;
+            for (final TableRow tableRow : parallel.getParts()) {
+                Assertions.assertEquals(rowIndex++, tableRow.getRowIndex());
+            }
+            Assertions.assertEquals(ROWS - ROWS / 10, rowIndex);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelDataSourceKeepsOrder() throws Throwable {
+        final List<String> texts = new ArrayList<>();
+        final List<Long> rowIndexes = new ArrayList<>();
+        final FormatterVisitor visitor = Mockito.mock(FormatterVisitor.class);
+        Mockito.doAnswer(invocation -> {
+            for (final TableRow tableRow : ((ReportTable) invocation.getArgument(0)).getParts()) {
+                rowIndexes.add(tableRow.getRowIndex());
+                texts.add(getTexts(tableRow));
+            }
+            return null;
+        }).when(visitor).visitTable(ArgumentMatchers.any());
+
+        createReportTable()
+            .setParallel(true)
+            .setChunkSize(100)
+            .addDataSource(createItems().stream())
+            .accept(visitor);
+
+        final ReportTable sequential = createReportTable().addDataList(createItems());
+        sequential.accept(Mockito.mock(FormatterVisitor.class));
+        Assertions.assertEquals(getTexts(sequential.getParts()), texts);
+        for (int i = 0; i < rowIndexes.size(); i++) {
+            Assertions.assertEquals(i, rowIndexes.get(i));
+        }
+    }
+
+    @Test
+    public void testChunkSizeIsPositive() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReportTable.create().setChunkSize(0));
+    }
+
+    private List<String> getTexts(Iterable<TableRow> tableRows) {
+        final List<String> texts = new ArrayList<>();
+        tableRows.forEach(tableRow -> texts.add(getTexts(tableRow)));
+        return texts;
+    }
+
+    private String getTexts(TableRow tableRow) {
+        final StringBuilder texts = new StringBuilder();
+        for (final TableCell tableCell : tableRow.getParts()) {
+            texts.append(tableCell.getText()).append(';');
+        }
+        return texts.toString();
+    }
+
+    private ReportTable createReportTable() {
+        return ReportTable.create(
+            TableHeaderRow.create(
+                TableHeaderCell.create("Login").setAliasName("login"),
+                TableHeaderCell.create("Amount").setAliasName("amount")
+            )
+        );
+    }
+
+    private List<Item> createItems() {
+        final List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(i % 10 == 0 ? null : new Item(i));
+        }
+        return items;
+    }
+
+    private static class Item {
+        private final String login;
+        private final Integer amount;
+
+        Item(int i) {
+            login = "login" + i;
+            amount = i;
+        }
+    }
+}
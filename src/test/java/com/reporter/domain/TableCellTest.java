@@ -1,8 +1,13 @@
 package com.reporter.domain;
 
 import com.model.domain.TableCell;
+import com.model.domain.core.PictureMetadata;
+import com.model.domain.style.constant.PictureFormat;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class TableCellTest {
@@ -20,4 +25,29 @@ public class TableCellTest {
         // Assert
         assertThat(result).contains("rowIndex=1", "columnIndex=2");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPictureMetadataIsCachedUntilDataChanges() throws Exception {
+        // Arrange
+        final byte[] jpg;
+        final byte[] png;
+        try (InputStream jpgStream = getClass().getClassLoader().getResourceAsStream("pic/pic.jpg");
+             InputStream pngStream = getClass().getClassLoader().getResourceAsStream("pic/pic.png")) {
+            jpg = IOUtils.toByteArray(jpgStream);
+            png = IOUtils.toByteArray(pngStream);
+        }
+        final TableCell tableCell = TableCell.create(jpg);
+
+        // Act
+        final PictureMetadata jpgMetadata = tableCell.getPictureMetadata();
+        final PictureMetadata cachedMetadata = tableCell.getPictureMetadata();
+        tableCell.setData(png);
+        final PictureMetadata pngMetadata = tableCell.getPictureMetadata();
+
+        // Assert
+        assertThat(jpgMetadata.getFormat()).isEqualTo(PictureFormat.JPG);
+        assertThat(cachedMetadata).isSameAs(jpgMetadata);
+        assertThat(pngMetadata.getFormat()).isEqualTo(PictureFormat.PNG);
+        assertThat(TableCell.create("Test").getPictureMetadata()).isNull();
+    }
+}
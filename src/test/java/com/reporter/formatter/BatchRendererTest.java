@@ -0,0 +1,162 @@
+package com.reporter.formatter;
+
+import com.model.domain.Document;
+import com.model.domain.DocumentCase;
+import com.model.domain.Paragraph;
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.formatter.BatchRenderer;
+import com.model.formatter.DocumentHolder;
+import com.model.formatter.FormatterFactory;
+import com.model.formatter.RenderJob;
+import com.model.formatter.RenderResult;
+import com.model.formatter.csv.CsvFormatter;
+import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.html.HtmlFormatter;
+import com.model.formatter.pdf.PdfFormatter;
+import com.model.formatter.word.DocxFormatter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(classes = {
+    FormatterFactory.class, PdfFormatter.class,
+    XlsxFormatter.class, CsvFormatter.class,
+    HtmlFormatter.class, DocxFormatter.class
+})
+class BatchRendererTest extends BaseFormatterContext {
+    private static final String[] EXTENSIONS = {"csv", "html", "xlsx", "pdf", "docx"};
+    private static final int JOBS = 10;
+
+    private final FormatterFactory formatterFactory;
+
+    @Autowired
+    BatchRendererTest(FormatterFactory formatterFactory) {
+        this.formatterFactory = formatterFactory;
+    }
+
+    @BeforeEach
+    public void init() {
+        super.initFormatterContext();
+    }
+
+    @Test
+    void testRenderAllJobs() throws Exception {
+        final List<RenderJob> jobs = createJobs("batch_all");
+        final Set<String> fileNames = new HashSet<>();
+        try (BatchRenderer batchRenderer = BatchRenderer.create(formatterFactory, 3);
+             BatchRenderer.Results results = batchRenderer.render(jobs)) {
+            while (results.hasNext()) {
+                final RenderResult result = results.next();
+                Assertions.assertTrue(result.isSuccessful(), () -> String.valueOf(result.getError()));
+                try (DocumentHolder documentHolder = result.getDocumentHolder()) {
+                    final File file = documentHolder.getResource().getFile();
+                    Assertions.assertTrue(file.length() > 0);
+                    fileNames.add(file.getName());
+                }
+            }
+        }
+        Assertions.assertEquals(JOBS, fileNames.size());
+    }
+
+    @Test
+    void testJobsAreSubmittedWhileResultsAreTaken() throws Exception {
+        final List<RenderJob> jobs = createJobs("batch_pending");
+        final AtomicInteger submittedJobs = new AtomicInteger();
+        final Iterable<RenderJob> countedJobs = () -> new Iterator<RenderJob>() {
+            private final Iterator<RenderJob> iterator = jobs.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public RenderJob next() {
+                submittedJobs.incrementAndGet();
+                return iterator.next();
+            }
+        };
+        try (BatchRenderer batchRenderer = BatchRenderer.create(formatterFactory, 2).setMaxPendingResults(3);
+             BatchRenderer.Results results = batchRenderer.render(countedJobs)) {
+            Assertions.assertEquals(0, submittedJobs.get());
+            results.next().getDocumentHolder().close();
+            Assertions.assertEquals(3, submittedJobs.get());
+            results.next().getDocumentHolder().close();
+            Assertions.assertEquals(4, submittedJobs.get());
+        }
+        Assertions.assertEquals(4, submittedJobs.get());
+        for (final RenderJob job : jobs) {
+            Assertions.assertFalse(
+                new File(job.getDocument().getLabel() + "." + job.getExtension()).exists(),
+                "Documents of results, which weren't taken, must be deleted"
+            );
+        }
+    }
+
+    @Test
+    void testFailedJob() throws Exception {
+        final List<RenderJob> jobs = new ArrayList<>();
+        jobs.add(RenderJob.create(createDocument("batch_failed"), "unknown", formatterContext));
+        try (BatchRenderer batchRenderer = BatchRenderer.create(formatterFactory, 1);
+             BatchRenderer.Results results = batchRenderer.render(jobs)) {
+            final RenderResult result = results.next();
+            Assertions.assertFalse(result.isSuccessful());
+            Assertions.assertInstanceOf(IllegalArgumentException.class, result.getError());
+            Assertions.assertThrows(IllegalStateException.class, result::getDocumentHolder);
+            Assertions.assertFalse(results.hasNext());
+        }
+    }
+
+    @Test
+    void testCloseKeepsInterrupt() throws Exception {
+        final BatchRenderer batchRenderer = BatchRenderer.create(formatterFactory, 1);
+        try (BatchRenderer.Results results = batchRenderer.render(createJobs("batch_interrupted").subList(0, 1))) {
+            results.next().getDocumentHolder().close();
+        }
+        Thread.currentThread().interrupt();
+        batchRenderer.close();
+        Assertions.assertTrue(Thread.interrupted(), "Interrupt flag must be set again by close");
+    }
+
+    private List<RenderJob> createJobs(String prefix) {
+        final List<RenderJob> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            jobs.add(
+                RenderJob.create(createDocument(prefix + "_" + i), EXTENSIONS[i % EXTENSIONS.length], formatterContext)
+                    .addStyles(formatterContext.createHeaderCellStyle(), formatterContext.createRowStyleInterlinear())
+            );
+        }
+        return jobs;
+    }
+
+    private Document createDocument(String label) {
+        final Table table = Table.create()
+            .setTableHeaderRow(
+                TableHeaderRow.create().addParts(TableHeaderCell.create("Column 1"), TableHeaderCell.create("Column 2"))
+            );
+        for (int i = 0; i < 20; i++) {
+            table.addPart(TableRow.create().addParts(TableCell.create("Cell " + i), TableCell.create(String.valueOf(i))));
+        }
+        return Document.create()
+            .setLabel(label)
+            .addPart(
+                DocumentCase.create()
+                    .setName("Batch")
+                    .addParts(Paragraph.create("Document " + label), table)
+            );
+    }
+}
@@ -0,0 +1,137 @@
+package com.reporter.formatter;
+
+import com.model.domain.Document;
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.core.DocumentItem;
+import com.model.domain.style.StyleService;
+import com.model.formatter.FormatterListener;
+import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.html.HtmlFormatter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class FormatterListenerTest extends BaseDocument {
+    private final List<FormatterListener.Phase> phases = new ArrayList<>();
+    private final List<Long> tableRows = new ArrayList<>();
+    private final List<Long> tableCells = new ArrayList<>();
+    private final AtomicLong tableBytes = new AtomicLong();
+    private final AtomicLong documentBytes = new AtomicLong();
+    private final AtomicLong cellVisits = new AtomicLong();
+    private final AtomicLong styleCacheHits = new AtomicLong();
+    private final AtomicLong styleCacheMisses = new AtomicLong();
+
+    private final FormatterListener listener = new FormatterListener() {
+        @Override
+        public void onPhase(Phase phase, long nanos) {
+            Assertions.assertTrue(nanos >= 0);
+            phases.add(phase);
+        }
+
+        @Override
+        public void onVisit(DocumentItem item, long nanos) {
+            if (item instanceof TableCell) {
+                cellVisits.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onTable(Table table, long rows, long cells, long bytes, long nanos) {
+            tableRows.add(rows);
+            tableCells.add(cells);
+            tableBytes.addAndGet(bytes);
+        }
+
+        @Override
+        public void onDocument(Document document, long bytes, long nanos) {
+            documentBytes.set(bytes);
+        }
+
+        @Override
+        public void onStyleCache(StyleService styleService, String cache, boolean hit) {
+            (hit ? styleCacheHits : styleCacheMisses).incrementAndGet();
+        }
+    };
+
+    @BeforeEach
+    public void initDoc() throws Exception {
+        super.initDoc();
+    }
+
+    @Test
+    void testListenerReceivesPhasesTablesAndBytes() throws Throwable {
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create()
+            .setOutputStream(os)
+            .setFormatterListener(listener);
+        htmlFormatter.handle(doc);
+
+        Assertions.assertEquals(
+            Arrays.asList(
+                FormatterListener.Phase.INITIALIZE_RESOURCE,
+                FormatterListener.Phase.VISIT_DOCUMENT,
+                FormatterListener.Phase.CLEANUP_RESOURCE
+            ),
+            phases
+        );
+        Assertions.assertEquals(Arrays.asList(3L, 4L, 2L, 3L), tableRows);
+        Assertions.assertEquals(Arrays.asList(6L, 8L, 4L, 6L), tableCells);
+        Assertions.assertEquals(24, cellVisits.get());
+        Assertions.assertEquals(os.size(), documentBytes.get());
+        final String html = new String(os.toByteArray(), StandardCharsets.UTF_8);
+        long htmlTableBytes = 0;
+        for (int start = html.indexOf("<table"); start >= 0; start = html.indexOf("<table", start + 1)) {
+            final int end = html.indexOf("</table>", start) + "</table>".length();
+            htmlTableBytes += html.substring(start, end).getBytes(StandardCharsets.UTF_8).length;
+        }
+        Assertions.assertEquals(htmlTableBytes, tableBytes.get());
+    }
+
+    @Test
+    void testListenerReceivesStyleCacheLookups() throws Throwable {
+        final XlsxFormatter xlsxFormatter = XlsxFormatter.create()
+            .setOutputStream(os)
+            .setFormatterListener(listener);
+        xlsxFormatter.handle(doc);
+
+        Assertions.assertSame(listener, xlsxFormatter.getStyleService().getFormatterListener());
+        Assertions.assertTrue(styleCacheMisses.get() > 0);
+        Assertions.assertTrue(styleCacheHits.get() > 0);
+        Assertions.assertEquals(os.size(), documentBytes.get());
+    }
+
+    @Test
+    void testNothingIsReportedWithoutListener() throws Throwable {
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create().setOutputStream(os);
+        htmlFormatter.handle(doc);
+
+        Assertions.assertNull(htmlFormatter.getStyleService().getFormatterListener());
+        Assertions.assertTrue(os.size() > 0);
+    }
+
+    @Test
+    void testListenerIsDetachedAfterMeasuredHandle() throws Throwable {
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create()
+            .setOutputStream(os)
+            .setFormatterListener(listener);
+        htmlFormatter.handle(doc);
+        htmlFormatter.handle(doc);
+        Assertions.assertSame(os, htmlFormatter.getOutputStream());
+        Assertions.assertSame(listener, htmlFormatter.getStyleService().getFormatterListener());
+        Assertions.assertEquals(os.size() / 2, documentBytes.get());
+        final long measuredBytes = documentBytes.get();
+
+        os.reset();
+        htmlFormatter.setFormatterListener(null).handle(doc);
+        Assertions.assertSame(os, htmlFormatter.getOutputStream());
+        Assertions.assertNull(htmlFormatter.getStyleService().getFormatterListener());
+        Assertions.assertEquals(6, phases.size());
+        Assertions.assertEquals(measuredBytes, os.size());
+    }
+}
@@ -0,0 +1,100 @@
+package com.reporter.formatter;
+
+import com.model.domain.Document;
+import com.model.domain.Picture;
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
+import com.model.domain.style.constant.PictureFormat;
+import com.model.formatter.DocumentHolder;
+import com.model.formatter.PictureRegistry;
+import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.html.HtmlFormatter;
+import com.model.formatter.pdf.PdfFormatter;
+import org.apache.commons.io.IOUtils;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PictureRegistryTest {
+    private static final int CELLS = 20;
+
+    private byte[] jpg;
+
+    @BeforeEach
+    public void initPicture() throws Exception {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("pic/pic.jpg")) {
+            jpg = IOUtils.toByteArray(inputStream);
+        }
+    }
+
+    @Test
+    void testPicturesAreFoundByContent() throws Exception {
+        final PictureRegistry<Integer> registry = PictureRegistry.create();
+        final AtomicInteger embedded = new AtomicInteger();
+
+        final Integer first = registry.computeIfAbsent(jpg, data -> embedded.incrementAndGet());
+        final Integer copy = registry.computeIfAbsent(jpg.clone(), data -> embedded.incrementAndGet());
+        final Integer other = registry.computeIfAbsent(new byte[]{1, 2, 3}, data -> embedded.incrementAndGet());
+
+        Assertions.assertEquals(1, first);
+        Assertions.assertEquals(1, copy);
+        Assertions.assertEquals(2, other);
+        Assertions.assertEquals(2, registry.size());
+        Assertions.assertEquals(1, registry.getHitCount());
+
+        registry.clear();
+        Assertions.assertEquals(0, registry.size());
+        Assertions.assertEquals(0, registry.getHitCount());
+        Assertions.assertEquals(3, registry.computeIfAbsent(jpg, data -> embedded.incrementAndGet()));
+    }
+
+    @Test
+    void testPdfEmbedsRepeatedPictureOnce() throws Throwable {
+        final ByteArrayOutputStream single = new ByteArrayOutputStream();
+        PdfFormatter.create().setOutputStream(single).handle(createDocument(1));
+        final ByteArrayOutputStream repeated = new ByteArrayOutputStream();
+        PdfFormatter.create().setOutputStream(repeated).handle(createDocument(CELLS));
+
+        Assertions.assertTrue(repeated.size() < single.size() + jpg.length / 2);
+    }
+
+    @Test
+    void testXlsxAddsRepeatedPictureOnce() throws Throwable {
+        try (DocumentHolder documentHolder = XlsxFormatter.create().handle(createDocument(CELLS));
+             Workbook workbook = WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            Assertions.assertEquals(1, workbook.getAllPictures().size());
+        }
+    }
+
+    @Test
+    void testHtmlInlinesEveryRepeatedPicture() throws Throwable {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        HtmlFormatter.create().setOutputStream(os).handle(createDocument(CELLS));
+
+        final String html = os.toString(StandardCharsets.UTF_8.name());
+        Assertions.assertEquals(CELLS + 1, html.split("data:image/jpg;base64,", -1).length - 1);
+    }
+
+    private Document createDocument(int cells) {
+        final TableHeaderRow tableHeaderRow = TableHeaderRow.create();
+        final TableRow tableRow = TableRow.create();
+        for (int i = 0; i < cells; i++) {
+            tableHeaderRow.addPart(TableHeaderCell.create("Icon " + i));
+            tableRow.addPart(TableCell.create(jpg.clone()));
+        }
+        return Document.create(
+            Picture.create(jpg.clone(), PictureFormat.JPG),
+            Table.create(tableHeaderRow).addParts(tableRow)
+        );
+    }
+}
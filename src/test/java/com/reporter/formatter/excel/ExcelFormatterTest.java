@@ -1,36 +1,55 @@
 package com.reporter.formatter.excel;
 
+import com.model.domain.CellConverter;
 import com.model.domain.Document;
 import com.model.domain.DocumentCase;
 import com.model.domain.Picture;
+import com.model.domain.Table;
+import com.model.domain.TableCell;
+import com.model.domain.TableHeaderCell;
+import com.model.domain.TableHeaderRow;
+import com.model.domain.TableRow;
 import com.model.domain.style.LayoutStyle;
 import com.model.domain.style.constant.PictureFormat;
 import com.model.domain.style.geometry.Geometry;
 import com.model.domain.style.geometry.GeometryDetails;
 import com.model.formatter.DocumentHolder;
+import com.model.formatter.excel.StreamingXlsxFormatter;
 import com.model.formatter.excel.XlsFormatter;
 import com.model.formatter.excel.XlsxFormatter;
+import com.model.formatter.excel.XlsxStringStrategy;
 import com.model.formatter.excel.style.ExcelStyleService;
 import com.reporter.formatter.BaseDocument;
 import org.apache.commons.io.IOUtils;
 import org.apache.poi.common.usermodel.fonts.FontCharset;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.util.DefaultTempFileCreationStrategy;
+import org.apache.poi.util.TempFile;
 import org.apache.poi.xssf.usermodel.XSSFDrawing;
 import org.apache.poi.xssf.usermodel.XSSFPicture;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.PathResource;
 import org.springframework.core.io.WritableResource;
+import org.springframework.util.FileSystemUtils;
 
 import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 class ExcelFormatterTest extends BaseDocument {
 
@@ -173,4 +192,250 @@ class ExcelFormatterTest extends BaseDocument {
             wb.close();
         }
     }
+
+    /**
+     * Test {@link StreamingXlsxFormatter#handle handle} call with a window smaller than the document,
+     * check cell value in saved table on some position
+     *
+     * @throws Throwable Exception/IOException
+     */
+    @Test
+    public void testSaveTableToStreamingXlsxFile() throws Throwable {
+        final StreamingXlsxFormatter xlsxFormatter = StreamingXlsxFormatter.create().setWindowSize(2);
+        try (DocumentHolder documentHolder = xlsxFormatter.handle(doc)) {
+            final Workbook wb = WorkbookFactory.create(documentHolder.getResource().getFile());
+            final Sheet sheet = wb.getSheetAt(0);
+            final String check = sheet.getRow(15).getCell(1).getStringCellValue();
+            wb.close();
+            Assertions.assertEquals("Cell 3.2", check);
+        }
+    }
+
+    @Test
+    public void testStreamingXlsxAutoWidthColumns() throws Throwable {
+        final Table table = Table.create(
+            TableHeaderRow.create(TableHeaderCell.create("Id"), TableHeaderCell.create("Description"))
+                .spreadStyleToParts(LayoutStyle.create().setAutoWidth(true))
+        );
+        for (int i = 0; i < 50; i++) {
+            table.addPart(TableRow.create(TableCell.create(String.valueOf(i)), TableCell.create("Short")));
+        }
+        table.addPart(TableRow.create(TableCell.create("50"), TableCell.create("A rather long description of the last row")));
+        doc = Document.create().setLabel("Streaming auto width").addPart(table);
+
+        final StreamingXlsxFormatter xlsxFormatter = StreamingXlsxFormatter.create()
+            .setWindowSize(10)
+            .setCompressTempFiles(false);
+        try (DocumentHolder documentHolder = xlsxFormatter.handle(doc)) {
+            final Workbook wb = WorkbookFactory.create(documentHolder.getResource().getFile());
+            final Sheet sheet = wb.getSheetAt(0);
+            final int idWidth = sheet.getColumnWidth(0);
+            final int descriptionWidth = sheet.getColumnWidth(1);
+            final String first = sheet.getRow(1).getCell(0).getStringCellValue();
+            wb.close();
+            Assertions.assertEquals("0", first);
+            Assertions.assertTrue(descriptionWidth > idWidth * 3);
+        }
+    }
+
+    @Test
+    public void testStreamingXlsxDeletesTempFiles() throws Throwable {
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Id")));
+        for (int i = 0; i < 50; i++) {
+            table.addPart(TableRow.create(TableCell.create(String.valueOf(i))));
+        }
+        doc = Document.create().setLabel("Streaming temp files").addPart(table);
+        final Path tempDir = Files.createTempDirectory("reporter-sxssf");
+        TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy(tempDir.toFile()));
+        try (DocumentHolder ignored = StreamingXlsxFormatter.create().setWindowSize(10).handle(doc);
+             Stream<Path> files = Files.walk(tempDir)) {
+            Assertions.assertEquals(0, files.filter(Files::isRegularFile).count());
+        } finally {
+            TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy());
+            FileSystemUtils.deleteRecursively(tempDir);
+        }
+    }
+
+    @Test
+    public void testStreamingXlsxWindowSize() {
+        final StreamingXlsxFormatter xlsxFormatter = StreamingXlsxFormatter.create();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> xlsxFormatter.setWindowSize(0));
+        Assertions.assertEquals(-1, xlsxFormatter.setWindowSize(-1).getWindowSize());
+    }
+
+    @Test
+    public void testSavePictureToStreamingXlsxFile() throws Throwable {
+        final URL url = getClass().getClassLoader().getResource("pic/pic.png");
+        Assertions.assertNotNull(url);
+        final WritableResource resource = new PathResource(url.toURI());
+        doc = Document.create()
+            .setLabel("Streaming picture")
+            .addPart(Picture.create(IOUtils.toByteArray(resource.getInputStream()), PictureFormat.PNG));
+
+        try (DocumentHolder documentHolder = StreamingXlsxFormatter.create().handle(doc)) {
+            final Workbook wb = WorkbookFactory.create(documentHolder.getResource().getFile());
+            final XSSFDrawing drawing = (XSSFDrawing) wb.getSheetAt(0).createDrawingPatriarch();
+            final int shapes = drawing.getShapes().size();
+            wb.close();
+            Assertions.assertEquals(1, shapes);
+        }
+    }
+
+    @Test
+    public void testSaveTypedValuesToXlsxFile() throws Throwable {
+        final Table table = Table.create(
+            TableHeaderRow.create(
+                TableHeaderCell.create("Amount"),
+                TableHeaderCell.create("Price"),
+                TableHeaderCell.create("Date"),
+                TableHeaderCell.create("Active"),
+                TableHeaderCell.create("Comment"),
+                TableHeaderCell.create("Phone")
+            )
+        );
+        for (int i = 0; i < 3; i++) {
+            table.addPart(
+                TableRow.create(
+                    CellConverter.TEXT.convert(42 + i),
+                    CellConverter.TEXT.convert(new BigDecimal("12.5")),
+                    CellConverter.TEXT.convert(LocalDate.of(2021, 5, 25)),
+                    CellConverter.TEXT.convert(true),
+                    CellConverter.TEXT.convert("text"),
+                    CellConverter.TEXT.convert(new BigDecimal("79779117745123456789"))
+                )
+            );
+        }
+        doc = Document.create().setLabel("Typed values").addPart(table);
+
+        try (DocumentHolder documentHolder = createXlsxFormatter("0.000").handle(doc);
+             XSSFWorkbook wb = (XSSFWorkbook) WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            final Row row = wb.getSheetAt(0).getRow(1);
+            Assertions.assertEquals(CellType.NUMERIC, row.getCell(0).getCellType());
+            Assertions.assertEquals(42, row.getCell(0).getNumericCellValue());
+            Assertions.assertEquals("#0.000", row.getCell(0).getCellStyle().getDataFormatString());
+            Assertions.assertEquals(12.5, row.getCell(1).getNumericCellValue());
+            Assertions.assertEquals(CellType.NUMERIC, row.getCell(2).getCellType());
+            Assertions.assertEquals(LocalDate.of(2021, 5, 25), row.getCell(2).getLocalDateTimeCellValue().toLocalDate());
+            Assertions.assertEquals("yyyy-mm-dd", row.getCell(2).getCellStyle().getDataFormatString());
+            Assertions.assertTrue(row.getCell(3).getBooleanCellValue());
+            Assertions.assertEquals("text", row.getCell(4).getStringCellValue());
+            Assertions.assertEquals(CellType.STRING, row.getCell(5).getCellType());
+            Assertions.assertEquals(
+                row.getCell(0).getCellStyle().getIndex(),
+                wb.getSheetAt(0).getRow(2).getCell(0).getCellStyle().getIndex()
+            );
+            Assertions.assertEquals("79779117745123456789.000", row.getCell(5).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void testTypedCellsReuseDerivedStyles() throws Throwable {
+        final int rows = 50;
+        final Table table = Table.create(
+            TableHeaderRow.create(
+                TableHeaderCell.create("Amount"),
+                TableHeaderCell.create("Price"),
+                TableHeaderCell.create("Date"),
+                TableHeaderCell.create("Active")
+            )
+        );
+        for (int i = 0; i < rows; i++) {
+            table.addPart(
+                TableRow.create(
+                    CellConverter.TEXT.convert(i),
+                    CellConverter.TEXT.convert(BigDecimal.valueOf(i, 2)),
+                    CellConverter.TEXT.convert(LocalDate.of(2021, 5, 25).plusDays(i)),
+                    CellConverter.TEXT.convert(i % 2 == 0)
+                )
+            );
+        }
+        doc = Document.create().setLabel("Typed styles").addPart(table);
+
+        try (DocumentHolder documentHolder = createXlsxFormatter("0.000").handle(doc);
+             XSSFWorkbook wb = (XSSFWorkbook) WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            final Sheet sheet = wb.getSheetAt(0);
+            final Row firstRow = sheet.getRow(1);
+            Assertions.assertNotEquals(firstRow.getCell(0).getCellStyle().getIndex(), firstRow.getCell(2).getCellStyle().getIndex());
+            for (int i = 2; i <= rows; i++) {
+                for (int column = 0; column < 4; column++) {
+                    Assertions.assertEquals(
+                        firstRow.getCell(column).getCellStyle().getIndex(),
+                        sheet.getRow(i).getCell(column).getCellStyle().getIndex(),
+                        String.format("row %d, column %d", i, column)
+                    );
+                }
+            }
+            Assertions.assertTrue(wb.getNumCellStyles() < 10, String.valueOf(wb.getNumCellStyles()));
+        }
+    }
+
+    @Test
+    public void testSaveNumbersAsTextByDecimalFormatUnknownToExcel() throws Throwable {
+        doc = Document.create().setLabel("Per mille").addPart(
+            Table.create(TableHeaderRow.create(TableHeaderCell.create("Share")))
+                .addPart(TableRow.create(CellConverter.TEXT.convert(new BigDecimal("0.25"))))
+        );
+
+        try (DocumentHolder documentHolder = createXlsxFormatter("‰00").handle(doc);
+             Workbook wb = WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            Assertions.assertEquals("‰250", wb.getSheetAt(0).getRow(1).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void testSaveInlineStringsToXlsxFile() throws Throwable {
+        doc = Document.create().setLabel("Inline strings").addPart(createIdTable(10));
+
+        try (DocumentHolder documentHolder = XlsxFormatter.create().setStringStrategy(XlsxStringStrategy.INLINE).handle(doc);
+             XSSFWorkbook wb = (XSSFWorkbook) WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            Assertions.assertEquals(0, wb.getSharedStringSource().getUniqueCount());
+            Assertions.assertEquals(CellType.STRING, wb.getSheetAt(0).getRow(10).getCell(0).getCellType());
+            Assertions.assertEquals("id-9", wb.getSheetAt(0).getRow(10).getCell(0).getStringCellValue());
+            Assertions.assertEquals("status-0", wb.getSheetAt(0).getRow(10).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void testSaveAdaptiveStringsToXlsxFile() throws Throwable {
+        final int rows = 2000;
+        doc = Document.create().setLabel("Adaptive strings").addPart(createIdTable(rows));
+
+        try (DocumentHolder documentHolder = XlsxFormatter.create().setStringStrategy(XlsxStringStrategy.ADAPTIVE).handle(doc);
+             XSSFWorkbook wb = (XSSFWorkbook) WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            final Sheet sheet = wb.getSheetAt(0);
+            final int uniqueCount = wb.getSharedStringSource().getUniqueCount();
+            Assertions.assertTrue(uniqueCount > 3 && uniqueCount < rows / 2, String.valueOf(uniqueCount));
+            for (int i = 0; i < rows; i++) {
+                Assertions.assertEquals("id-" + i, sheet.getRow(i + 1).getCell(0).getStringCellValue());
+                Assertions.assertEquals("status-" + i % 3, sheet.getRow(i + 1).getCell(1).getStringCellValue());
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingXlsxStringStrategy() throws Throwable {
+        doc = Document.create().setLabel("Streaming shared strings").addPart(createIdTable(10));
+        final StreamingXlsxFormatter xlsxFormatter = StreamingXlsxFormatter.create();
+        Assertions.assertEquals(XlsxStringStrategy.INLINE, xlsxFormatter.getStringStrategy());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> xlsxFormatter.setStringStrategy(XlsxStringStrategy.ADAPTIVE));
+
+        try (DocumentHolder documentHolder = xlsxFormatter.setStringStrategy(XlsxStringStrategy.SHARED).handle(doc);
+             XSSFWorkbook wb = (XSSFWorkbook) WorkbookFactory.create(documentHolder.getResource().getFile())) {
+            Assertions.assertEquals(15, wb.getSharedStringSource().getUniqueCount());
+            Assertions.assertEquals("id-9", wb.getSheetAt(0).getRow(10).getCell(0).getStringCellValue());
+        }
+    }
+
+    private Table createIdTable(int rows) {
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Id"), TableHeaderCell.create("Status")));
+        for (int i = 0; i < rows; i++) {
+            table.addPart(TableRow.create(TableCell.create("id-" + i), TableCell.create("status-" + i % 3)));
+        }
+        return table;
+    }
+
+    private XlsxFormatter createXlsxFormatter(String decimalPattern) {
+        return XlsxFormatter.create()
+            .setStyleService(ExcelStyleService.create(FontCharset.DEFAULT, new DecimalFormat(decimalPattern)));
+    }
 }
@@ -14,6 +14,7 @@ import com.model.domain.TableHeaderRow;
 import com.model.domain.TableRow;
 import com.model.domain.Title;
 import com.model.domain.core.DocumentItem;
+import com.model.domain.core.PictureMetadata;
 import com.model.domain.style.LayoutStyle;
 import com.model.domain.style.Style;
 import com.model.domain.style.StyleCondition;
@@ -60,9 +61,12 @@ import java.nio.file.Files;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class HtmlFormatterTest extends BaseDocument {
 
@@ -205,6 +209,93 @@ public class HtmlFormatterTest extends BaseDocument {
         }
     }
 
+    @Test
+    public void testCssClasses() throws Throwable {
+        final Style cellStyle = TextStyle.create()
+            .setFontNameResource("Arial")
+            .setFontSize((short) 10)
+            .setColor(Color.BLACK)
+            .setStyleCondition(StyleCondition.create(TableCell.class));
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Id")));
+        for (int i = 0; i < 10; i++) {
+            final TableCell tableCell = TableCell.create("row" + i);
+            if (i % 5 == 0) {
+                tableCell.setStyle(TextStyle.create().setBold(true));
+            }
+            table.addPart(TableRow.create(tableCell));
+        }
+        final Document doc = Document.create().setLabel("doc").addPart(table);
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create()
+            .setStyleService(HtmlStyleService.create().setUseCssClasses(true).addStyles(cellStyle));
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        htmlFormatter.setOutputStream(os);
+
+        try (DocumentHolder ignored = htmlFormatter.handle(doc)) {
+            final String text = os.toString(StandardCharsets.UTF_8.name());
+            Assertions.assertTrue(
+                text.contains("<head><meta charset=\"UTF-8\"><style type=\"text/css\">\n"
+                    + ".c0{color:#000000;font-family:Arial,monospace;font-size:10pt}\n</style>")
+            );
+            Assertions.assertEquals(8, StringUtils.countOccurrencesOf(text, "<td class=\"c0\">"));
+            Assertions.assertEquals(1, StringUtils.countOccurrencesOf(text, ".c1{"));
+            Assertions.assertEquals(2, StringUtils.countOccurrencesOf(text, "<td class=\"c1\">"));
+            Assertions.assertFalse(text.contains(" style="));
+
+            os.reset();
+            htmlFormatter.handle(doc).close();
+            Assertions.assertEquals(text, os.toString(StandardCharsets.UTF_8.name()));
+        }
+    }
+
+    @Test
+    public void testCssClassesEmbedPictureOnce() throws Throwable {
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Icon")));
+        for (int i = 0; i < 20; i++) {
+            table.addPart(TableRow.create(TableCell.create(testPictureData)));
+        }
+        final Picture picture = Picture.create(testPictureData, PictureFormat.JPG)
+            .setStyle(
+                LayoutStyle.create()
+                    .setGeometryDetails(
+                        GeometryDetails.create()
+                            .setWidth(Geometry.create().add("html", "80px"))
+                            .setHeight(Geometry.create().add("html", "48px"))
+                    )
+            );
+        final Document doc = Document.create().setLabel("doc").addParts(table, picture);
+        final String base64 = Base64.getEncoder().encodeToString(testPictureData);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create()
+            .setStyleService(HtmlStyleService.create().setUseCssClasses(true));
+        htmlFormatter.setOutputStream(os);
+        try (DocumentHolder ignored = htmlFormatter.handle(doc)) {
+            final String text = os.toString(StandardCharsets.UTF_8.name());
+            Assertions.assertEquals(1, StringUtils.countOccurrencesOf(text, base64));
+            Assertions.assertFalse(text.contains("<img"));
+            final Matcher matcher = Pattern.compile("\\.(\\w+)\\{background-image:url\\(" + Pattern.quote(testPicture)).matcher(text);
+            Assertions.assertTrue(matcher.find());
+            Assertions.assertEquals(21, StringUtils.countOccurrencesOf(text, "<div class=\"" + matcher.group(1) + " "));
+            final PictureMetadata pictureMetadata = picture.getPictureMetadata();
+            Assertions.assertTrue(
+                text.contains(
+                    String.format(
+                        "{display:inline-block;height:%spx;width:%spx}",
+                        pictureMetadata.getHeight(),
+                        pictureMetadata.getWidth()
+                    )
+                )
+            );
+            Assertions.assertTrue(text.contains("{display:inline-block;height:48px;width:80px}"));
+        }
+
+        os.reset();
+        try (DocumentHolder ignored = HtmlFormatter.create().setOutputStream(os).handle(doc)) {
+            final String text = os.toString(StandardCharsets.UTF_8.name());
+            Assertions.assertEquals(21, StringUtils.countOccurrencesOf(text, "<img src=\"" + testPicture + "\""));
+        }
+    }
+
     /**
      * Test on {@link HtmlFormatter#handle handle} call
      * and proper saving result in "fileName"
@@ -549,6 +640,69 @@ public class HtmlFormatterTest extends BaseDocument {
         }
     }
 
+    @Test
+    public void testFlushPolicy() throws Throwable {
+        final List<String> flushedTexts = new ArrayList<>();
+        final ByteArrayOutputStream os = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedTexts.add(new String(toByteArray(), StandardCharsets.UTF_8));
+            }
+        };
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Id")));
+        for (int i = 0; i < 10; i++) {
+            table.addPart(TableRow.create(TableCell.create("row" + i)));
+        }
+        final Document doc = Document.create().setLabel("Flush").addParts(table, Paragraph.create("end"));
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create();
+        htmlFormatter.setFlushRows(4).setOutputStream(os);
+
+        try (DocumentHolder ignored = htmlFormatter.handle(doc)) {
+            final String text = os.toString(StandardCharsets.UTF_8.name());
+            Assertions.assertTrue(flushedTexts.size() >= 2);
+            Assertions.assertTrue(flushedTexts.get(0).endsWith("<tr><td>row2</td></tr>"));
+            Assertions.assertTrue(flushedTexts.get(1).endsWith("<tr><td>row6</td></tr>"));
+            Assertions.assertEquals(text, flushedTexts.get(flushedTexts.size() - 1));
+        }
+
+        flushedTexts.clear();
+        os.reset();
+        htmlFormatter.setFlushRows(0).setFlushAfterTable(true);
+        try (DocumentHolder ignored = htmlFormatter.handle(doc)) {
+            Assertions.assertTrue(flushedTexts.get(0).endsWith("<tr><td>row9</td></tr></table>"));
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> htmlFormatter.setBufferSize(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> htmlFormatter.setFlushRows(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> htmlFormatter.setFlushSize(-1));
+    }
+
+    @Test
+    public void testFlushSizeCountsBytes() throws Throwable {
+        final List<Integer> flushedSizes = new ArrayList<>();
+        final ByteArrayOutputStream os = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedSizes.add(size());
+            }
+        };
+        final String text = String.join("", Collections.nCopies(1000, "ж"));
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("column")));
+        for (int i = 0; i < 200; i++) {
+            table.addPart(TableRow.create(TableCell.create(text)));
+        }
+        final HtmlFormatter htmlFormatter = HtmlFormatter.create();
+        htmlFormatter.setFlushSize(100_000).setOutputStream(os);
+
+        try (DocumentHolder ignored = htmlFormatter.handle(Document.create().setLabel("Flush size").addPart(table))) {
+            Assertions.assertTrue(flushedSizes.size() >= 3, flushedSizes.toString());
+            Assertions.assertTrue(
+                flushedSizes.get(0) >= 100_000 && flushedSizes.get(0) < 150_000,
+                "Two-byte characters must be counted as bytes: " + flushedSizes
+            );
+        }
+    }
+
     /**
      * Test on exception throwing when tag is malformed (h7)
      *
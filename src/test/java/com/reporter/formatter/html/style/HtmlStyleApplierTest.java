@@ -2,10 +2,17 @@ package com.reporter.formatter.html.style;
 
 import com.model.domain.style.constant.Color;
 import com.model.formatter.html.style.CssStyle;
+import com.model.formatter.html.style.HtmlStyleService;
 import com.model.formatter.html.tag.Html4Font;
+import com.model.formatter.html.tag.HtmlPicture;
+import com.model.formatter.html.tag.HtmlTableCell;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.StringWriter;
 
 class HtmlStyleApplierTest {
     private CssStyle cssStyle;
@@ -260,4 +267,35 @@ class HtmlStyleApplierTest {
             "cellspacing=\"5\"", cssStyle.toHtml4StyleString());
     }
 
+    @Test
+    public void testEscapeHtmlToWriter() throws IOException {
+        final String text = "<a href='x'>\"Tom & Jerry\"</a> \u00a0\u00e9\u20ac столбец \ud83d\ude00 plain";
+        final StringWriter writer = new StringWriter();
+
+        HtmlStyleService.escapeHtml(writer, text);
+
+        Assertions.assertEquals(HtmlUtils.htmlEscape(text), writer.toString());
+    }
+
+    @Test
+    public void testWriteTagWithSortedAttributes() throws IOException {
+        cssStyle.setFontSize(12).setBackgroundColor("#FFFFFF");
+        final HtmlTableCell htmlTableCell = new HtmlTableCell();
+        htmlTableCell.setStyle(cssStyle);
+        htmlTableCell.setClass("_1");
+        final StringWriter writer = new StringWriter();
+
+        htmlTableCell.writeOpen(writer, false);
+        htmlTableCell.writeClose(writer);
+
+        Assertions.assertEquals(
+            "<td class=\"_1\";style=\"background-color:#FFFFFF;font-size:12pt\"></td>",
+            writer.toString()
+        );
+        Assertions.assertEquals(
+            " class=\"_1\" src=\"data:x\" style=\"background-color:#FFFFFF;font-size:12pt\"",
+            new HtmlPicture().setClass("_1").setStyle(cssStyle).setSrc("data:x").attributesToHtmlString(false)
+        );
+        Assertions.assertEquals("", new HtmlTableCell().attributesToHtmlString(true));
+    }
 }
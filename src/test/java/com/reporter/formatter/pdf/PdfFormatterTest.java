@@ -37,6 +37,7 @@ import com.model.domain.style.geometry.Geometry;
 import com.model.domain.style.geometry.GeometryDetails;
 import com.model.formatter.DocumentHolder;
 import com.model.formatter.pdf.PdfFormatter;
+import com.model.formatter.pdf.style.PdfFontCache;
 import com.model.formatter.pdf.style.PdfStyleService;
 import com.model.utils.LocalizedNumberUtils;
 import com.reporter.formatter.BaseDocument;
@@ -285,6 +286,37 @@ class PdfFormatterTest extends BaseDocument {
         }
     }
 
+    /**
+     * Tests that formatters with one style service save several documents,
+     * fonts of the previous document aren't reused while font programs are shared
+     *
+     * @throws Throwable Exception/IOException
+     */
+    @Test
+    public void testSaveTableTwiceWithOneStyleService() throws Throwable {
+        for (int i = 0; i < 2; i++) {
+            final PdfFormatter pdfFormatter = PdfFormatter.create()
+                .setEncoding("Cp1251")
+                .setStyleService(styleService);
+            pdfFormatter.setFileName("test_file");
+            try (DocumentHolder documentHolder = pdfFormatter.handle(doc)) {
+                final PdfReader pdfReader = new PdfReader(documentHolder.getResource().getFile());
+                final PdfDocument doc1 = new PdfDocument(pdfReader);
+                final ITextExtractionStrategy strategy = new SimpleTextExtractionStrategy();
+                final String currentText = PdfTextExtractor.getTextFromPage(doc1.getPage(2), strategy);
+                doc1.close();
+                pdfReader.close();
+                Assertions.assertEquals(expected, currentText);
+            }
+        }
+        final PdfFontCache fontCache = ((PdfStyleService) styleService).getFontCache();
+        Assertions.assertSame(PdfFontCache.getInstance(), fontCache);
+        Assertions.assertSame(
+            fontCache.getFontProgram(fontService, "times_Serif_(en-ru Tinos).ttf"),
+            fontCache.getFontProgram(fontService, "times_Serif_(en-ru Tinos).ttf")
+        );
+    }
+
     @Test
     public void testSaveParagraphWithRotationToNewFile() throws Throwable {
         final PdfFormatter pdfFormatter = PdfFormatter.create()
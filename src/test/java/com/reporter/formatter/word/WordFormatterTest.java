@@ -14,26 +14,33 @@ import com.model.domain.style.BorderStyle;
 import com.model.domain.style.LayoutStyle;
 import com.model.domain.style.LayoutTextStyle;
 import com.model.domain.style.Style;
+import com.model.domain.style.StyleCondition;
 import com.model.domain.style.TextStyle;
 import com.model.domain.style.constant.BorderWeight;
 import com.model.domain.style.constant.Color;
+import com.model.domain.style.constant.HorAlignment;
 import com.model.domain.style.constant.PictureFormat;
 import com.model.domain.style.geometry.Geometry;
 import com.model.domain.style.geometry.GeometryDetails;
 import com.model.formatter.DocumentHolder;
 import com.model.formatter.word.DocFormatter;
 import com.model.formatter.word.DocxFormatter;
+import com.model.formatter.word.StreamingDocxFormatter;
 import com.model.formatter.word.WordFormatter;
+import com.model.formatter.word.style.WordStyleService;
 import com.reporter.formatter.BaseDocument;
 import org.apache.commons.io.IOUtils;
 import org.apache.poi.util.Units;
+import org.apache.poi.xwpf.usermodel.ParagraphAlignment;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFHeaderFooter;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFPicture;
 import org.apache.poi.xwpf.usermodel.XWPFPictureData;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFStyle;
 import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
 import org.apache.xmlbeans.XmlCursor;
 import org.apache.xmlbeans.XmlObject;
 import org.junit.jupiter.api.Assertions;
@@ -44,6 +51,7 @@ import org.openxmlformats.schemas.drawingml.x2006.main.CTTransform2D;
 import org.openxmlformats.schemas.drawingml.x2006.picture.CTPicture;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTDrawing;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTR;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STJc;
 import org.springframework.core.io.PathResource;
 import org.springframework.core.io.WritableResource;
 
@@ -153,6 +161,122 @@ public class WordFormatterTest extends BaseDocument {
         }
     }
 
+    @Test
+    public void testNamedCellStyles() throws Throwable {
+        final BorderStyle border = BorderStyle.create(Color.BLACK, BorderWeight.THIN);
+        final Style cellStyle = LayoutTextStyle.create(
+            TextStyle.create().setFontSize((short) 12).setBold(true),
+            LayoutStyle.create()
+                .setBorderTop(border)
+                .setBorderBottom(border)
+                .setFillBackgroundColor(Color.GREY_25_PERCENT)
+                .setHorAlignment(HorAlignment.RIGHT)
+        ).setStyleCondition(StyleCondition.create(TableCell.class));
+        final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Id")));
+        for (int i = 0; i < 5; i++) {
+            table.addPart(TableRow.create(TableCell.create("row" + i)));
+        }
+        final DocxFormatter docxFormatter = DocxFormatter.create();
+        docxFormatter.getStyleService().addStyles(cellStyle);
+
+        try (DocumentHolder documentHolder = docxFormatter.handle(Document.create().addPart(table))) {
+            final XWPFDocument docx = new XWPFDocument(documentHolder.getResource().getInputStream());
+            final XWPFTable docxTable = docx.getTables().get(0);
+            final String styleId = docxTable.getRow(1).getCell(0).getParagraphs().get(0).getStyle();
+            Assertions.assertNotNull(styleId);
+            final XWPFStyle style = docx.getStyles().getStyle(styleId);
+            Assertions.assertEquals(1, style.getCTStyle().getRPr().sizeOfBArray());
+            Assertions.assertEquals("24", String.valueOf(style.getCTStyle().getRPr().getSzArray(0).getVal()));
+            Assertions.assertEquals(STJc.RIGHT, style.getCTStyle().getPPr().getJc().getVal());
+            for (int i = 1; i < docxTable.getNumberOfRows(); i++) {
+                final XWPFTableCell cell = docxTable.getRow(i).getCell(0);
+                final XWPFParagraph paragraph = cell.getParagraphs().get(0);
+                Assertions.assertEquals("row" + (i - 1), cell.getText());
+                Assertions.assertEquals(styleId, paragraph.getStyle());
+                Assertions.assertFalse(paragraph.getRuns().get(0).getCTR().isSetRPr());
+                Assertions.assertEquals("C0C0C0", cell.getColor());
+                Assertions.assertEquals(1, countTcPr(cell));
+                Assertions.assertTrue(cell.getCTTc().getTcPr().getTcBorders().isSetTop());
+            }
+            docx.close();
+        }
+
+        final DocxFormatter directFormatter = DocxFormatter.create();
+        ((WordStyleService) directFormatter.getStyleService()).setUseNamedCellStyles(false).addStyles(cellStyle);
+        try (DocumentHolder documentHolder = directFormatter.handle(Document.create().addPart(table))) {
+            final XWPFDocument docx = new XWPFDocument(documentHolder.getResource().getInputStream());
+            final XWPFTableCell cell = docx.getTables().get(0).getRow(1).getCell(0);
+            final XWPFParagraph paragraph = cell.getParagraphs().get(0);
+            Assertions.assertNull(paragraph.getStyle());
+            Assertions.assertTrue(paragraph.getRuns().get(0).isBold());
+            Assertions.assertEquals(ParagraphAlignment.RIGHT, paragraph.getAlignment());
+            Assertions.assertEquals(1, countTcPr(cell));
+            docx.close();
+        }
+    }
+
+    @Test
+    public void testStreamingDocx() throws Throwable {
+        final Style cellStyle = LayoutTextStyle.create(
+            TextStyle.create().setFontSize((short) 12).setBold(true),
+            LayoutStyle.create().setFillBackgroundColor(Color.GREY_25_PERCENT).setHorAlignment(HorAlignment.RIGHT)
+        ).setStyleCondition(StyleCondition.create(TableCell.class));
+        final Document document = Document.create();
+        for (int t = 0; t < 2; t++) {
+            final Table table = Table.create(TableHeaderRow.create(TableHeaderCell.create("Id"), TableHeaderCell.create("Name")));
+            for (int i = 0; i < 100; i++) {
+                table.addPart(TableRow.create(TableCell.create("table" + t), TableCell.create("row <" + i + "> & ")));
+            }
+            document.addPart(Title.create("Table " + t)).addPart(table);
+        }
+
+        final DocxFormatter docxFormatter = DocxFormatter.create();
+        docxFormatter.getStyleService().addStyles(cellStyle);
+        final List<String> expectedTexts = new ArrayList<>();
+        try (DocumentHolder documentHolder = docxFormatter.handle(document)) {
+            final XWPFDocument docx = new XWPFDocument(documentHolder.getResource().getInputStream());
+            for (XWPFTable docxTable : docx.getTables()) {
+                expectedTexts.add(docxTable.getText());
+            }
+            docx.close();
+        }
+
+        for (boolean isCompressTempFiles : new boolean[]{true, false}) {
+            final StreamingDocxFormatter streamingFormatter = StreamingDocxFormatter.create()
+                .setCompressTempFiles(isCompressTempFiles);
+            streamingFormatter.getStyleService().addStyles(cellStyle);
+            try (DocumentHolder documentHolder = streamingFormatter.handle(document)) {
+                final XWPFDocument docx = new XWPFDocument(documentHolder.getResource().getInputStream());
+                Assertions.assertFalse(docx.getDocument().xmlText().contains("reporter-table-rows"));
+                Assertions.assertEquals(
+                    expectedTexts,
+                    docx.getTables().stream().map(XWPFTable::getText).collect(Collectors.toList())
+                );
+                final XWPFTable docxTable = docx.getTables().get(1);
+                Assertions.assertEquals(101, docxTable.getNumberOfRows());
+                Assertions.assertEquals("Id", docxTable.getRow(0).getCell(0).getText());
+                final XWPFTableCell cell = docxTable.getRow(100).getCell(1);
+                Assertions.assertEquals("row <99> & ", cell.getText());
+                Assertions.assertEquals("C0C0C0", cell.getColor());
+                final XWPFStyle style = docx.getStyles().getStyle(cell.getParagraphs().get(0).getStyle());
+                Assertions.assertEquals(STJc.RIGHT, style.getCTStyle().getPPr().getJc().getVal());
+                docx.close();
+            }
+        }
+    }
+
+    private static int countTcPr(XWPFTableCell cell) {
+        int count = 0;
+        try (XmlCursor cursor = cell.getCTTc().newCursor()) {
+            for (boolean hasChild = cursor.toFirstChild(); hasChild; hasChild = cursor.toNextSibling()) {
+                if ("tcPr".equals(cursor.getName().getLocalPart())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     @Test
     public void testFooter() throws Throwable {
         final DocxFormatter docxFormatter = DocxFormatter.create();
@@ -0,0 +1,93 @@
+package com.reporter.utils;
+
+import com.model.domain.style.TextStyle;
+import com.model.utils.LocalizedNumberUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+public class LocalizedNumberUtilsTest {
+
+    @Test
+    public void testIsNumberMatchesPattern() {
+        final Pattern pattern = Pattern.compile("[-+]?[0-9]*[,.]?[0-9]+");
+        for (final String text : Arrays.asList(
+            "0", "123", "-1", "+1", "1.5", "1,5", ".5", ",5", "-.5", "+,25", "00012",
+            "", "-", "+", ".", ",", "1.", "1,", "-1.", "1.2.3", "1,2.3", "--1", "1-", "1e5", " 1", "1 ", "a1", "1a", "½"
+        )) {
+            Assertions.assertEquals(pattern.matcher(text).matches(), LocalizedNumberUtils.isNumber(text), text);
+        }
+        Assertions.assertFalse(LocalizedNumberUtils.isNumber(null));
+    }
+
+    @Test
+    public void testNumbersAreFormattedWithoutFloatRounding() throws ParseException {
+        final DecimalFormat decimalFormat = new DecimalFormat("0.000", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+
+        Assertions.assertEquals("123456789.123", LocalizedNumberUtils.applyDecimalFormat("123456789.123", null, decimalFormat));
+        Assertions.assertEquals("0.700", LocalizedNumberUtils.applyDecimalFormat("0,7", null, decimalFormat));
+        Assertions.assertEquals("-0.500", LocalizedNumberUtils.localizeNumber("-.5", decimalFormat, null));
+        Assertions.assertEquals("text", LocalizedNumberUtils.applyDecimalFormat("text", null, decimalFormat));
+        Assertions.assertEquals("", LocalizedNumberUtils.applyDecimalFormat(" ", null, decimalFormat));
+        Assertions.assertThrows(ParseException.class, () -> LocalizedNumberUtils.localizeNumber("1.", decimalFormat, null));
+    }
+
+    @Test
+    public void testNumbersAreReadBySymbolsOfFormat() throws ParseException {
+        final DecimalFormat decimalFormat = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+
+        Assertions.assertEquals("1,234.00", LocalizedNumberUtils.applyDecimalFormat("1,234", null, decimalFormat));
+        Assertions.assertEquals("15.00", LocalizedNumberUtils.applyDecimalFormat("1,5", null, decimalFormat));
+        Assertions.assertEquals("1.50", LocalizedNumberUtils.applyDecimalFormat("1.5", null, decimalFormat));
+        Assertions.assertEquals("1.00", LocalizedNumberUtils.localizeNumber("+1", decimalFormat, null));
+
+        final TextStyle textStyle = TextStyle.create().setDecimalFormat(
+            new DecimalFormat("#,##0.0", DecimalFormatSymbols.getInstance(Locale.GERMANY))
+        );
+        Assertions.assertEquals("1.234,5", LocalizedNumberUtils.applyDecimalFormat("1234,5", textStyle, null));
+        Assertions.assertEquals("1.234,0", LocalizedNumberUtils.applyDecimalFormat("1.234", textStyle, null));
+    }
+
+    @Test
+    public void testSharedFormatIsNotChanged() throws Exception {
+        final DecimalFormat decimalFormat = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+        final DecimalFormat copy = (DecimalFormat) decimalFormat.clone();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final String number = i + "." + i % 100;
+                results.add(executorService.submit(() -> LocalizedNumberUtils.applyDecimalFormat(number, null, decimalFormat)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals(copy.format(new BigDecimal(i + "." + i % 100)), results.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(copy, decimalFormat);
+        Assertions.assertFalse(decimalFormat.isParseBigDecimal());
+    }
+
+    @Test
+    public void testNumbersAreFormattedByLocale() throws ParseException {
+        final TextStyle textStyle = TextStyle.create().setFontLocale(Locale.GERMANY);
+
+        Assertions.assertEquals("1.234,700", LocalizedNumberUtils.applyDecimalFormat("1234.7", textStyle, null));
+        Assertions.assertEquals("0,699", LocalizedNumberUtils.applyDecimalFormat("0.6999", textStyle, null));
+        Assertions.assertEquals("12", LocalizedNumberUtils.applyDecimalFormat("12", TextStyle.create(), null));
+        Assertions.assertEquals("abc", LocalizedNumberUtils.localizeNumber("abc", null, null));
+    }
+}
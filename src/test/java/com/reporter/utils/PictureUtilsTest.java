@@ -1,5 +1,6 @@
 package com.reporter.utils;
 
+import com.model.domain.core.PictureMetadata;
 import com.model.domain.style.constant.PictureFormat;
 import com.model.utils.PictureUtils;
 import org.apache.commons.io.IOUtils;
@@ -11,10 +12,16 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.core.io.PathResource;
 import org.springframework.core.io.WritableResource;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.net.URL;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class PictureUtilsTest {
@@ -46,6 +53,28 @@ public class PictureUtilsTest {
         assertEquals(pictureFormat, result);
     }
 
+    @ParameterizedTest(name = "{index}: {0} test")
+    @MethodSource("testArguments")
+    @SuppressWarnings("deprecation")
+    public void testFormatCheckerMatchesBoxedData(PictureFormat pictureFormat) throws Throwable {
+        // Arrange
+        final String resourceName = String.format("pic/pic.%s", pictureFormat.toString().toLowerCase());
+        final URL url = getClass().getClassLoader().getResource(resourceName);
+        Assertions.assertNotNull(url);
+        final byte[] data = IOUtils.toByteArray(new PathResource(url.toURI()).getInputStream());
+        final Byte[] boxedData = new Byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            boxedData[i] = data[i];
+        }
+
+        // Act
+        final Boolean result = pictureFormat.getFormatChecker().apply(boxedData);
+
+        // Assert
+        assertTrue(result);
+        assertFalse(pictureFormat.getFormatChecker().apply(new Byte[]{0x00, 0x01, 0x02}));
+    }
+
     @Test
     public void testGetFormatWhenEmptyByteArrayThenReturnNull() {
         // Arrange
@@ -81,4 +110,54 @@ public class PictureUtilsTest {
         // Assert
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetFormatWhenSingleByteThenReturnNull() {
+        // Arrange
+        final byte[] data = new byte[]{(byte) 0xFF};
+
+        // Act
+        final PictureFormat result = PictureUtils.getFormat(data);
+
+        // Assert
+        assertNull(result);
+    }
+
+    @ParameterizedTest(name = "{index}: {0} test")
+    @MethodSource("testArguments")
+    public void testReadMetadata(PictureFormat pictureFormat) throws Throwable {
+        // Arrange
+        final String resourceName = String.format("pic/pic.%s", pictureFormat.toString().toLowerCase());
+        final URL url = getClass().getClassLoader().getResource(resourceName);
+        Assertions.assertNotNull(url);
+        final byte[] data = IOUtils.toByteArray(new PathResource(url.toURI()).getInputStream());
+
+        // Act
+        final PictureMetadata result = PictureUtils.readMetadata(data);
+
+        // Assert
+        assertEquals(pictureFormat, result.getFormat());
+        assertTrue(result.getWidth() > 0);
+        assertTrue(result.getHeight() > 0);
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        if (image != null) {
+            assertEquals(image.getWidth(), result.getWidth());
+            assertEquals(image.getHeight(), result.getHeight());
+        }
+    }
+
+    @Test
+    public void testReadMetadataWhenUnknownFormatThenReturnEmptyMetadata() {
+        // Arrange
+        final byte[] data = new byte[]{0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07};
+
+        // Act
+        final PictureMetadata result = PictureUtils.readMetadata(data);
+
+        // Assert
+        assertNotNull(result);
+        assertNull(result.getFormat());
+        assertEquals(0, result.getWidth());
+        assertEquals(0, result.getHeight());
+    }
+}